@@ -181,3 +181,91 @@ SELECT * FROM course_progress;
 UPDATE course_progress
 SET progress = 50, watched = 1
 WHERE user_id = 1 AND course_id = 101 AND video_id = 201;
+
+-- PERFORMANCE INDEXES (run once on existing databases)
+
+-- Unique email index for login and email existence checks
+ALTER TABLE freshstocks ADD UNIQUE INDEX uk_freshstocks_email (email);
+
+-- LOGIN CREDENTIALS BY USER EMAIL
+SELECT user_id, email, password FROM freshstocks WHERE email = "freekyajmal@gmail.com";
+
+-- CHECK USER EMAIL EXISTS
+SELECT EXISTS(SELECT 1 FROM freshstocks WHERE email = "freekyajmal@gmail.com");
+
+-- Avatars move to a content-addressed store; the row keeps only the SHA-256 reference
+ALTER TABLE freshstocks ADD COLUMN avatar_hash CHAR(64) NULL, MODIFY avatar_url LONGBLOB NULL;
+
+-- READ AVATAR REFERENCE BY USER ID
+SELECT CASE WHEN avatar_hash IS NOT NULL THEN CONCAT('avatars/', avatar_hash) ELSE avatar_url END AS avatar_ref FROM freshstocks WHERE user_id = 1;
+
+-- Admin user listing indexes; each ends in user_id, so a flag filter (is_seller, is_deleted or both, by equality)
+-- seeks rows already in page order and a page reads only its own rows. A created_at range is paged in
+-- (created_at, user_id) order instead, which idx_freshstocks_created serves the same way
+ALTER TABLE freshstocks ADD INDEX idx_freshstocks_deleted_seller (is_deleted, is_seller, user_id),
+    ADD INDEX idx_freshstocks_deleted (is_deleted, user_id), ADD INDEX idx_freshstocks_seller (is_seller, user_id),
+    ADD INDEX idx_freshstocks_created (created_at, user_id);
+
+-- ADMIN USER LISTING, NEXT PAGE AFTER THE LAST USER ID SEEN
+SELECT user_id, username, gender, mobile_number, date_of_birth, email, is_seller, created_at, modified_at, is_deleted
+FROM freshstocks WHERE user_id > 0 AND is_seller = 1 AND is_deleted = 0 ORDER BY user_id LIMIT 50;
+
+-- ADMIN USER LISTING WITH A CREATION TIME RANGE, NEXT PAGE AFTER THE LAST (created_at, user_id) SEEN
+SELECT user_id, username, gender, mobile_number, date_of_birth, email, is_seller, created_at, modified_at, is_deleted
+FROM freshstocks WHERE (created_at, user_id) > ('2024-03-01 10:00:00', 42) AND created_at >= '2024-03-01' AND created_at < '2024-04-01'
+ORDER BY created_at, user_id LIMIT 50;
+
+-- Catalog refresh and change feeds read rows by modification time
+ALTER TABLE course ADD INDEX idx_course_modified_at (modified_at, course_id);
+
+-- COURSES MODIFIED SINCE THE LAST REFRESH
+SELECT course_id, user_id, name, cover_image, timing, language, marked_price, selling_price, description, instructor_name, company_name, company_category, top_skills, is_deleted, created_at, modified_at
+FROM course WHERE modified_at >= '2024-01-01 00:00:00' ORDER BY modified_at, course_id;
+
+-- COURSE CHANGE FEED, NEXT PAGE AFTER THE WATERMARK (modified_at, course_id)
+SELECT course_id, user_id, name, cover_image, timing, language, marked_price, selling_price, description, instructor_name, company_name, company_category, top_skills, is_deleted, created_at, modified_at
+FROM course WHERE (modified_at, course_id) > ('2024-01-01 00:00:00', 42) AND modified_at < NOW() - INTERVAL 2 SECOND ORDER BY modified_at, course_id LIMIT 1001;
+
+-- CATALOG REFRESH: READ AGAIN FROM 30 SECONDS BEHIND THE WATERMARK, SO A WRITE THAT COMMITTED LATE IS NOT SKIPPED
+SELECT course_id, user_id, name, cover_image, timing, language, marked_price, selling_price, description, instructor_name, company_name, company_category, top_skills, is_deleted, created_at, modified_at
+FROM course WHERE (modified_at, course_id) > ('2024-01-01 00:00:00' - INTERVAL 30 SECOND, 0) AND modified_at < NOW() - INTERVAL 2 SECOND ORDER BY modified_at, course_id LIMIT 1001;
+
+-- Optimistic concurrency: every course edit bumps the version, versioned edits compare it
+ALTER TABLE course ADD COLUMN version INT NOT NULL DEFAULT 0;
+
+-- EDIT FROM VERSION 3: LOCK THE ROW, CHECK THE VERSION AND THE PRICES AGAINST IT, THEN WRITE IN THE SAME TRANSACTION
+START TRANSACTION;
+SELECT marked_price, selling_price, version FROM course WHERE course_id = 42 AND is_deleted = 0 FOR UPDATE;
+UPDATE course SET selling_price = 1499, version = version + 1 WHERE course_id = 42;
+COMMIT;
+
+-- Course counters: live courses in total ('total') and per category ('category:<company_category>'),
+-- adjusted in the same transaction as each course create, delete and category edit
+CREATE TABLE course_counter (
+    counter_key VARCHAR(120) NOT NULL,
+    counter_value INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (counter_key)
+);
+
+INSERT INTO course_counter (counter_key, counter_value)
+SELECT 'total', COUNT(*) FROM course WHERE is_deleted = 0;
+
+INSERT INTO course_counter (counter_key, counter_value)
+SELECT CONCAT('category:', company_category), COUNT(*) FROM course
+WHERE is_deleted = 0 AND company_category IS NOT NULL GROUP BY company_category;
+
+-- CREATE A 'Technology' COURSE: LOCK THE TOTAL FIRST, SO THE COURSE'S modified_at IS SET AFTER ANY WAIT, THEN ADJUST THE COUNTERS
+START TRANSACTION;
+SELECT counter_value FROM course_counter WHERE counter_key = 'total' FOR UPDATE;
+-- INSERT INTO course ... ;
+INSERT INTO course_counter (counter_key, counter_value) VALUES ('total', 1) ON DUPLICATE KEY UPDATE counter_value = counter_value + VALUES(counter_value);
+INSERT INTO course_counter (counter_key, counter_value) VALUES ('category:Technology', 1) ON DUPLICATE KEY UPDATE counter_value = counter_value + VALUES(counter_value);
+COMMIT;
+
+-- RECONCILE: COUNT AND READ THE COUNTERS IN ONE SNAPSHOT WITHOUT LOCKS, THEN ADD ONLY THE DIFFERENCE
+SET TRANSACTION ISOLATION LEVEL REPEATABLE READ;
+START TRANSACTION;
+SELECT company_category, COUNT(*) AS course_count FROM course WHERE is_deleted = 0 GROUP BY company_category;
+SELECT counter_key, counter_value FROM course_counter;
+INSERT INTO course_counter (counter_key, counter_value) VALUES ('total', -1) ON DUPLICATE KEY UPDATE counter_value = counter_value + VALUES(counter_value);
+COMMIT;
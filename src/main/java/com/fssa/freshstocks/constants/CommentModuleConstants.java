@@ -10,5 +10,23 @@ public class CommentModuleConstants {
 	public static final String CREATE_ERROR_MESSAGE = "Error while creating comment: ";
 	public static final String UPDATE_ERROR_MESSAGE = "Error while updating comment: ";
 	public static final String DELETE_ERROR_MESSAGE = "Error while deleting comment: ";
+
+	//comment listing cache
+	public static final int COMMENT_PAGE_SIZE = 20;
+	public static final int CACHED_COMMENT_PAGES = 3;
+	public static final int MAX_CACHED_COURSES = 1000;
+
+	//asynchronous comment ingestion
+	public static final int INGESTION_QUEUE_CAPACITY = 10000;
+	public static final int INGESTION_BATCH_SIZE = 100;
+	public static final long INGESTION_OFFER_TIMEOUT_MILLIS = 200;
+	public static final String INGESTION_QUEUE_FULL_MESSAGE = "Too many comments are being posted right now. Please try again.";
+	public static final String INGESTION_QUEUE_SHUT_DOWN_MESSAGE = "Comments cannot be posted while the server shuts down.";
+
+	//near-duplicate spam detection
+	public static final int DUPLICATE_HISTORY_SIZE = 100000;
+	public static final int DUPLICATE_MAX_DISTANCE = 7;
+	public static final int DUPLICATE_MIN_WORDS = 6;
+	public static final String DUPLICATE_COMMENT_MESSAGE = "Invalid comment. A nearly identical comment was posted recently.";
 	
 }
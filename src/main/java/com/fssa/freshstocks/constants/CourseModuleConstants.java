@@ -11,6 +11,72 @@ public class CourseModuleConstants {
 		public static final String UPDATE_ERROR_MESSAGE = "Error while updating course: ";
 		public static final String DELETE_ERROR_MESSAGE = "Error while deleting course: ";
 		public static final String SAME_NAME_EXIST_ERROR = "Error Provided Name Already Exist: ";
+		public static final String INVALID_PRICE_DIFFERENCE_MESSAGE = "Invalid Price Difference. Marked Price Must be Greater than Selling Price";
+		
+		//course change feed and catalog snapshot
+		public static final String COURSE_CHANGE_COLUMNS = "SELECT course_id, user_id, name, cover_image, timing, language, marked_price, selling_price, description, instructor_name, company_name, company_category, top_skills, is_deleted, created_at, modified_at FROM course ";
+		// rows of the last seconds are held back: a later write in the same second may still land below the watermark
+		public static final int CHANGE_FEED_SETTLE_SECONDS = 2;
+		public static final String COURSE_CHANGES_QUERY = COURSE_CHANGE_COLUMNS + "WHERE (modified_at, course_id) > (?, ?) AND modified_at < NOW() - INTERVAL "
+				+ CHANGE_FEED_SETTLE_SECONDS + " SECOND ORDER BY modified_at, course_id LIMIT ?";
+		// the catalog re-reads this window behind its watermark on each refresh: a write that commits more than
+		// the settle time after its modified_at is below the watermark by then, and is only caught while inside
+		// the window; one that commits later still is missed until the course is written again
+		public static final int CHANGE_FEED_OVERLAP_SECONDS = 30;
+		public static final String COURSE_ROW_QUERY = COURSE_CHANGE_COLUMNS + "WHERE course_id = ?";
+		
+		//course detail, heavy columns read on demand
+		public static final String COURSE_DETAIL_QUERY = "SELECT course_id, user_id, name, timing, language, marked_price, selling_price, instructor_name, company_name, company_category, top_skills, courseVideoName1, courseVideoName2, courseVideoName3, created_at, version FROM course WHERE course_id = ? AND is_deleted = 0";
+		public static final String COURSE_COLUMN_QUERY = "SELECT %s FROM course WHERE course_id = ?";
+		
+		//partial course updates, only the changed columns; every edit bumps the version
+		public static final String COURSE_PATCH_QUERY = "UPDATE course SET %s, version = version + 1 WHERE course_id = ?";
+		// a patch is checked against the locked row and written in the same transaction
+		public static final String COURSE_PATCH_STATE_QUERY = "SELECT marked_price, selling_price, company_category, version FROM course WHERE course_id = ? AND is_deleted = 0 FOR UPDATE";
+		public static final String COLUMN_VERSION = "version";
+		public static final String COLUMN_IS_DELETED = "is_deleted";
+		public static final String COLUMN_CREATED_AT = "created_at";
+		public static final String COLUMN_MODIFIED_AT = "modified_at";
+		public static final long CATALOG_REFRESH_INTERVAL_MILLIS = 2_000;
+		public static final int CATALOG_REFRESH_BATCH_SIZE = 1000;
+		public static final int MAX_CHANGE_PAGE_SIZE = 1000;
+		public static final String INVALID_CHANGE_PAGE_MESSAGE = "Page size must be between 1 and " + MAX_CHANGE_PAGE_SIZE + ".";
+		
+		//course counters, adjusted with each create and delete
+		public static final String COUNTER_TOTAL = "total";
+		public static final String COUNTER_CATEGORY_PREFIX = "category:";
+		public static final String COURSE_COUNTERS_QUERY = "SELECT counter_key, counter_value FROM course_counter";
+		public static final String ADJUST_COURSE_COUNTER_QUERY = "INSERT INTO course_counter (counter_key, counter_value) VALUES (?, ?) ON DUPLICATE KEY UPDATE counter_value = counter_value + VALUES(counter_value)";
+		public static final String LOCK_COURSE_COUNTERS_QUERY = "SELECT counter_value FROM course_counter WHERE counter_key = '" + COUNTER_TOTAL + "' FOR UPDATE";
+		public static final String COUNT_COURSES_BY_CATEGORY_QUERY = "SELECT company_category, COUNT(*) AS course_count FROM course WHERE is_deleted = 0 GROUP BY company_category";
+		public static final String COURSE_STATE_FOR_UPDATE_QUERY = "SELECT is_deleted, company_category FROM course WHERE course_id = ? FOR UPDATE";
+		public static final String COLUMN_COUNTER_KEY = "counter_key";
+		public static final String COLUMN_COUNTER_VALUE = "counter_value";
+		public static final String COLUMN_COURSE_COUNT = "course_count";
+		public static final long COUNTER_RELOAD_INTERVAL_MILLIS = 5_000;
+		public static final long COUNTER_RECONCILE_INTERVAL_MILLIS = 10 * 60 * 1000L;
+		
+		//course search
+		public static final int MAX_SEARCH_RESULTS = 50;
+		public static final float SEARCH_WEIGHT_NAME = 3.0f;
+		public static final float SEARCH_WEIGHT_TOP_SKILLS = 2.0f;
+		public static final float SEARCH_WEIGHT_INSTRUCTOR = 1.5f;
+		public static final float SEARCH_WEIGHT_COMPANY = 1.5f;
+		public static final float SEARCH_WEIGHT_DESCRIPTION = 1.0f;
+		
+		//course name autocomplete
+		public static final String PURCHASED_COURSES_QUERY = "SELECT purchased_courses FROM freshstocks WHERE purchased_courses IS NOT NULL AND purchased_courses <> ''";
+		public static final String COLUMN_NAME = "name";
+		public static final String COLUMN_PURCHASED_COURSES = "purchased_courses";
+		public static final int MAX_SUGGESTIONS = 10;
+		
+		//catalog facets
+		public static final String FACET_LANGUAGE = "language";
+		public static final String FACET_CATEGORY = "company_category";
+		public static final String FACET_PRICE_BAND = "price_band";
+		public static final String FACET_TIMING = "timing";
+		public static final int MAX_FACET_PAGE_SIZE = 100;
+		public static final String INVALID_FACET_PAGE_MESSAGE = "Offset must not be negative and page size must be between 1 and " + MAX_FACET_PAGE_SIZE + ".";
 		
 		//courseDAO variables
 		public static final String COLUMN_COVER_IMAGE = "cover_image";
@@ -3,16 +3,90 @@ package com.fssa.freshstocks.constants;
 public class UserModuleConstants {
 
 	//userDAO
-	public static final String USER_SELECT_QUERY = "SELECT * FROM freshstocks WHERE email = ?";
+	public static final String USER_CREDENTIAL_QUERY = "SELECT user_id, email, password FROM freshstocks WHERE email = ?";
+	public static final String EMAIL_EXISTS_QUERY = "SELECT EXISTS(SELECT 1 FROM freshstocks WHERE email = ?)";
+	public static final String REHASH_PASSWORD_QUERY = "UPDATE freshstocks SET password = ? WHERE email = ? AND password = ?";
+	// the avatar as shown to clients: a store reference for migrated rows, else the legacy URL;
+	// legacy inline (data:) avatars are left out and read separately
+	public static final String AVATAR_REF_SQL = "CASE WHEN avatar_hash IS NOT NULL THEN CONCAT('avatars/', avatar_hash) WHEN avatar_url LIKE 'data:%' THEN NULL ELSE avatar_url END";
+	// the avatar including a legacy inline value, for the one reader that serves it
+	public static final String AVATAR_OR_INLINE_SQL = "CASE WHEN avatar_hash IS NOT NULL THEN CONCAT('avatars/', avatar_hash) ELSE avatar_url END";
+	// every user column except the avatar blob, which is read as a reference
+	public static final String USER_COLUMNS_SQL = "user_id, username, gender, mobile_number, date_of_birth, email, password, is_seller, created_at, modified_at, is_deleted, purchased_courses, "
+			+ AVATAR_REF_SQL + " AS avatar_ref";
+	// profile columns without the password hash
+	public static final String USER_PROFILE_QUERY = "SELECT user_id, username, gender, mobile_number, date_of_birth, email, is_seller, created_at, modified_at, is_deleted, purchased_courses, "
+			+ AVATAR_REF_SQL + " AS avatar_ref FROM freshstocks WHERE ";
+	public static final String INLINE_AVATARS_QUERY = "SELECT user_id, avatar_url FROM freshstocks WHERE user_id > ? AND avatar_hash IS NULL AND avatar_url LIKE 'data:%' ORDER BY user_id LIMIT ?";
+	public static final String SET_AVATAR_HASH_QUERY = "UPDATE freshstocks SET avatar_hash = ?, avatar_url = NULL WHERE user_id = ? AND avatar_hash IS NULL AND avatar_url = ?";
+	public static final String AVATAR_REF_COLUMN_NAME = "avatar_ref";
+	// admin listing: admin columns only, keyset-paged on the primary key
+	public static final String ADMIN_USER_LIST_QUERY = "SELECT user_id, username, gender, mobile_number, date_of_birth, email, is_seller, created_at, modified_at, is_deleted FROM freshstocks WHERE user_id > ?";
+	// with a creation time range, keyset-paged on (created_at, user_id) so the created_at index serves each page
+	public static final String ADMIN_USER_RANGE_QUERY = "SELECT user_id, username, gender, mobile_number, date_of_birth, email, is_seller, created_at, modified_at, is_deleted FROM freshstocks WHERE (created_at, user_id) > (?, ?)";
+	public static final String USER_CREATED_AT_QUERY = "SELECT created_at FROM freshstocks WHERE user_id = ?";
+	public static final String REGISTER_BATCH_QUERY = "INSERT INTO freshstocks (username, gender, mobile_number, date_of_birth, email, password, is_seller, avatar_url) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+	public static final String EXISTING_EMAILS_QUERY = "SELECT email FROM freshstocks WHERE email IN (";
+	public static final String USER_ID_COLUMN_NAME = "user_id";
 	public static final String EMAIL_COLUMN_NAME = "email";
 	public static final String PASSWORD_COLUMN_NAME = "password";
 	public static final String PREFIX_EMAIL_STRING = "Email: ";
 	public static final String PREFIX_PASSWORD_STRING = "Password: ";
     public static final String CLOSE_RESOURCE_ERROR = "Error while closing resources: ";
+    // MySQL ER_DUP_ENTRY, raised by the unique index on email
+    public static final int DUPLICATE_ENTRY_ERROR_CODE = 1062;
+    
+    //password hashing
+    public static final int PASSWORD_QUEUE_PER_THREAD = 16;
+    public static final long PASSWORD_TIMEOUT_SECONDS = 10;
+    public static final String PASSWORD_BUDGET_ENV = "PASSWORD_HASH_BUDGET_MS";
+    public static final long DEFAULT_PASSWORD_BUDGET_MILLIS = 250;
+    public static final int REHASH_QUEUE_CAPACITY = 256;
+    public static final String PASSWORD_BUSY_MESSAGE = "The server is busy, please try again in a moment.";
+    
+    //sessions
+    public static final String SESSION_KEY_ENV = "SESSION_SIGNING_KEY";
+    public static final long SESSION_TTL_MILLIS = 2L * 60 * 60 * 1000;
+    public static final int MAX_REVOKED_SESSIONS = 100000;
+    public static final String INVALID_SESSION_MESSAGE = "Session is invalid or expired, please log in again.";
+    public static final String SESSION_REVOCATION_FULL_MESSAGE = "Too many revoked sessions, please try again later.";
+    
+    //login throttling
+    public static final int LOGIN_THROTTLE_STRIPES = 1 << 16;
+    public static final int EMAIL_LOGIN_BURST = 10;
+    public static final long EMAIL_LOGIN_INTERVAL_MILLIS = 30_000;
+    public static final int CLIENT_LOGIN_BURST = 30;
+    public static final long CLIENT_LOGIN_INTERVAL_MILLIS = 1_000;
+    public static final String LOGIN_THROTTLED_MESSAGE = "Too many login attempts, please try again later.";
+    
+    //avatars
+    public static final int AVATAR_MIGRATION_BATCH_SIZE = 100;
+    public static final String AVATAR_NOT_FOUND_MESSAGE = "Avatar not found.";
+    public static final String AVATAR_UNSUPPORTED_MESSAGE = "Profile pictures must be PNG, JPEG, GIF or WebP images.";
+    public static final String AVATAR_ERROR_MESSAGE = "Error while accessing the avatar store: ";
+    
+    //admin listing
+    public static final int MAX_ADMIN_PAGE_SIZE = 100;
+    public static final String INVALID_PAGE_SIZE_MESSAGE = "Page size must be between 1 and " + MAX_ADMIN_PAGE_SIZE + ".";
+    public static final String LIST_USERS_ERROR_MESSAGE = "Error while listing users: ";
+    
+    //bulk import
+    public static final String IMPORT_CSV_HEADER = "username,gender,mobile_number,date_of_birth,email,password,is_seller";
+    public static final int IMPORT_CHUNK_SIZE = 1000;
+    public static final int EMAIL_LOOKUP_BATCH_SIZE = 500;
+    public static final String IMPORT_HEADER_MESSAGE = "The CSV header must be: " + IMPORT_CSV_HEADER;
+    public static final String IMPORT_COLUMNS_MESSAGE = "Expected 7 columns.";
+    public static final String IMPORT_SELLER_MESSAGE = "is_seller must be 0 or 1.";
+    public static final String IMPORT_DUPLICATE_IN_FILE_MESSAGE = "Email appears earlier in the file.";
+    public static final String IMPORT_EMAIL_EXISTS_MESSAGE = "Email is already registered.";
+    public static final String IMPORT_INSERT_FAILED_MESSAGE = "Insert failed.";
+    public static final String IMPORT_ERROR_MESSAGE = "Error while importing users: ";
     
     //CRUD ERROR MESSAGES
     public static final String EMAIL_ERROR_MESSAGE = "Error checking email exist: ";
 	public static final String REGISTER_ERROR_MESSAGE = "Error while creating user: ";
 	public static final String UPDATE_ERROR_MESSAGE = "Error while updating user: ";
 	public static final String DELETE_ERROR_MESSAGE = "Error while deleting user: ";
+	public static final String FETCH_USER_ERROR_MESSAGE = "Error fetching user details: ";
+	public static final String AUTHOR_SUMMARY_ERROR_MESSAGE = "Error while reading comment authors: ";
 }
@@ -48,9 +48,44 @@ public class CommentDAO {
 		return (rows == 1);
 	}
 
+	/**
+	 * Creates several comments with a single JDBC batch in one transaction.
+	 *
+	 * @param comments The comments to insert.
+	 * @return The update count of each comment, in the same order.
+	 * @throws DAOException If the batch fails; no comment of the batch is stored.
+	 */
+	public int[] createComments(List<Comment> comments) throws DAOException {
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			connection.setAutoCommit(false);
+			try (PreparedStatement pst = connection
+					.prepareStatement("INSERT INTO Comment (course_id, user_id, comment) VALUES (?,?,?);")) {
+				for (Comment comment : comments) {
+					pst.setInt(1, comment.getCourseId());
+					pst.setInt(2, comment.getUserId());
+					pst.setString(3, comment.getComment().toLowerCase().trim());
+					pst.addBatch();
+				}
+
+				int[] counts = pst.executeBatch();
+				connection.commit();
+				return counts;
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			}
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(CommentModuleConstants.CREATE_ERROR_MESSAGE + e);
+		}
+	}
+
 	/**
 	 * Retrieves a list of comments for a specific course.
 	 *
+	 * Only the comment rows and their author IDs are read; author display data
+	 * (username and avatar) is resolved separately so repeated authors and avatar
+	 * blobs do not inflate the result set.
+	 *
 	 * @param courseID The ID of the course for which to retrieve comments.
 	 * @return A list of Comment objects representing the comments for the course.
 	 * @throws DAOException If there's an error while interacting with the database.
@@ -60,25 +95,43 @@ public class CommentDAO {
 
 		try (Connection connection = ConnectionUtil.getConnection();
 				PreparedStatement pst = connection.prepareStatement(
-						"SELECT co.comment_id, co.user_id, f.username AS username, f.avatar_url AS userProfile, c.name AS courseName, co.comment AS comment, co.created_at AS createdTime "
-								+ "FROM Comment co " + "JOIN freshstocks f ON co.user_id = f.user_id "
-								+ "JOIN course c ON co.course_id = c.course_id "
-								+ "WHERE co.course_id = ? AND co.is_deleted = 0");) {
+						"SELECT comment_id, course_id, user_id, comment, created_at FROM Comment WHERE course_id = ? AND is_deleted = 0 ORDER BY comment_id");) {
 			pst.setInt(1, courseID);
 			ResultSet resultSet = pst.executeQuery();
 
 			while (resultSet.next()) {
-				int commentId = resultSet.getInt("comment_id");
-				int userId = resultSet.getInt("user_id"); // Retrieve user ID
-				String username = resultSet.getString("username");
-				String userProfile = resultSet.getString("userProfile");
-				String courseName = resultSet.getString("courseName");
-				String commentBody = resultSet.getString("comment");
-				String createdTime = formatTimeDifference(resultSet.getTimestamp("createdTime"));
+				comments.add(toCommentRow(resultSet));
+			}
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(CommentModuleConstants.READ_ERROR_MESSAGE + e);
+		}
+
+		return comments;
+	}
+
+	/**
+	 * Retrieves one page of comments for a specific course, oldest first.
+	 *
+	 * @param courseID The ID of the course for which to retrieve comments.
+	 * @param offset   The number of comments to skip.
+	 * @param limit    The maximum number of comments to return.
+	 * @return A list of Comment rows carrying raw created timestamps.
+	 * @throws DAOException If there's an error while interacting with the database.
+	 */
+	public List<Comment> getComments(int courseID, int offset, int limit) throws DAOException {
+		List<Comment> comments = new ArrayList<>();
+
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement pst = connection.prepareStatement(
+						"SELECT comment_id, course_id, user_id, comment, created_at FROM Comment WHERE course_id = ? AND is_deleted = 0 ORDER BY comment_id LIMIT ? OFFSET ?")) {
+			pst.setInt(1, courseID);
+			pst.setInt(2, limit);
+			pst.setInt(3, offset);
 
-				Comment comment1 = new Comment(commentId, userId, username, userProfile, courseName, commentBody,
-						createdTime);
-				comments.add(comment1);
+			try (ResultSet resultSet = pst.executeQuery()) {
+				while (resultSet.next()) {
+					comments.add(toCommentRow(resultSet));
+				}
 			}
 		} catch (SQLException | DatabaseException e) {
 			throw new DAOException(CommentModuleConstants.READ_ERROR_MESSAGE + e);
@@ -87,6 +140,59 @@ public class CommentDAO {
 		return comments;
 	}
 
+	/**
+	 * Retrieves the course a comment belongs to, whether or not it is deleted.
+	 *
+	 * @param commentID The unique identifier of the comment.
+	 * @return The course ID, or 0 if the comment does not exist.
+	 * @throws DAOException If there's an error while interacting with the database.
+	 */
+	public int getCourseIdOfComment(int commentID) throws DAOException {
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement pst = connection
+						.prepareStatement("SELECT course_id FROM Comment WHERE comment_id = ?")) {
+			pst.setInt(1, commentID);
+			try (ResultSet resultSet = pst.executeQuery()) {
+				if (resultSet.next()) {
+					return resultSet.getInt("course_id");
+				}
+			}
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(CommentModuleConstants.READ_ERROR_MESSAGE + e);
+		}
+		return 0;
+	}
+
+	/**
+	 * Retrieves the name of a course, deleted or not, without reading the rest
+	 * of the course row.
+	 *
+	 * @param courseID The ID of the course.
+	 * @return The course name, or null if the course does not exist.
+	 * @throws DAOException If there's an error while interacting with the database.
+	 */
+	public String getCourseName(int courseID) throws DAOException {
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement pst = connection.prepareStatement("SELECT name FROM course WHERE course_id = ?")) {
+			pst.setInt(1, courseID);
+			try (ResultSet resultSet = pst.executeQuery()) {
+				return resultSet.next() ? resultSet.getString("name") : null;
+			}
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(CommentModuleConstants.READ_ERROR_MESSAGE + e);
+		}
+	}
+
+	private Comment toCommentRow(ResultSet resultSet) throws SQLException {
+		int commentId = resultSet.getInt("comment_id");
+		int courseId = resultSet.getInt("course_id");
+		int userId = resultSet.getInt("user_id");
+		String commentBody = resultSet.getString("comment");
+		Timestamp createdAt = resultSet.getTimestamp("created_at");
+
+		return new Comment(commentId, courseId, userId, commentBody, createdAt);
+	}
+
 	/**
 	 * Retrieves a comment by its unique identifier.
 	 *
@@ -118,11 +224,14 @@ public class CommentDAO {
 	/**
 	 * Retrieves a formatted time string message from created_at.
 	 *
+	 * Called when comments are read rather than when rows are loaded, so cached
+	 * rows always show an up to date relative time.
+	 *
 	 * @param timestamp The time of the course is created for which to retrieve
 	 *                  time.
 	 * @return returns a formatted time string message from created_at.
 	 */
-	private String formatTimeDifference(Timestamp timestamp) {
+	public static String formatTimeDifference(Timestamp timestamp) {
 		// Calculate the time difference
 		long currentTimeMillis = System.currentTimeMillis();
 		long createdTimeMillis = timestamp.getTime();
@@ -6,51 +6,77 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 
 import com.fssa.freshstocks.dao.exception.DAOException;
 import com.fssa.freshstocks.model.Course;
+import com.fssa.freshstocks.model.CourseChange;
+import com.fssa.freshstocks.model.CourseChangePage;
+import com.fssa.freshstocks.model.CourseDetail;
+import com.fssa.freshstocks.model.CoursePatch;
+import com.fssa.freshstocks.model.CourseUpdateResult;
 import com.fssa.freshstocks.model.CourseProgressData;
+import com.fssa.freshstocks.model.CourseWatermark;
 import com.fssa.freshstocks.utils.ConnectionUtil;
 import com.fssa.freshstocks.utils.exception.DatabaseException;
+import com.fssa.freshstocks.validation.CourseValidator;
 
 public class CourseDAO {
 
 	/**
 	 * Creates a new course in the database.
 	 *
-	 * @param course The Course object representing the course to be created.
+	 * @param course The Course object representing the course to be created; its
+	 *               course ID is set to the generated ID.
 	 * @return {@code true} if the creation was successful, {@code false} otherwise.
 	 * @throws DAOException If there's an error while interacting with the database.
 	 */
 	public boolean createCourse(Course course) throws DAOException {
 	    int rows = 0;
 
-	    try (Connection connection = ConnectionUtil.getConnection();
-	            PreparedStatement pst = connection.prepareStatement(
-	                    "INSERT INTO course (name, cover_image, timing, language, marked_price, selling_price, description, instructor_name, company_name, company_category, top_skills, user_id, courseVideo1, courseVideo2, courseVideo3, courseVideoName1, courseVideoName2, courseVideoName3) VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)")) {
-
-	        pst.setString(1, course.getName().toLowerCase().trim());
-	        pst.setString(2, course.getCoverImage());
-	        pst.setString(3, course.getTiming());
-	        pst.setString(4, course.getLanguage());
-	        pst.setInt(5, course.getMarkedPrice());
-	        pst.setInt(6, course.getSellingPrice());
-	        pst.setString(7, course.getDescription());
-	        pst.setString(8, course.getInstructorName());
-	        pst.setString(9, course.getCompanyName());
-	        pst.setString(10, course.getCompanyCategory());
-	        pst.setString(11, course.getTopSkills());
-	        pst.setInt(12, course.getUserID());
-	        pst.setString(13, course.getCourseVideo1());
-	        pst.setString(14, course.getCourseVideo2());
-	        pst.setString(15, course.getCourseVideo3());
-	        pst.setString(16, course.getCourseVideoName1());
-	        pst.setString(17, course.getCourseVideoName2());
-	        pst.setString(18, course.getCourseVideoName3());
-
-	        // Execute query
-	        rows = pst.executeUpdate();
+	    try (Connection connection = ConnectionUtil.getConnection()) {
+	    	// the course and its counters are written in one transaction
+	    	connection.setAutoCommit(false);
+	    	try (PreparedStatement pst = connection.prepareStatement(
+	                    "INSERT INTO course (name, cover_image, timing, language, marked_price, selling_price, description, instructor_name, company_name, company_category, top_skills, user_id, courseVideo1, courseVideo2, courseVideo3, courseVideoName1, courseVideoName2, courseVideoName3) VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)",
+	                    Statement.RETURN_GENERATED_KEYS)) {
+
+	        	pst.setString(1, course.getName().toLowerCase().trim());
+	        	pst.setString(2, course.getCoverImage());
+	        	pst.setString(3, course.getTiming());
+	        	pst.setString(4, course.getLanguage());
+	        	pst.setInt(5, course.getMarkedPrice());
+	        	pst.setInt(6, course.getSellingPrice());
+	        	pst.setString(7, course.getDescription());
+	        	pst.setString(8, course.getInstructorName());
+	        	pst.setString(9, course.getCompanyName());
+	        	pst.setString(10, course.getCompanyCategory());
+	        	pst.setString(11, course.getTopSkills());
+	        	pst.setInt(12, course.getUserID());
+	        	pst.setString(13, course.getCourseVideo1());
+	        	pst.setString(14, course.getCourseVideo2());
+	        	pst.setString(15, course.getCourseVideo3());
+	        	pst.setString(16, course.getCourseVideoName1());
+	        	pst.setString(17, course.getCourseVideoName2());
+	        	pst.setString(18, course.getCourseVideoName3());
+
+	        	lockCourseCounters(connection);
+	        	// Execute query
+	        	rows = pst.executeUpdate();
+	        	try (ResultSet keys = pst.getGeneratedKeys()) {
+	        		if (keys.next()) {
+	        			course.setCourseID(keys.getInt(1));
+	        		}
+	        	}
+	        	if (rows == 1) {
+	        		adjustCourseCounters(connection, counterDeltas(false, null, true, course.getCompanyCategory()));
+	        	}
+	        	connection.commit();
+	    	} catch (SQLException e) {
+	    		connection.rollback();
+	    		throw e;
+	    	}
 	    } catch (SQLException | DatabaseException e) {
 	        throw new DAOException(CourseModuleConstants.CREATE_ERROR_MESSAGE + e);
 	    }
@@ -59,6 +85,166 @@ public class CourseDAO {
 	}
 
 
+	/**
+	 * Reads the stored course counters: the number of live courses under
+	 * {@code COUNTER_TOTAL}, and per company category under
+	 * {@code COUNTER_CATEGORY_PREFIX} followed by the category.
+	 *
+	 * @return The counters by key.
+	 * @throws DAOException If there's an error while interacting with the database.
+	 */
+	public Map<String, Integer> getCourseCounters() throws DAOException {
+		Map<String, Integer> counters = new HashMap<>();
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement pst = connection.prepareStatement(CourseModuleConstants.COURSE_COUNTERS_QUERY);
+				ResultSet resultSet = pst.executeQuery()) {
+			while (resultSet.next()) {
+				counters.put(resultSet.getString(CourseModuleConstants.COLUMN_COUNTER_KEY),
+						resultSet.getInt(CourseModuleConstants.COLUMN_COUNTER_VALUE));
+			}
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(CourseModuleConstants.READ_ERROR_MESSAGE + e);
+		}
+		return counters;
+	}
+
+	/**
+	 * Recounts the live courses and corrects the stored counters by the
+	 * difference, repairing any drift (a write made outside this class, say).
+	 * The courses are counted and the counters read in one consistent snapshot,
+	 * without locks; the difference is then added to the counters like any
+	 * other write, so creates and deletes made meanwhile are neither lost nor
+	 * counted twice, and none of them waits for the count.
+	 *
+	 * @return The recounted counters by key, as of the snapshot.
+	 * @throws DAOException If there's an error while interacting with the database.
+	 */
+	public Map<String, Integer> reconcileCourseCounters() throws DAOException {
+		Map<String, Integer> counters = new HashMap<>();
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			// both reads see the snapshot taken by the first one
+			connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+			connection.setAutoCommit(false);
+			try (PreparedStatement count = connection
+					.prepareStatement(CourseModuleConstants.COUNT_COURSES_BY_CATEGORY_QUERY);
+					PreparedStatement stored = connection.prepareStatement(CourseModuleConstants.COURSE_COUNTERS_QUERY)) {
+				int total = 0;
+				try (ResultSet resultSet = count.executeQuery()) {
+					while (resultSet.next()) {
+						String category = resultSet.getString(CourseModuleConstants.COLUMN_COMPANY_CATEGORY);
+						int courses = resultSet.getInt(CourseModuleConstants.COLUMN_COURSE_COUNT);
+						total += courses;
+						if (category != null) {
+							counters.put(CourseModuleConstants.COUNTER_CATEGORY_PREFIX + category, courses);
+						}
+					}
+				}
+				counters.put(CourseModuleConstants.COUNTER_TOTAL, total);
+
+				Map<String, Integer> storedCounters = new HashMap<>();
+				try (ResultSet resultSet = stored.executeQuery()) {
+					while (resultSet.next()) {
+						storedCounters.put(resultSet.getString(CourseModuleConstants.COLUMN_COUNTER_KEY),
+								resultSet.getInt(CourseModuleConstants.COLUMN_COUNTER_VALUE));
+					}
+				}
+
+				Map<String, Integer> deltas = counterDrift(counters, storedCounters);
+				if (!deltas.isEmpty()) {
+					lockCourseCounters(connection);
+					adjustCourseCounters(connection, deltas);
+				}
+				connection.commit();
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			}
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(CourseModuleConstants.UPDATE_ERROR_MESSAGE + e);
+		}
+		return counters;
+	}
+
+	/**
+	 * Computes what to add to stored counters to bring them to counted values.
+	 * A stored counter that was not counted is brought to 0.
+	 *
+	 * @param counted The counters from a recount, by key.
+	 * @param stored  The stored counters, by key, read in the same snapshot.
+	 * @return The change of each counter that differs, by key, total first;
+	 *         empty if none does.
+	 */
+	public static Map<String, Integer> counterDrift(Map<String, Integer> counted, Map<String, Integer> stored) {
+		Map<String, Integer> categories = new TreeMap<>();
+		for (Map.Entry<String, Integer> counter : counted.entrySet()) {
+			categories.put(counter.getKey(), counter.getValue() - stored.getOrDefault(counter.getKey(), 0));
+		}
+		for (Map.Entry<String, Integer> counter : stored.entrySet()) {
+			categories.putIfAbsent(counter.getKey(), -counter.getValue());
+		}
+		categories.values().removeIf(delta -> delta == 0);
+
+		Map<String, Integer> deltas = new LinkedHashMap<>();
+		Integer total = categories.remove(CourseModuleConstants.COUNTER_TOTAL);
+		if (total != null || !categories.isEmpty()) {
+			deltas.put(CourseModuleConstants.COUNTER_TOTAL, total == null ? 0 : total);
+			deltas.putAll(categories);
+		}
+		return deltas;
+	}
+
+	/**
+	 * Computes the counter changes of a course write: a course counts towards
+	 * the total and its category while it is live. The total comes first, as
+	 * the counters are locked in that order; it is present with 0 when only the
+	 * category changes, so a move between categories locks it too.
+	 *
+	 * @param wasLive        Whether the course was live before the write.
+	 * @param beforeCategory The company category before the write.
+	 * @param isLive         Whether the course is live after the write.
+	 * @param afterCategory  The company category after the write.
+	 * @return The change of each counter, by key, total first; empty if none
+	 *         changes.
+	 */
+	public static Map<String, Integer> counterDeltas(boolean wasLive, String beforeCategory, boolean isLive,
+			String afterCategory) {
+		Map<String, Integer> categories = new LinkedHashMap<>();
+		if (wasLive && beforeCategory != null) {
+			categories.merge(CourseModuleConstants.COUNTER_CATEGORY_PREFIX + beforeCategory, -1, Integer::sum);
+		}
+		if (isLive && afterCategory != null) {
+			categories.merge(CourseModuleConstants.COUNTER_CATEGORY_PREFIX + afterCategory, 1, Integer::sum);
+		}
+		categories.values().removeIf(delta -> delta == 0);
+
+		int total = (isLive ? 1 : 0) - (wasLive ? 1 : 0);
+		Map<String, Integer> deltas = new LinkedHashMap<>();
+		if (total != 0 || !categories.isEmpty()) {
+			deltas.put(CourseModuleConstants.COUNTER_TOTAL, total);
+			deltas.putAll(categories);
+		}
+		return deltas;
+	}
+
+	// locks the total counter before the course row is written, so the row's modified_at is
+	// set after any wait for another write's counters, and commits soon after it
+	private static void lockCourseCounters(Connection connection) throws SQLException {
+		try (PreparedStatement lock = connection.prepareStatement(CourseModuleConstants.LOCK_COURSE_COUNTERS_QUERY)) {
+			lock.executeQuery().close();
+		}
+	}
+
+	// adjusts the counters in the order given, total first, so writes lock them in the same order
+	private static void adjustCourseCounters(Connection connection, Map<String, Integer> deltas) throws SQLException {
+		try (PreparedStatement pst = connection.prepareStatement(CourseModuleConstants.ADJUST_COURSE_COUNTER_QUERY)) {
+			for (Map.Entry<String, Integer> delta : deltas.entrySet()) {
+				pst.setString(1, delta.getKey());
+				pst.setInt(2, delta.getValue());
+				pst.executeUpdate();
+			}
+		}
+	}
+
 	/**
 	 * Checks whether a course with the same name exists in the database.
 	 *
@@ -235,7 +421,182 @@ public class CourseDAO {
 	}
 
 	/**
-	 * Updates an existing course's information in the database.
+	 * Retrieves a live course without reading its cover image, description or
+	 * videos; each of those is read on its first access.
+	 *
+	 * @param courseID The ID of the course.
+	 * @return The course, or null if it does not exist or is deleted.
+	 * @throws DAOException If there's an error while interacting with the database.
+	 */
+	public CourseDetail getCourseDetail(int courseID) throws DAOException {
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement pst = connection.prepareStatement(CourseModuleConstants.COURSE_DETAIL_QUERY)) {
+			pst.setInt(1, courseID);
+			try (ResultSet resultSet = pst.executeQuery()) {
+				if (!resultSet.next()) {
+					return null;
+				}
+				return new CourseDetail(resultSet.getInt(CourseModuleConstants.COLUMN_COURSE_ID),
+						resultSet.getInt(CourseModuleConstants.COLUMN_USER_ID),
+						resultSet.getString(CourseModuleConstants.COLUMN_NAME),
+						resultSet.getString(CourseModuleConstants.COLUMN_TIMING),
+						resultSet.getString(CourseModuleConstants.COLUMN_LANGUAGE),
+						resultSet.getInt(CourseModuleConstants.COLUMN_MARKED_PRICE),
+						resultSet.getInt(CourseModuleConstants.COLUMN_SELLING_PRICE),
+						resultSet.getString(CourseModuleConstants.COLUMN_INSTRUCTOR_NAME),
+						resultSet.getString(CourseModuleConstants.COLUMN_COMPANY_NAME),
+						resultSet.getString(CourseModuleConstants.COLUMN_COMPANY_CATEGORY),
+						resultSet.getString(CourseModuleConstants.COLUMN_TOP_SKILLS),
+						resultSet.getString(CourseModuleConstants.COLUMN_COURSE_VIDEO_NAME1),
+						resultSet.getString(CourseModuleConstants.COLUMN_COURSE_VIDEO_NAME2),
+						resultSet.getString(CourseModuleConstants.COLUMN_COURSE_VIDEO_NAME3),
+						resultSet.getTimestamp(CourseModuleConstants.COLUMN_CREATED_AT),
+						resultSet.getInt(CourseModuleConstants.COLUMN_VERSION), CourseDAO::getCourseColumn);
+			}
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(CourseModuleConstants.READ_ERROR_MESSAGE + e);
+		}
+	}
+
+	// the column name comes from CourseDetail's fixed list, never from input
+	private static String getCourseColumn(int courseID, String column) throws DAOException {
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement pst = connection
+						.prepareStatement(String.format(CourseModuleConstants.COURSE_COLUMN_QUERY, column))) {
+			pst.setInt(1, courseID);
+			try (ResultSet resultSet = pst.executeQuery()) {
+				return resultSet.next() ? resultSet.getString(1) : null;
+			}
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(CourseModuleConstants.READ_ERROR_MESSAGE + e);
+		}
+	}
+
+	/**
+	 * Retrieves the courses created, updated or deleted after a watermark, in
+	 * order of modification then course ID. Rows written in the last
+	 * {@link CourseModuleConstants#CHANGE_FEED_SETTLE_SECONDS} seconds are left
+	 * for a later call. A write that commits later than that after its
+	 * modification time lands below a watermark already handed out, so a reader
+	 * that needs every row re-reads a window behind its watermark, as the
+	 * catalog does with {@link CourseWatermark#rewind(long)}.
+	 *
+	 * @param after The watermark of the last change already seen.
+	 * @param limit The maximum number of changes returned.
+	 * @return The changes and the watermark of the last one.
+	 * @throws DAOException If there's an error while interacting with the database.
+	 */
+	public CourseChangePage getCourseChanges(CourseWatermark after, int limit) throws DAOException {
+		List<CourseChange> changes = new ArrayList<>();
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement pst = connection.prepareStatement(CourseModuleConstants.COURSE_CHANGES_QUERY)) {
+			pst.setTimestamp(1, after.getModifiedAt());
+			pst.setInt(2, after.getCourseID());
+			// one extra row tells whether another page follows
+			pst.setInt(3, limit + 1);
+			try (ResultSet resultSet = pst.executeQuery()) {
+				while (resultSet.next()) {
+					changes.add(readCourseChange(resultSet, after));
+				}
+			}
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(CourseModuleConstants.READ_ERROR_MESSAGE + e);
+		}
+
+		boolean hasMore = changes.size() > limit;
+		if (hasMore) {
+			changes.remove(limit);
+		}
+		CourseWatermark next = after;
+		if (!changes.isEmpty()) {
+			CourseChange last = changes.get(changes.size() - 1);
+			next = new CourseWatermark(last.getModifiedAt(), last.getCourseID());
+		}
+		return new CourseChangePage(changes, next, hasMore);
+	}
+
+	/**
+	 * Retrieves the current row of a course, deleted or not.
+	 *
+	 * @param courseID The ID of the course.
+	 * @return The row as an update or deletion, or null if there is no such
+	 *         course.
+	 * @throws DAOException If there's an error while interacting with the database.
+	 */
+	public CourseChange getCourseRow(int courseID) throws DAOException {
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement pst = connection.prepareStatement(CourseModuleConstants.COURSE_ROW_QUERY)) {
+			pst.setInt(1, courseID);
+			try (ResultSet resultSet = pst.executeQuery()) {
+				return resultSet.next() ? readCourseChange(resultSet, null) : null;
+			}
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(CourseModuleConstants.READ_ERROR_MESSAGE + e);
+		}
+	}
+
+	// a course is new to a reader at the watermark if its creation (created_at, course_id) is after it
+	private static CourseChange readCourseChange(ResultSet resultSet, CourseWatermark after) throws SQLException {
+		int courseID = resultSet.getInt(CourseModuleConstants.COLUMN_COURSE_ID);
+		Timestamp createdAt = resultSet.getTimestamp(CourseModuleConstants.COLUMN_CREATED_AT);
+		Timestamp modifiedAt = resultSet.getTimestamp(CourseModuleConstants.COLUMN_MODIFIED_AT);
+		if (resultSet.getInt(CourseModuleConstants.COLUMN_IS_DELETED) != 0) {
+			return new CourseChange(courseID, CourseChange.Type.DELETED, null, createdAt, modifiedAt);
+		}
+		CourseChange.Type type = after != null && createdAt != null && after.isBefore(createdAt, courseID)
+				? CourseChange.Type.CREATED
+				: CourseChange.Type.UPDATED;
+		return new CourseChange(courseID, type, readCourseSummary(resultSet), createdAt, modifiedAt);
+	}
+
+	private static Course readCourseSummary(ResultSet resultSet) throws SQLException {
+		return new Course(resultSet.getString(CourseModuleConstants.COLUMN_NAME),
+				resultSet.getString(CourseModuleConstants.COLUMN_COVER_IMAGE),
+				resultSet.getString(CourseModuleConstants.COLUMN_TIMING),
+				resultSet.getString(CourseModuleConstants.COLUMN_LANGUAGE),
+				resultSet.getInt(CourseModuleConstants.COLUMN_MARKED_PRICE),
+				resultSet.getInt(CourseModuleConstants.COLUMN_SELLING_PRICE),
+				resultSet.getString(CourseModuleConstants.COLUMN_DESCRIPTION),
+				resultSet.getString(CourseModuleConstants.COLUMN_INSTRUCTOR_NAME),
+				resultSet.getString(CourseModuleConstants.COLUMN_COMPANY_NAME),
+				resultSet.getString(CourseModuleConstants.COLUMN_COMPANY_CATEGORY),
+				resultSet.getString(CourseModuleConstants.COLUMN_TOP_SKILLS),
+				resultSet.getInt(CourseModuleConstants.COLUMN_USER_ID),
+				resultSet.getInt(CourseModuleConstants.COLUMN_COURSE_ID));
+	}
+
+	/**
+	 * Counts the purchases of every course, from the users' purchased course
+	 * lists.
+	 *
+	 * @return The number of users who bought each course, by course ID; courses
+	 *         nobody bought are absent.
+	 * @throws DAOException If there's an error while interacting with the database.
+	 */
+	public Map<Integer, Long> getPurchaseCounts() throws DAOException {
+		Map<Integer, Long> counts = new HashMap<>();
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement pst = connection.prepareStatement(CourseModuleConstants.PURCHASED_COURSES_QUERY);
+				ResultSet resultSet = pst.executeQuery()) {
+			while (resultSet.next()) {
+				for (String courseId : resultSet.getString(CourseModuleConstants.COLUMN_PURCHASED_COURSES).split(",")) {
+					try {
+						counts.merge(Integer.parseInt(courseId.trim()), 1L, Long::sum);
+					} catch (NumberFormatException e) {
+						// skip malformed entries rather than fail the whole count
+					}
+				}
+			}
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(CourseModuleConstants.READ_ERROR_MESSAGE + e);
+		}
+		return counts;
+	}
+
+	/**
+	 * Updates an existing course's information in the database. A change of
+	 * company category moves a live course between the category counters in the
+	 * same transaction.
 	 *
 	 * @param course   The Course object containing the updated course information.
 	 * @param courseID The ID of the course to be updated.
@@ -245,30 +606,58 @@ public class CourseDAO {
 	public boolean updateCourse(Course course, int courseID) throws DAOException {
 		int rows = 0;
 
-		try (Connection connection = ConnectionUtil.getConnection();
-	            PreparedStatement pst = connection.prepareStatement(
-	                    "UPDATE course SET cover_image=?, timing=?, language=?, marked_price=?, selling_price=?, description=?, instructor_name=?, company_name=?, company_category=?, top_skills=?, courseVideo1=?, courseVideo2=?, courseVideo3=?, courseVideoName1=?, courseVideoName2=?, courseVideoName3=? WHERE course_id = ?")) {
-
-	        pst.setString(1, course.getCoverImage());
-	        pst.setString(2, course.getTiming());
-	        pst.setString(3, course.getLanguage());
-	        pst.setInt(4, course.getMarkedPrice());
-	        pst.setInt(5, course.getSellingPrice());
-	        pst.setString(6, course.getDescription());
-	        pst.setString(7, course.getInstructorName());
-	        pst.setString(8, course.getCompanyName());
-	        pst.setString(9, course.getCompanyCategory());
-	        pst.setString(10, course.getTopSkills());
-	        pst.setString(11, course.getCourseVideo1());
-	        pst.setString(12, course.getCourseVideo2());
-	        pst.setString(13, course.getCourseVideo3());
-	        pst.setString(14, course.getCourseVideoName1());
-	        pst.setString(15, course.getCourseVideoName2());
-	        pst.setString(16, course.getCourseVideoName3());
-	        pst.setInt(17, courseID);
-
-	        // Execute query
-	        rows = pst.executeUpdate();
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			// the course and its counters are written in one transaction
+			connection.setAutoCommit(false);
+			try (PreparedStatement state = connection
+					.prepareStatement(CourseModuleConstants.COURSE_STATE_FOR_UPDATE_QUERY);
+					PreparedStatement pst = connection.prepareStatement(
+							"UPDATE course SET cover_image=?, timing=?, language=?, marked_price=?, selling_price=?, description=?, instructor_name=?, company_name=?, company_category=?, top_skills=?, courseVideo1=?, courseVideo2=?, courseVideo3=?, courseVideoName1=?, courseVideoName2=?, courseVideoName3=?, version = version + 1 WHERE course_id = ?")) {
+
+				state.setInt(1, courseID);
+				boolean live;
+				String category;
+				try (ResultSet resultSet = state.executeQuery()) {
+					if (!resultSet.next()) {
+						connection.rollback();
+						return false;
+					}
+					live = resultSet.getInt(CourseModuleConstants.COLUMN_IS_DELETED) == 0;
+					category = resultSet.getString(CourseModuleConstants.COLUMN_COMPANY_CATEGORY);
+				}
+
+				pst.setString(1, course.getCoverImage());
+				pst.setString(2, course.getTiming());
+				pst.setString(3, course.getLanguage());
+				pst.setInt(4, course.getMarkedPrice());
+				pst.setInt(5, course.getSellingPrice());
+				pst.setString(6, course.getDescription());
+				pst.setString(7, course.getInstructorName());
+				pst.setString(8, course.getCompanyName());
+				pst.setString(9, course.getCompanyCategory());
+				pst.setString(10, course.getTopSkills());
+				pst.setString(11, course.getCourseVideo1());
+				pst.setString(12, course.getCourseVideo2());
+				pst.setString(13, course.getCourseVideo3());
+				pst.setString(14, course.getCourseVideoName1());
+				pst.setString(15, course.getCourseVideoName2());
+				pst.setString(16, course.getCourseVideoName3());
+				pst.setInt(17, courseID);
+
+				Map<String, Integer> deltas = counterDeltas(live, category, live, course.getCompanyCategory());
+				if (!deltas.isEmpty()) {
+					lockCourseCounters(connection);
+				}
+				// Execute query
+				rows = pst.executeUpdate();
+				if (rows == 1) {
+					adjustCourseCounters(connection, deltas);
+				}
+				connection.commit();
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			}
 		} catch (SQLException | DatabaseException e) {
 			throw new DAOException(CourseModuleConstants.UPDATE_ERROR_MESSAGE + e);
 		}
@@ -276,6 +665,131 @@ public class CourseDAO {
 		return (rows == 1);
 	}
 
+	/**
+	 * Writes the changed columns of a course, and no others. The course row is
+	 * locked while the edit is checked against it, so a price changed alone is
+	 * compared with the stored price it is written next to, and a category
+	 * change moves the course between the category counters.
+	 *
+	 * @param patch The changed fields of the course.
+	 * @return UPDATED if the patch was written (or is empty), INVALID_PRICE if it
+	 *         would break the price difference, NOT_FOUND if the course does not
+	 *         exist or is deleted.
+	 * @throws DAOException If there's an error while interacting with the database.
+	 */
+	public CourseUpdateResult updateCourse(CoursePatch patch) throws DAOException {
+		return applyPatch(patch, null);
+	}
+
+	/**
+	 * Writes the changed columns of a course if it is still at the expected
+	 * version, and moves it to the next version. The version is checked on the
+	 * locked row, in the same transaction as the write.
+	 *
+	 * @param patch           The changed fields of the course.
+	 * @param expectedVersion The version the edit was made from.
+	 * @return UPDATED if the patch was written (or is empty), CONFLICT if the
+	 *         course was changed since, INVALID_PRICE if the patch would break
+	 *         the price difference, NOT_FOUND if the course does not exist or is
+	 *         deleted.
+	 * @throws DAOException If there's an error while interacting with the database.
+	 */
+	public CourseUpdateResult updateCourse(CoursePatch patch, int expectedVersion) throws DAOException {
+		return applyPatch(patch, expectedVersion);
+	}
+
+	/**
+	 * Decides what a course edit does, from the stored row it is checked against.
+	 * An empty patch at the expected version is UPDATED without a write.
+	 *
+	 * @param patch           The changed fields of the course.
+	 * @param expectedVersion The version the edit was made from, or null to
+	 *                        write over any version.
+	 * @param storedVersion   The version of the live course, or null if it does
+	 *                        not exist or is deleted.
+	 * @param markedPrice     The stored marked price.
+	 * @param sellingPrice    The stored selling price.
+	 * @return The outcome of the edit; only UPDATED of a non-empty patch writes.
+	 */
+	public static CourseUpdateResult patchResult(CoursePatch patch, Integer expectedVersion, Integer storedVersion,
+			int markedPrice, int sellingPrice) {
+		if (storedVersion == null) {
+			return CourseUpdateResult.NOT_FOUND;
+		}
+		if (expectedVersion != null && !expectedVersion.equals(storedVersion)) {
+			return CourseUpdateResult.CONFLICT;
+		}
+		Map<String, Object> changes = patch.getChanges();
+		if (patch.isChanged(CourseModuleConstants.COLUMN_MARKED_PRICE)
+				|| patch.isChanged(CourseModuleConstants.COLUMN_SELLING_PRICE)) {
+			int nextMarkedPrice = (Integer) changes.getOrDefault(CourseModuleConstants.COLUMN_MARKED_PRICE, markedPrice);
+			int nextSellingPrice = (Integer) changes.getOrDefault(CourseModuleConstants.COLUMN_SELLING_PRICE,
+					sellingPrice);
+			if (!CourseValidator.validatePriceDifference(nextMarkedPrice, nextSellingPrice)) {
+				return CourseUpdateResult.INVALID_PRICE;
+			}
+		}
+		return CourseUpdateResult.UPDATED;
+	}
+
+	private static CourseUpdateResult applyPatch(CoursePatch patch, Integer expectedVersion) throws DAOException {
+		Map<String, Object> changes = patch.getChanges();
+		StringJoiner assignments = new StringJoiner(", ");
+		for (String column : changes.keySet()) {
+			assignments.add(column + " = ?");
+		}
+
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			// the row stays locked from the check to the write
+			connection.setAutoCommit(false);
+			try (PreparedStatement state = connection.prepareStatement(CourseModuleConstants.COURSE_PATCH_STATE_QUERY)) {
+				state.setInt(1, patch.getCourseID());
+				Integer storedVersion = null;
+				int markedPrice = 0;
+				int sellingPrice = 0;
+				String category = null;
+				try (ResultSet resultSet = state.executeQuery()) {
+					if (resultSet.next()) {
+						storedVersion = resultSet.getInt(CourseModuleConstants.COLUMN_VERSION);
+						markedPrice = resultSet.getInt(CourseModuleConstants.COLUMN_MARKED_PRICE);
+						sellingPrice = resultSet.getInt(CourseModuleConstants.COLUMN_SELLING_PRICE);
+						category = resultSet.getString(CourseModuleConstants.COLUMN_COMPANY_CATEGORY);
+					}
+				}
+
+				CourseUpdateResult result = patchResult(patch, expectedVersion, storedVersion, markedPrice,
+						sellingPrice);
+				if (result == CourseUpdateResult.UPDATED && !patch.isEmpty()) {
+					Map<String, Integer> deltas = patch.isChanged(CourseModuleConstants.COLUMN_COMPANY_CATEGORY)
+							? counterDeltas(true, category, true,
+									(String) changes.get(CourseModuleConstants.COLUMN_COMPANY_CATEGORY))
+							: Collections.emptyMap();
+					if (!deltas.isEmpty()) {
+						lockCourseCounters(connection);
+					}
+					// column names come from CoursePatch, never from the caller
+					try (PreparedStatement pst = connection
+							.prepareStatement(String.format(CourseModuleConstants.COURSE_PATCH_QUERY, assignments))) {
+						int index = 1;
+						for (Object value : changes.values()) {
+							pst.setObject(index++, value);
+						}
+						pst.setInt(index, patch.getCourseID());
+						pst.executeUpdate();
+					}
+					adjustCourseCounters(connection, deltas);
+				}
+				connection.commit();
+				return result;
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			}
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(CourseModuleConstants.UPDATE_ERROR_MESSAGE + e);
+		}
+	}
+
 	/**
 	 * Marks a course as deleted or undeleted in the database.
 	 *
@@ -288,18 +802,45 @@ public class CourseDAO {
 	public boolean deleteCourse(int courseID, int isDeleted) throws DAOException {
 		int rows = 0;
 
-		try (Connection connection = ConnectionUtil.getConnection();
-				PreparedStatement pst = connection
-						.prepareStatement("UPDATE course SET is_deleted = ? WHERE course_id = ?")) {
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			// the course and its counters are written in one transaction
+			connection.setAutoCommit(false);
+			try (PreparedStatement state = connection
+					.prepareStatement(CourseModuleConstants.COURSE_STATE_FOR_UPDATE_QUERY);
+					PreparedStatement pst = connection
+							.prepareStatement("UPDATE course SET is_deleted = ? WHERE course_id = ?")) {
 
-			String isDelete = Integer.toString(isDeleted);
+				state.setInt(1, courseID);
+				boolean wasDeleted;
+				String category;
+				try (ResultSet resultSet = state.executeQuery()) {
+					if (!resultSet.next()) {
+						connection.rollback();
+						return false;
+					}
+					wasDeleted = resultSet.getInt(CourseModuleConstants.COLUMN_IS_DELETED) != 0;
+					category = resultSet.getString(CourseModuleConstants.COLUMN_COMPANY_CATEGORY);
+				}
 
-			pst.setString(1, isDelete);
-			pst.setInt(2, courseID);
+				String isDelete = Integer.toString(isDeleted);
 
-			// Execute query
-			rows = pst.executeUpdate();
+				pst.setString(1, isDelete);
+				pst.setInt(2, courseID);
 
+				Map<String, Integer> deltas = counterDeltas(!wasDeleted, category, isDeleted == 0, category);
+				if (!deltas.isEmpty()) {
+					lockCourseCounters(connection);
+				}
+				// Execute query
+				rows = pst.executeUpdate();
+				if (rows == 1) {
+					adjustCourseCounters(connection, deltas);
+				}
+				connection.commit();
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			}
 		} catch (SQLException | DatabaseException e) {
 			throw new DAOException(CourseModuleConstants.DELETE_ERROR_MESSAGE + e);
 		}
@@ -8,6 +8,7 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
+import com.fssa.freshstocks.constants.UserModuleConstants;
 import com.fssa.freshstocks.dao.exception.DAOException;
 import com.fssa.freshstocks.model.LeaderboardEntry;
 import com.fssa.freshstocks.utils.ConnectionUtil;
@@ -75,7 +76,7 @@ public class QuizDAO {
 
         try (Connection conn = ConnectionUtil.getConnection();
                 PreparedStatement statement = conn.prepareStatement(
-                        "SELECT u.username, u.avatar_url, uqi.quiz_start_time, uqi.streak_count , u.gender " +
+                        "SELECT u.username, " + UserModuleConstants.AVATAR_REF_SQL + " AS avatar_ref, uqi.quiz_start_time, uqi.streak_count , u.gender " +
                         "FROM freshstocks u " +
                         "INNER JOIN user_quiz_info uqi ON u.user_id = uqi.user_id " +
                         "ORDER BY uqi.streak_count DESC")) {
@@ -85,7 +86,7 @@ public class QuizDAO {
             while (resultSet.next()) {
                 String username = resultSet.getString("username");
                 String quizEndTime = resultSet.getString("quiz_start_time");
-                String profileImg = resultSet.getString("avatar_url");
+                String profileImg = resultSet.getString(UserModuleConstants.AVATAR_REF_COLUMN_NAME);
                 String gender = resultSet.getString("gender");
                 int streak = resultSet.getInt("streak_count");
                 leaderboardData.add(new LeaderboardEntry(username, streak, gender,quizEndTime,profileImg));
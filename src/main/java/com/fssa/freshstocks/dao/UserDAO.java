@@ -1,17 +1,30 @@
 package com.fssa.freshstocks.dao;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.sql.Statement;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 import com.fssa.freshstocks.constants.*;
 import com.fssa.freshstocks.dao.exception.DAOException;
+import com.fssa.freshstocks.model.AuthorSummary;
 import com.fssa.freshstocks.model.User;
+import com.fssa.freshstocks.model.UserListFilter;
+import com.fssa.freshstocks.utils.AvatarStore;
 import com.fssa.freshstocks.utils.ConnectionUtil;
 import com.fssa.freshstocks.utils.exception.DatabaseException;
 
@@ -21,22 +34,25 @@ public class UserDAO {
 	 * Attempts to log in a user by verifying their email and password in the
 	 * database.
 	 *
+	 * Only the credential columns are read, through the unique email index.
+	 *
 	 * @param user The User object representing the user's login information.
 	 * @return {@code true} if the login was successful, {@code false} otherwise.
 	 * @throws DAOException If there's an error while interacting with the database.
 	 */
 	public User login(User user) throws DAOException {
 		try (Connection connection = ConnectionUtil.getConnection();
-				PreparedStatement pst = connection.prepareStatement(UserModuleConstants.USER_SELECT_QUERY)) {
+				PreparedStatement pst = connection.prepareStatement(UserModuleConstants.USER_CREDENTIAL_QUERY)) {
 
 			pst.setString(1, user.getEmail());
 
 			try (ResultSet resultSet = pst.executeQuery()) {
-				while (resultSet.next()) {
+				if (resultSet.next()) {
+					int userId = resultSet.getInt(UserModuleConstants.USER_ID_COLUMN_NAME);
 					String emailId = resultSet.getString(UserModuleConstants.EMAIL_COLUMN_NAME);
 					String password = resultSet.getString(UserModuleConstants.PASSWORD_COLUMN_NAME);
 
-					return new User(emailId, password);
+					return new User(userId, null, emailId, password);
 				}
 			}
 		} catch (SQLException | DatabaseException e) {
@@ -54,54 +70,29 @@ public class UserDAO {
 	 * @throws DAOException If there's an error while interacting with the database.
 	 */
 	public boolean emailExist(User user) throws DAOException {
-		boolean emailExists = false;
-
-		try (Connection connection = ConnectionUtil.getConnection();
-				PreparedStatement pst = connection.prepareStatement(UserModuleConstants.USER_SELECT_QUERY)) {
-			pst.setString(1, user.getEmail());
-			try (ResultSet resultSet = pst.executeQuery()) {
-				while (resultSet.next()) {
-					String emailId = resultSet.getString(UserModuleConstants.EMAIL_COLUMN_NAME);
-					if (user.getEmail().equals(emailId)) {
-						emailExists = true;
-					}
-				}
-			}
-		} catch (SQLException | DatabaseException e) {
-			throw new DAOException(UserModuleConstants.EMAIL_ERROR_MESSAGE + e);
-		}
-
-		return emailExists;
+		return emailAlreadyExist(user.getEmail());
 	}
 
 	/**
 	 * Checks whether a given email address already exists in the database.
 	 *
+	 * Runs an EXISTS probe on the unique email index, so no row data is read.
+	 *
 	 * @param email The email address to check for existence.
 	 * @return {@code true} if the email address already exists, {@code false}
 	 *         otherwise.
 	 * @throws DAOException If there's an error while interacting with the database.
 	 */
 	public boolean emailAlreadyExist(String email) throws DAOException {
-		boolean emailAlreadyExist = false;
-
 		try (Connection connection = ConnectionUtil.getConnection();
-				PreparedStatement pst = connection.prepareStatement(UserModuleConstants.USER_SELECT_QUERY)) {
+				PreparedStatement pst = connection.prepareStatement(UserModuleConstants.EMAIL_EXISTS_QUERY)) {
 			pst.setString(1, email);
 			try (ResultSet resultSet = pst.executeQuery()) {
-				while (resultSet.next()) {
-					String emailId = resultSet.getString(UserModuleConstants.EMAIL_COLUMN_NAME);
-					if (email.equals(emailId)) {
-						emailAlreadyExist = true;
-						break;
-					}
-				}
+				return resultSet.next() && resultSet.getBoolean(1);
 			}
 		} catch (SQLException | DatabaseException e) {
 			throw new DAOException(UserModuleConstants.EMAIL_ERROR_MESSAGE + e);
 		}
-
-		return emailAlreadyExist;
 	}
 
 	/**
@@ -127,9 +118,15 @@ public class UserDAO {
 			pst.setString(6, user.getEmail());
 			pst.setString(7, user.getPassword());
 			pst.setInt(8, user.getIsSeller());
-			pst.setString(9, "https://ui-avatars.com/api/?name=" + user.getUsername() + "&background=random");
+			pst.setString(9, defaultAvatarUrl(user.getUsername()));
 
 			rows = pst.executeUpdate();
+		} catch (SQLIntegrityConstraintViolationException e) {
+			if (e.getErrorCode() == UserModuleConstants.DUPLICATE_ENTRY_ERROR_CODE) {
+				// another registration with the same email won the race
+				return false;
+			}
+			throw new DAOException(UserModuleConstants.REGISTER_ERROR_MESSAGE + e);
 		} catch (SQLException | DatabaseException e) {
 			throw new DAOException(UserModuleConstants.REGISTER_ERROR_MESSAGE + e);
 		}
@@ -137,6 +134,87 @@ public class UserDAO {
 		return (rows == 1);
 	}
 
+	/**
+	 * Inserts several users with one JDBC batch. Each row commits on its own, so
+	 * a failing row (e.g. a duplicate email) does not undo the others.
+	 *
+	 * @param users The users to insert, with hashed passwords.
+	 * @return For each user, true if it was inserted.
+	 * @throws DAOException If the batch could not be executed at all.
+	 */
+	public boolean[] registerBatch(List<User> users) throws DAOException {
+		boolean[] inserted = new boolean[users.size()];
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement pst = connection.prepareStatement(UserModuleConstants.REGISTER_BATCH_QUERY)) {
+			for (User user : users) {
+				pst.setString(1, user.getUsername());
+				pst.setString(2, user.getGender());
+				pst.setString(3, user.getMobileNumber());
+				pst.setString(4, user.getDateOfBirth());
+				pst.setString(5, user.getEmail());
+				pst.setString(6, user.getPassword());
+				pst.setInt(7, user.getIsSeller());
+				pst.setString(8, defaultAvatarUrl(user.getUsername()));
+				pst.addBatch();
+			}
+			markInserted(inserted, pst.executeBatch());
+		} catch (BatchUpdateException e) {
+			// the driver continues past failed rows and reports each one
+			markInserted(inserted, e.getUpdateCounts());
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(UserModuleConstants.REGISTER_ERROR_MESSAGE + e);
+		}
+		return inserted;
+	}
+
+	private static void markInserted(boolean[] inserted, int[] updateCounts) {
+		for (int i = 0; i < inserted.length && i < updateCounts.length; i++) {
+			inserted[i] = updateCounts[i] > 0 || updateCounts[i] == Statement.SUCCESS_NO_INFO;
+		}
+	}
+
+	/**
+	 * Finds which of the given emails are already registered, with one query per
+	 * {@link UserModuleConstants#EMAIL_LOOKUP_BATCH_SIZE} emails.
+	 *
+	 * @param emails The emails to check.
+	 * @return The registered emails, lower-cased.
+	 * @throws DAOException If an error occurs during the retrieval process.
+	 */
+	public Set<String> getExistingEmails(Collection<String> emails) throws DAOException {
+		Set<String> existing = new HashSet<>();
+		List<String> pending = new ArrayList<>(emails);
+		try (Connection connection = ConnectionUtil.getConnection()) {
+			for (int from = 0; from < pending.size(); from += UserModuleConstants.EMAIL_LOOKUP_BATCH_SIZE) {
+				List<String> batch = pending.subList(from,
+						Math.min(pending.size(), from + UserModuleConstants.EMAIL_LOOKUP_BATCH_SIZE));
+				StringBuilder query = new StringBuilder(UserModuleConstants.EXISTING_EMAILS_QUERY);
+				for (int i = 0; i < batch.size(); i++) {
+					query.append(i == 0 ? "?" : ", ?");
+				}
+				query.append(")");
+
+				try (PreparedStatement pst = connection.prepareStatement(query.toString())) {
+					for (int i = 0; i < batch.size(); i++) {
+						pst.setString(i + 1, batch.get(i));
+					}
+					try (ResultSet resultSet = pst.executeQuery()) {
+						while (resultSet.next()) {
+							existing.add(resultSet.getString(UserModuleConstants.EMAIL_COLUMN_NAME).toLowerCase(Locale.ROOT));
+						}
+					}
+				}
+			}
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(UserModuleConstants.EMAIL_ERROR_MESSAGE + e);
+		}
+		return existing;
+	}
+
+	private static String defaultAvatarUrl(String username) {
+		return "https://ui-avatars.com/api/?name=" + username + "&background=random";
+	}
+
 	/**
 	 * Updates a user's information in the database.
 	 *
@@ -150,13 +228,15 @@ public class UserDAO {
 
 		try (Connection connection = ConnectionUtil.getConnection();
 				PreparedStatement pst = connection.prepareStatement(
-						"UPDATE freshstocks SET avatar_url= ?, gender = ?, mobile_number = ?, date_of_birth = ? WHERE email = ?")) {
+						"UPDATE freshstocks SET avatar_url= ?, avatar_hash = ?, gender = ?, mobile_number = ?, date_of_birth = ? WHERE email = ?")) {
 
-			pst.setString(1, user.getProfilePic());
-			pst.setString(2, user.getGender());
-			pst.setString(3, user.getMobileNumber());
-			pst.setString(4, user.getDateOfBirth());
-			pst.setString(5, userEmail);
+			String avatarHash = avatarHashOf(user.getProfilePic());
+			pst.setString(1, avatarHash == null ? user.getProfilePic() : null);
+			pst.setString(2, avatarHash);
+			pst.setString(3, user.getGender());
+			pst.setString(4, user.getMobileNumber());
+			pst.setString(5, user.getDateOfBirth());
+			pst.setString(6, userEmail);
 
 			// Execute query
 			rows = pst.executeUpdate();
@@ -194,6 +274,30 @@ public class UserDAO {
 		return (rows == 1);
 	}
 
+	/**
+	 * Replaces a password hash with a rehashed one, only if the stored hash is
+	 * still the one that was rehashed, so a concurrent password change wins.
+	 *
+	 * @param userEmail The email address associated with the user.
+	 * @param oldHash   The hash that was verified at login.
+	 * @param newHash   The hash at the current BCrypt cost.
+	 * @return True if the hash was replaced, false otherwise.
+	 * @throws DAOException If an error occurs during the update process.
+	 */
+	public boolean rehashPassword(String userEmail, String oldHash, String newHash) throws DAOException {
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement pst = connection.prepareStatement(UserModuleConstants.REHASH_PASSWORD_QUERY)) {
+
+			pst.setString(1, newHash);
+			pst.setString(2, userEmail);
+			pst.setString(3, oldHash);
+
+			return pst.executeUpdate() == 1;
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(UserModuleConstants.UPDATE_ERROR_MESSAGE + e);
+		}
+	}
+
 	/**
 	 * Marks a user as deleted or undeleted in the database.
 	 *
@@ -238,11 +342,11 @@ public class UserDAO {
 		String userProfile = null;
 
 		try (Connection connection = ConnectionUtil.getConnection();
-				PreparedStatement pst = connection.prepareStatement("SELECT avatar_url FROM freshstocks WHERE user_id=?")) {
+				PreparedStatement pst = connection.prepareStatement("SELECT " + UserModuleConstants.AVATAR_OR_INLINE_SQL + " AS avatar_ref FROM freshstocks WHERE user_id=?")) {
 			pst.setInt(1, userID);
 			try (ResultSet resultSet = pst.executeQuery()) {
 				while (resultSet.next()) {
-					userProfile = resultSet.getString("avatar_url");
+					userProfile = resultSet.getString(UserModuleConstants.AVATAR_REF_COLUMN_NAME);
 				}
 			}
 		} catch (SQLException | DatabaseException e) {
@@ -253,6 +357,45 @@ public class UserDAO {
 	}
 	
 	
+	/**
+	 * Retrieves the username and avatar of several users in a single query.
+	 *
+	 * @param userIds The distinct user IDs to look up.
+	 * @return A map from user ID to the author summary of every user found.
+	 * @throws DAOException If there's an error while interacting with the database.
+	 */
+	public Map<Integer, AuthorSummary> getAuthorSummaries(Collection<Integer> userIds) throws DAOException {
+		Map<Integer, AuthorSummary> summaries = new HashMap<>();
+		if (userIds.isEmpty()) {
+			return summaries;
+		}
+
+		StringBuilder query = new StringBuilder("SELECT user_id, username, " + UserModuleConstants.AVATAR_REF_SQL + " AS avatar_ref FROM freshstocks WHERE user_id IN (");
+		for (int i = 0; i < userIds.size(); i++) {
+			query.append(i == 0 ? "?" : ",?");
+		}
+		query.append(")");
+
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement pst = connection.prepareStatement(query.toString())) {
+			int index = 1;
+			for (Integer userId : userIds) {
+				pst.setInt(index++, userId);
+			}
+			try (ResultSet resultSet = pst.executeQuery()) {
+				while (resultSet.next()) {
+					int userId = resultSet.getInt("user_id");
+					summaries.put(userId, new AuthorSummary(userId, resultSet.getString("username"),
+							resultSet.getString(UserModuleConstants.AVATAR_REF_COLUMN_NAME)));
+				}
+			}
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(UserModuleConstants.AUTHOR_SUMMARY_ERROR_MESSAGE + e);
+		}
+
+		return summaries;
+	}
+
 	/**
 	 * Updates the purchased courses for a user in the database.
 	 *
@@ -279,7 +422,8 @@ public class UserDAO {
 	
 
 	/**
-	 * Retrieves user details based on the provided email address.
+	 * Retrieves user details based on the provided email address. A legacy
+	 * inline avatar is left null, as in {@link #getUserProfileByEmail(String)}.
 	 *
 	 * @param email The email address of the user.
 	 * @return The User object associated with the provided email, or null if not found.
@@ -288,7 +432,7 @@ public class UserDAO {
 	public static User fetchUserIDByEmail(String email) throws DAOException {
 		User user1 = null;
 		// Database query
-		String query = "SELECT * FROM freshstocks WHERE email = ?";
+		String query = "SELECT " + UserModuleConstants.USER_COLUMNS_SQL + " FROM freshstocks WHERE email = ?";
 		try (Connection connection = ConnectionUtil.getConnection();
 				PreparedStatement statement = connection.prepareStatement(query)) {
 
@@ -301,7 +445,7 @@ public class UserDAO {
 					String gender = resultSet.getString("gender");
 					String mobileNumber = resultSet.getString("mobile_number");
 					String dateOfBirth = resultSet.getString("date_of_birth");
-					String profilePic = resultSet.getString("avatar_url");
+					String profilePic = resultSet.getString(UserModuleConstants.AVATAR_REF_COLUMN_NAME);
 					String userEmail = resultSet.getString("email");
 					String password = resultSet.getString("password");
 					int isSeller = resultSet.getInt("is_seller");
@@ -326,7 +470,8 @@ public class UserDAO {
 	
 	
 	/**
-	 * Retrieves user details based on the provided user ID.
+	 * Retrieves user details based on the provided user ID. A legacy inline
+	 * avatar is left null, as in {@link #getUserProfileByEmail(String)}.
 	 *
 	 * @param userId The unique identifier of the user.
 	 * @return The User object associated with the provided user ID, or null if not found.
@@ -335,7 +480,7 @@ public class UserDAO {
 	public static User fetchUserIDByEmail(int userId) throws DAOException {
 		User user1 = null;
 		// Database query
-		String query = "SELECT * FROM freshstocks WHERE user_id = ?";
+		String query = "SELECT " + UserModuleConstants.USER_COLUMNS_SQL + " FROM freshstocks WHERE user_id = ?";
 		try (Connection connection = ConnectionUtil.getConnection();
 				PreparedStatement statement = connection.prepareStatement(query)) {
 
@@ -348,7 +493,7 @@ public class UserDAO {
 					String gender = resultSet.getString("gender");
 					String mobileNumber = resultSet.getString("mobile_number");
 					String dateOfBirth = resultSet.getString("date_of_birth");
-					String profilePic = resultSet.getString("avatar_url");
+					String profilePic = resultSet.getString(UserModuleConstants.AVATAR_REF_COLUMN_NAME);
 					String userEmail = resultSet.getString("email");
 					String password = resultSet.getString("password");
 					int isSeller = resultSet.getInt("is_seller");
@@ -372,7 +517,203 @@ public class UserDAO {
 	}
 	 
 	/**
-	 * Retrieves a list of all users from the database.
+	 * Retrieves legacy inline (data:) avatars that are not in the avatar store
+	 * yet, in user ID order.
+	 *
+	 * @param afterUserId Only users with a greater ID are returned.
+	 * @param limit       The maximum number of avatars to return.
+	 * @return A map from user ID to inline avatar, in user ID order.
+	 * @throws DAOException If an error occurs during the retrieval process.
+	 */
+	public Map<Integer, String> getInlineAvatars(int afterUserId, int limit) throws DAOException {
+		Map<Integer, String> avatars = new LinkedHashMap<>();
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement pst = connection.prepareStatement(UserModuleConstants.INLINE_AVATARS_QUERY)) {
+			pst.setInt(1, afterUserId);
+			pst.setInt(2, limit);
+			try (ResultSet resultSet = pst.executeQuery()) {
+				while (resultSet.next()) {
+					avatars.put(resultSet.getInt(UserModuleConstants.USER_ID_COLUMN_NAME), resultSet.getString("avatar_url"));
+				}
+			}
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(UserModuleConstants.AVATAR_ERROR_MESSAGE + e);
+		}
+		return avatars;
+	}
+
+	/**
+	 * Points a user's avatar at the avatar store and drops the inline copy, if
+	 * the inline avatar is still the one that was stored.
+	 *
+	 * @param userId       The unique identifier of the user.
+	 * @param avatarHash   The hash of the stored avatar.
+	 * @param inlineAvatar The inline avatar the hash was computed from.
+	 * @return True if the row was migrated, false if it was already migrated or
+	 *         its avatar changed meanwhile.
+	 * @throws DAOException If an error occurs during the update process.
+	 */
+	public boolean setAvatarHash(int userId, String avatarHash, String inlineAvatar) throws DAOException {
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement pst = connection.prepareStatement(UserModuleConstants.SET_AVATAR_HASH_QUERY)) {
+			pst.setString(1, avatarHash);
+			pst.setInt(2, userId);
+			pst.setString(3, inlineAvatar);
+			return pst.executeUpdate() == 1;
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(UserModuleConstants.AVATAR_ERROR_MESSAGE + e);
+		}
+	}
+
+	// the hash when the profile picture is an avatar store reference, otherwise null
+	private static String avatarHashOf(String profilePic) {
+		if (profilePic == null || !profilePic.startsWith(AvatarStore.REFERENCE_PREFIX)) {
+			return null;
+		}
+		String hash = profilePic.substring(AvatarStore.REFERENCE_PREFIX.length());
+		return AvatarStore.isHash(hash) ? hash : null;
+	}
+
+	/**
+	 * Retrieves the profile of a user by email, without the password hash. The
+	 * avatar is returned as a reference: a URL or an "avatars/{hash}" store
+	 * reference is kept, a legacy inline data: avatar is
+	 * left null and can be read with {@link #getUserProfileFromUserID(int)}.
+	 *
+	 * @param email The email address of the user.
+	 * @return The user profile, or null if not found.
+	 * @throws DAOException If an error occurs during the retrieval process.
+	 */
+	public User getUserProfileByEmail(String email) throws DAOException {
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement statement = connection.prepareStatement(UserModuleConstants.USER_PROFILE_QUERY + "email = ?")) {
+			statement.setString(1, email);
+			return readUserProfile(statement);
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(UserModuleConstants.FETCH_USER_ERROR_MESSAGE + e);
+		}
+	}
+
+	/**
+	 * Retrieves the profile of a user by user ID, without the password hash. The
+	 * avatar is returned as a reference, as in {@link #getUserProfileByEmail(String)}.
+	 *
+	 * @param userId The unique identifier of the user.
+	 * @return The user profile, or null if not found.
+	 * @throws DAOException If an error occurs during the retrieval process.
+	 */
+	public User getUserProfileById(int userId) throws DAOException {
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement statement = connection.prepareStatement(UserModuleConstants.USER_PROFILE_QUERY + "user_id = ?")) {
+			statement.setInt(1, userId);
+			return readUserProfile(statement);
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(UserModuleConstants.FETCH_USER_ERROR_MESSAGE + e);
+		}
+	}
+
+	private static User readUserProfile(PreparedStatement statement) throws SQLException {
+		try (ResultSet resultSet = statement.executeQuery()) {
+			if (!resultSet.next()) {
+				return null;
+			}
+			String purchasedCourses = resultSet.getString("purchased_courses");
+			return new User(resultSet.getInt("user_id"), resultSet.getString("username"),
+					resultSet.getString("gender"), resultSet.getString("mobile_number"),
+					resultSet.getString("date_of_birth"), resultSet.getString("email"), null,
+					resultSet.getInt("is_seller"), resultSet.getString("created_at"),
+					resultSet.getString("modified_at"), resultSet.getInt("is_deleted"),
+					resultSet.getString(UserModuleConstants.AVATAR_REF_COLUMN_NAME), purchasedCourses != null ? purchasedCourses : "0");
+		}
+	}
+
+	/**
+	 * Retrieves one page of the admin user listing. Only the admin columns are
+	 * read: no password hash, avatar or purchases. Pages are ordered by user ID,
+	 * or with a creation time range by creation time then user ID; either way
+	 * an index serves the page directly, so a page reads only its own rows.
+	 *
+	 * @param filter      The filter to apply.
+	 * @param afterUserId The last user ID of the previous page, or 0 for the
+	 *                    first page.
+	 * @param limit       The maximum number of users on the page.
+	 * @return The users on the page; fewer than {@code limit} means the last page.
+	 * @throws DAOException If an error occurs during the retrieval process.
+	 */
+	public List<User> getUsersPage(UserListFilter filter, int afterUserId, int limit) throws DAOException {
+		boolean byCreation = filter.getCreatedFrom() != null || filter.getCreatedBefore() != null;
+		StringBuilder query = new StringBuilder(
+				byCreation ? UserModuleConstants.ADMIN_USER_RANGE_QUERY : UserModuleConstants.ADMIN_USER_LIST_QUERY);
+		if (filter.getIsSeller() != null) {
+			query.append(" AND is_seller = ?");
+		}
+		if (filter.getIsDeleted() != null) {
+			query.append(" AND is_deleted = ?");
+		}
+		if (filter.getCreatedFrom() != null) {
+			query.append(" AND created_at >= ?");
+		}
+		if (filter.getCreatedBefore() != null) {
+			query.append(" AND created_at < ?");
+		}
+		query.append(byCreation ? " ORDER BY created_at, user_id LIMIT ?" : " ORDER BY user_id LIMIT ?");
+
+		List<User> users = new ArrayList<>(limit);
+		try (Connection connection = ConnectionUtil.getConnection();
+				PreparedStatement pst = connection.prepareStatement(query.toString())) {
+			int index = 1;
+			if (byCreation) {
+				// the page resumes after the last user's position in creation order
+				Timestamp afterCreatedAt = afterUserId > 0 ? getCreatedAt(connection, afterUserId) : new Timestamp(0);
+				if (afterCreatedAt == null) {
+					return users;
+				}
+				pst.setTimestamp(index++, afterCreatedAt);
+			}
+			pst.setInt(index++, afterUserId);
+			if (filter.getIsSeller() != null) {
+				pst.setInt(index++, filter.getIsSeller());
+			}
+			if (filter.getIsDeleted() != null) {
+				pst.setInt(index++, filter.getIsDeleted());
+			}
+			if (filter.getCreatedFrom() != null) {
+				pst.setTimestamp(index++, filter.getCreatedFrom());
+			}
+			if (filter.getCreatedBefore() != null) {
+				pst.setTimestamp(index++, filter.getCreatedBefore());
+			}
+			pst.setInt(index, limit);
+
+			try (ResultSet resultSet = pst.executeQuery()) {
+				while (resultSet.next()) {
+					users.add(new User(resultSet.getInt("user_id"), resultSet.getString("username"),
+							resultSet.getString("gender"), resultSet.getString("mobile_number"),
+							resultSet.getString("date_of_birth"), resultSet.getString("email"),
+							resultSet.getInt("is_seller"), resultSet.getString("created_at"),
+							resultSet.getString("modified_at"), resultSet.getInt("is_deleted")));
+				}
+			}
+		} catch (SQLException | DatabaseException e) {
+			throw new DAOException(UserModuleConstants.LIST_USERS_ERROR_MESSAGE + e);
+		}
+		return users;
+	}
+
+	// the creation time of a user, or null if there is no such user
+	private static Timestamp getCreatedAt(Connection connection, int userId) throws SQLException {
+		try (PreparedStatement pst = connection.prepareStatement(UserModuleConstants.USER_CREATED_AT_QUERY)) {
+			pst.setInt(1, userId);
+			try (ResultSet resultSet = pst.executeQuery()) {
+				return resultSet.next() ? resultSet.getTimestamp("created_at") : null;
+			}
+		}
+	}
+
+	/**
+	 * Retrieves a list of all users from the database, with legacy inline
+	 * avatars left null. For the admin console use the paged
+	 * {@link #getUsersPage(UserListFilter, int, int)} instead.
 	 *
 	 * @return A list of User objects representing all users.
 	 * @throws SQLException If an SQL error occurs during the retrieval process.
@@ -383,7 +724,7 @@ public class UserDAO {
         User user1 = null;
         try (Connection connection = ConnectionUtil.getConnection();
         		Statement statement = connection.createStatement();) {
-            String query = "SELECT * FROM freshstocks";
+            String query = "SELECT " + UserModuleConstants.USER_COLUMNS_SQL + " FROM freshstocks";
             ResultSet resultSet = statement.executeQuery(query);
 
             while (resultSet.next()) {
@@ -392,7 +733,7 @@ public class UserDAO {
 				String gender = resultSet.getString("gender");
 				String mobileNumber = resultSet.getString("mobile_number");
 				String dateOfBirth = resultSet.getString("date_of_birth");
-				String profilePic = resultSet.getString("avatar_url");
+				String profilePic = resultSet.getString(UserModuleConstants.AVATAR_REF_COLUMN_NAME);
 				String userEmail = resultSet.getString("email");
 				String password = resultSet.getString("password");
 				int isSeller = resultSet.getInt("is_seller");
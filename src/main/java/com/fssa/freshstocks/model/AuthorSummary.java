@@ -0,0 +1,35 @@
+package com.fssa.freshstocks.model;
+
+public class AuthorSummary {
+
+	// Fields
+	private int userId;
+	private String username;
+	private String userProfile;
+
+	/**
+	 * Creates the display data shown next to a comment for its author.
+	 *
+	 * @param userId      The ID of the user.
+	 * @param username    The username of the user.
+	 * @param userProfile The avatar of the user.
+	 */
+	public AuthorSummary(int userId, String username, String userProfile) {
+		this.userId = userId;
+		this.username = username;
+		this.userProfile = userProfile;
+	}
+
+	// Getters
+	public int getUserId() {
+		return userId;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public String getUserProfile() {
+		return userProfile;
+	}
+}
@@ -0,0 +1,60 @@
+package com.fssa.freshstocks.model;
+
+public class Avatar {
+
+	// Fields
+	private String hash;
+	private String contentType;
+	private byte[] content;
+
+	/**
+	 * Creates an avatar read from the avatar store.
+	 *
+	 * @param hash        The SHA-256 of the content, in hex.
+	 * @param contentType The media type of the image, or null when the content
+	 *                    was not sent because the client copy is current.
+	 * @param content     The image bytes, or null when not modified.
+	 */
+	public Avatar(String hash, String contentType, byte[] content) {
+		this.hash = hash;
+		this.contentType = contentType;
+		this.content = content;
+	}
+
+	// Getters
+	public String getHash() {
+		return hash;
+	}
+
+	/**
+	 * @return The strong HTTP validator for this avatar. The content never
+	 *         changes for a given hash, so the hash itself is the ETag.
+	 */
+	public String getETag() {
+		return "\"" + hash + "\"";
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public byte[] getContent() {
+		return content;
+	}
+
+	/**
+	 * @return The Content-Disposition to serve the avatar with: "inline" for a
+	 *         recognised raster image, "attachment" for anything else, so
+	 *         unexpected content is downloaded rather than rendered.
+	 */
+	public String getContentDisposition() {
+		return contentType != null && contentType.startsWith("image/") ? "inline" : "attachment";
+	}
+
+	/**
+	 * @return True if the client's cached copy matched and no content was read.
+	 */
+	public boolean isNotModified() {
+		return content == null;
+	}
+}
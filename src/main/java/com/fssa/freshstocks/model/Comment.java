@@ -1,5 +1,7 @@
 package com.fssa.freshstocks.model;
 
+import java.sql.Timestamp;
+
 public class Comment {
 
 	// Fields
@@ -11,6 +13,7 @@ public class Comment {
 	private String coursename;
 	private String userProfile;
 	private String createdTime;
+	private Timestamp createdAt;
 
 	// Constructors
 
@@ -48,6 +51,24 @@ public class Comment {
 		this.createdTime = createdTime;
 	}
 
+	/**
+	 * Constructor for a listed comment with its author and course resolved.
+	 *
+	 * @param commentId   The ID of the comment.
+	 * @param courseId    The ID of the course the comment is related to.
+	 * @param userId      The ID of the user who posted the comment.
+	 * @param username    The username of the user who posted the comment.
+	 * @param userProfile The avatar of the user who posted the comment.
+	 * @param coursename  The name of the course the comment is related to.
+	 * @param commentBody The content of the comment.
+	 * @param createdTime How long ago the comment was posted.
+	 */
+	public Comment(int commentId, int courseId, int userId, String username, String userProfile, String coursename,
+			String commentBody, String createdTime) {
+		this(commentId, userId, username, userProfile, coursename, commentBody, createdTime);
+		this.courseId = courseId;
+	}
+
 	/**
 	 * Constructor for creating a comment with comment ID, course ID, user ID, and
 	 * comment body.
@@ -64,6 +85,23 @@ public class Comment {
 		this.commentBody = comment;
 	}
 
+	/**
+	 * Constructor for a listed comment row, before its author is resolved.
+	 *
+	 * @param commentId   The ID of the comment.
+	 * @param courseId    The ID of the course the comment is related to.
+	 * @param userId      The ID of the user who posted the comment.
+	 * @param commentBody The content of the comment.
+	 * @param createdAt   The raw time the comment was posted.
+	 */
+	public Comment(int commentId, int courseId, int userId, String commentBody, Timestamp createdAt) {
+		this.commentId = commentId;
+		this.courseId = courseId;
+		this.userId = userId;
+		this.commentBody = commentBody;
+		this.createdAt = createdAt;
+	}
+
 	/**
 	 * Constructor for updating a comment with comment ID, comment body.
 	 *
@@ -106,10 +144,18 @@ public class Comment {
 		return commentBody;
 	}
 	
+	public String getUsername() {
+		return username;
+	}
+
 	public String getUserProfile() {
 		return userProfile;
 	}
 
+	public String getCoursename() {
+		return coursename;
+	}
+
 	public int getCommentId() {
 		return commentId;
 	}
@@ -118,4 +164,8 @@ public class Comment {
 		return createdTime;
 	}
 
+	public Timestamp getCreatedAt() {
+		return createdAt;
+	}
+
 }
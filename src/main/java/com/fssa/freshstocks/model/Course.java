@@ -367,6 +367,10 @@ public class Course {
 	public int getCourseID() {
 		return courseID;
 	}
+
+	public void setCourseID(int courseID) {
+		this.courseID = courseID;
+	}
 	
 	public String getCourseVideo1() {
 		return courseVideo1;
@@ -0,0 +1,63 @@
+package com.fssa.freshstocks.model;
+
+import java.sql.Timestamp;
+
+public class CourseChange {
+
+	/**
+	 * What happened to a course since the watermark a change was read after.
+	 */
+	public enum Type {
+		CREATED, UPDATED, DELETED
+	}
+
+	// Fields
+	private int courseID;
+	private Type type;
+	private Course course;
+	private Timestamp createdAt;
+	private Timestamp modifiedAt;
+
+	/**
+	 * Creates the latest state of a course row.
+	 *
+	 * @param courseID   The ID of the course.
+	 * @param type       Whether the course was created, updated or deleted.
+	 * @param course     The catalog fields of the course, or null if it is
+	 *                   deleted.
+	 * @param createdAt  When the course was created.
+	 * @param modifiedAt When the row was last written.
+	 */
+	public CourseChange(int courseID, Type type, Course course, Timestamp createdAt, Timestamp modifiedAt) {
+		this.courseID = courseID;
+		this.type = type;
+		this.course = course;
+		this.createdAt = createdAt;
+		this.modifiedAt = modifiedAt;
+	}
+
+	// Getters
+	public int getCourseID() {
+		return courseID;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public Course getCourse() {
+		return course;
+	}
+
+	public boolean isDeleted() {
+		return type == Type.DELETED;
+	}
+
+	public Timestamp getCreatedAt() {
+		return createdAt;
+	}
+
+	public Timestamp getModifiedAt() {
+		return modifiedAt;
+	}
+}
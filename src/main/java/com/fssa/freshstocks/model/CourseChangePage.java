@@ -0,0 +1,37 @@
+package com.fssa.freshstocks.model;
+
+import java.util.List;
+
+public class CourseChangePage {
+
+	// Fields
+	private List<CourseChange> changes;
+	private CourseWatermark nextWatermark;
+	private boolean hasMore;
+
+	/**
+	 * Creates a page of the course change feed.
+	 *
+	 * @param changes       The changes, in feed order.
+	 * @param nextWatermark The watermark to ask for the following changes with.
+	 * @param hasMore       Whether more changes were already available.
+	 */
+	public CourseChangePage(List<CourseChange> changes, CourseWatermark nextWatermark, boolean hasMore) {
+		this.changes = changes;
+		this.nextWatermark = nextWatermark;
+		this.hasMore = hasMore;
+	}
+
+	// Getters
+	public List<CourseChange> getChanges() {
+		return changes;
+	}
+
+	public CourseWatermark getNextWatermark() {
+		return nextWatermark;
+	}
+
+	public boolean hasMore() {
+		return hasMore;
+	}
+}
@@ -0,0 +1,213 @@
+package com.fssa.freshstocks.model;
+
+import java.sql.Timestamp;
+
+import com.fssa.freshstocks.dao.exception.DAOException;
+
+public class CourseDetail {
+
+	/**
+	 * Reads one heavy column of a course.
+	 */
+	@FunctionalInterface
+	public interface ContentLoader {
+		String load(int courseID, String column) throws DAOException;
+	}
+
+	// the heavy columns, loaded on first access
+	public static final String COVER_IMAGE = "cover_image";
+	public static final String DESCRIPTION = "description";
+	public static final String COURSE_VIDEO1 = "courseVideo1";
+	public static final String COURSE_VIDEO2 = "courseVideo2";
+	public static final String COURSE_VIDEO3 = "courseVideo3";
+	private static final String[] CONTENT_COLUMNS = { COVER_IMAGE, DESCRIPTION, COURSE_VIDEO1, COURSE_VIDEO2,
+			COURSE_VIDEO3 };
+
+	// Fields
+	private int courseID;
+	private int userID;
+	private String name;
+	private String timing;
+	private String language;
+	private int markedPrice;
+	private int sellingPrice;
+	private String instructorName;
+	private String companyName;
+	private String companyCategory;
+	private String topSkills;
+	private String courseVideoName1;
+	private String courseVideoName2;
+	private String courseVideoName3;
+	private Timestamp createdAt;
+	private int version;
+	private final ContentLoader loader;
+	private final String[] content = new String[CONTENT_COLUMNS.length];
+	private final boolean[] loaded = new boolean[CONTENT_COLUMNS.length];
+
+	/**
+	 * Creates a course whose cover image, description and videos are read from
+	 * the database only when first asked for.
+	 *
+	 * @param courseID         The ID of the course.
+	 * @param userID           The ID of the seller.
+	 * @param name             The name of the course.
+	 * @param timing           The timing of the course.
+	 * @param language         The language of the course.
+	 * @param markedPrice      The marked price of the course.
+	 * @param sellingPrice     The selling price of the course.
+	 * @param instructorName   The name of the instructor.
+	 * @param companyName      The name of the company.
+	 * @param companyCategory  The category of the company.
+	 * @param topSkills        The top skills taught in the course.
+	 * @param courseVideoName1 The name of the first video.
+	 * @param courseVideoName2 The name of the second video.
+	 * @param courseVideoName3 The name of the third video.
+	 * @param createdAt        When the course was created.
+	 * @param version          The version of the course, to send back with an
+	 *                         edit.
+	 * @param loader           Reads a heavy column of the course.
+	 */
+	public CourseDetail(int courseID, int userID, String name, String timing, String language, int markedPrice,
+			int sellingPrice, String instructorName, String companyName, String companyCategory, String topSkills,
+			String courseVideoName1, String courseVideoName2, String courseVideoName3, Timestamp createdAt,
+			int version, ContentLoader loader) {
+		this.courseID = courseID;
+		this.userID = userID;
+		this.name = name;
+		this.timing = timing;
+		this.language = language;
+		this.markedPrice = markedPrice;
+		this.sellingPrice = sellingPrice;
+		this.instructorName = instructorName;
+		this.companyName = companyName;
+		this.companyCategory = companyCategory;
+		this.topSkills = topSkills;
+		this.courseVideoName1 = courseVideoName1;
+		this.courseVideoName2 = courseVideoName2;
+		this.courseVideoName3 = courseVideoName3;
+		this.createdAt = createdAt;
+		this.version = version;
+		this.loader = loader;
+	}
+
+	// Getters
+	public int getCourseID() {
+		return courseID;
+	}
+
+	public int getUserID() {
+		return userID;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getTiming() {
+		return timing;
+	}
+
+	public String getLanguage() {
+		return language;
+	}
+
+	public int getMarkedPrice() {
+		return markedPrice;
+	}
+
+	public int getSellingPrice() {
+		return sellingPrice;
+	}
+
+	public String getInstructorName() {
+		return instructorName;
+	}
+
+	public String getCompanyName() {
+		return companyName;
+	}
+
+	public String getCompanyCategory() {
+		return companyCategory;
+	}
+
+	public String getTopSkills() {
+		return topSkills;
+	}
+
+	public String getCourseVideoName1() {
+		return courseVideoName1;
+	}
+
+	public String getCourseVideoName2() {
+		return courseVideoName2;
+	}
+
+	public String getCourseVideoName3() {
+		return courseVideoName3;
+	}
+
+	public Timestamp getCreatedAt() {
+		return createdAt;
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	// Heavy getters: the first call of each reads its column
+	public String getCoverImage() throws DAOException {
+		return content(0);
+	}
+
+	public String getDescription() throws DAOException {
+		return content(1);
+	}
+
+	public String getCourseVideo1() throws DAOException {
+		return content(2);
+	}
+
+	public String getCourseVideo2() throws DAOException {
+		return content(3);
+	}
+
+	public String getCourseVideo3() throws DAOException {
+		return content(4);
+	}
+
+	/**
+	 * @param column One of the heavy column names of this class.
+	 * @return Whether the column was already read.
+	 */
+	public synchronized boolean isLoaded(String column) {
+		for (int i = 0; i < CONTENT_COLUMNS.length; i++) {
+			if (CONTENT_COLUMNS[i].equals(column)) {
+				return loaded[i];
+			}
+		}
+		throw new IllegalArgumentException("Not a lazy column: " + column);
+	}
+
+	/**
+	 * Reads all heavy columns into a full Course. Each unread column costs a
+	 * query, so callers that need everything up front should read the full
+	 * course instead.
+	 *
+	 * @return The course with its cover image, description and videos.
+	 * @throws DAOException If a column could not be read.
+	 */
+	public Course toCourse() throws DAOException {
+		return new Course(name, getCoverImage(), timing, language, markedPrice, sellingPrice, getDescription(),
+				instructorName, companyName, companyCategory, topSkills, userID, courseID, getCourseVideo1(),
+				getCourseVideo2(), getCourseVideo3(), courseVideoName1, courseVideoName2, courseVideoName3);
+	}
+
+	private synchronized String content(int index) throws DAOException {
+		if (!loaded[index]) {
+			content[index] = loader.load(courseID, CONTENT_COLUMNS[index]);
+			loaded[index] = true;
+		}
+		return content[index];
+	}
+}
@@ -0,0 +1,39 @@
+package com.fssa.freshstocks.model;
+
+import java.util.List;
+import java.util.Map;
+
+public class CourseFacetPage {
+
+	// Fields
+	private List<Course> courses;
+	private int totalCount;
+	private Map<String, Map<String, Integer>> facetCounts;
+
+	/**
+	 * Creates a page of filtered catalog results.
+	 *
+	 * @param courses     The courses on the page, newest first.
+	 * @param totalCount  The number of courses matching the filter.
+	 * @param facetCounts For each facet, the number of courses per value with
+	 *                    the other facets' filters applied.
+	 */
+	public CourseFacetPage(List<Course> courses, int totalCount, Map<String, Map<String, Integer>> facetCounts) {
+		this.courses = courses;
+		this.totalCount = totalCount;
+		this.facetCounts = facetCounts;
+	}
+
+	// Getters
+	public List<Course> getCourses() {
+		return courses;
+	}
+
+	public int getTotalCount() {
+		return totalCount;
+	}
+
+	public Map<String, Map<String, Integer>> getFacetCounts() {
+		return facetCounts;
+	}
+}
@@ -0,0 +1,52 @@
+package com.fssa.freshstocks.model;
+
+import java.util.Collections;
+import java.util.Set;
+
+public class CourseFilter {
+
+	// Fields; an empty set means "any"
+	private Set<String> languages;
+	private Set<String> companyCategories;
+	private Set<String> priceBands;
+	private Set<String> timings;
+
+	/**
+	 * Creates a catalog filter. A course matches if, for every facet with
+	 * selected values, it has one of them.
+	 *
+	 * @param languages         The selected languages, or null.
+	 * @param companyCategories The selected company categories, or null.
+	 * @param priceBands        The selected selling price bands, as returned in
+	 *                          the facet counts, or null.
+	 * @param timings           The selected timings, or null.
+	 */
+	public CourseFilter(Set<String> languages, Set<String> companyCategories, Set<String> priceBands,
+			Set<String> timings) {
+		this.languages = orEmpty(languages);
+		this.companyCategories = orEmpty(companyCategories);
+		this.priceBands = orEmpty(priceBands);
+		this.timings = orEmpty(timings);
+	}
+
+	private static Set<String> orEmpty(Set<String> values) {
+		return values == null ? Collections.emptySet() : values;
+	}
+
+	// Getters
+	public Set<String> getLanguages() {
+		return languages;
+	}
+
+	public Set<String> getCompanyCategories() {
+		return companyCategories;
+	}
+
+	public Set<String> getPriceBands() {
+		return priceBands;
+	}
+
+	public Set<String> getTimings() {
+		return timings;
+	}
+}
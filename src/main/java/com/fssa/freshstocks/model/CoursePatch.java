@@ -0,0 +1,175 @@
+package com.fssa.freshstocks.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.fssa.freshstocks.constants.CourseModuleConstants;
+
+/**
+ * The changed fields of a course edit. Only the columns set on the patch are
+ * written, so a price edit does not rewrite the description or the videos.
+ * Video columns are written only when replaced with
+ * {@link #replaceVideo(int, String, String)}.
+ */
+public class CoursePatch {
+
+	private static final String[] VIDEO_COLUMNS = { CourseModuleConstants.COLUMN_COURSE_VIDEO1,
+			CourseModuleConstants.COLUMN_COURSE_VIDEO2, CourseModuleConstants.COLUMN_COURSE_VIDEO3 };
+	private static final String[] VIDEO_NAME_COLUMNS = { CourseModuleConstants.COLUMN_COURSE_VIDEO_NAME1,
+			CourseModuleConstants.COLUMN_COURSE_VIDEO_NAME2, CourseModuleConstants.COLUMN_COURSE_VIDEO_NAME3 };
+
+	// Fields
+	private int courseID;
+	// changed columns and their new values, in the order they were set
+	private final Map<String, Object> changes = new LinkedHashMap<>();
+
+	/**
+	 * Creates an empty patch of a course.
+	 *
+	 * @param courseID The ID of the course to be updated.
+	 */
+	public CoursePatch(int courseID) {
+		this.courseID = courseID;
+	}
+
+	/**
+	 * Creates the patch that turns one state of a course into another. The
+	 * catalog fields and the video names are compared; videos are not, and must
+	 * be replaced explicitly.
+	 *
+	 * @param courseID The ID of the course.
+	 * @param before   The course as stored.
+	 * @param after    The course as edited.
+	 * @return The patch of the fields that differ.
+	 */
+	public static CoursePatch between(int courseID, Course before, Course after) {
+		CoursePatch patch = new CoursePatch(courseID);
+		patch.setIfChanged(CourseModuleConstants.COLUMN_COVER_IMAGE, before.getCoverImage(), after.getCoverImage());
+		patch.setIfChanged(CourseModuleConstants.COLUMN_TIMING, before.getTiming(), after.getTiming());
+		patch.setIfChanged(CourseModuleConstants.COLUMN_LANGUAGE, before.getLanguage(), after.getLanguage());
+		patch.setIfChanged(CourseModuleConstants.COLUMN_MARKED_PRICE, before.getMarkedPrice(), after.getMarkedPrice());
+		patch.setIfChanged(CourseModuleConstants.COLUMN_SELLING_PRICE, before.getSellingPrice(),
+				after.getSellingPrice());
+		patch.setIfChanged(CourseModuleConstants.COLUMN_DESCRIPTION, before.getDescription(), after.getDescription());
+		patch.setIfChanged(CourseModuleConstants.COLUMN_INSTRUCTOR_NAME, before.getInstructorName(),
+				after.getInstructorName());
+		patch.setIfChanged(CourseModuleConstants.COLUMN_COMPANY_NAME, before.getCompanyName(), after.getCompanyName());
+		patch.setIfChanged(CourseModuleConstants.COLUMN_COMPANY_CATEGORY, before.getCompanyCategory(),
+				after.getCompanyCategory());
+		patch.setIfChanged(CourseModuleConstants.COLUMN_TOP_SKILLS, before.getTopSkills(), after.getTopSkills());
+		patch.setIfChanged(CourseModuleConstants.COLUMN_COURSE_VIDEO_NAME1, before.getCourseVideoName1(),
+				after.getCourseVideoName1());
+		patch.setIfChanged(CourseModuleConstants.COLUMN_COURSE_VIDEO_NAME2, before.getCourseVideoName2(),
+				after.getCourseVideoName2());
+		patch.setIfChanged(CourseModuleConstants.COLUMN_COURSE_VIDEO_NAME3, before.getCourseVideoName3(),
+				after.getCourseVideoName3());
+		return patch;
+	}
+
+	// Setters: each marks its column as changed
+	public void setCoverImage(String coverImage) {
+		changes.put(CourseModuleConstants.COLUMN_COVER_IMAGE, coverImage);
+	}
+
+	public void setTiming(String timing) {
+		changes.put(CourseModuleConstants.COLUMN_TIMING, timing);
+	}
+
+	public void setLanguage(String language) {
+		changes.put(CourseModuleConstants.COLUMN_LANGUAGE, language);
+	}
+
+	public void setMarkedPrice(int markedPrice) {
+		changes.put(CourseModuleConstants.COLUMN_MARKED_PRICE, markedPrice);
+	}
+
+	public void setSellingPrice(int sellingPrice) {
+		changes.put(CourseModuleConstants.COLUMN_SELLING_PRICE, sellingPrice);
+	}
+
+	public void setDescription(String description) {
+		changes.put(CourseModuleConstants.COLUMN_DESCRIPTION, description);
+	}
+
+	public void setInstructorName(String instructorName) {
+		changes.put(CourseModuleConstants.COLUMN_INSTRUCTOR_NAME, instructorName);
+	}
+
+	public void setCompanyName(String companyName) {
+		changes.put(CourseModuleConstants.COLUMN_COMPANY_NAME, companyName);
+	}
+
+	public void setCompanyCategory(String companyCategory) {
+		changes.put(CourseModuleConstants.COLUMN_COMPANY_CATEGORY, companyCategory);
+	}
+
+	public void setTopSkills(String topSkills) {
+		changes.put(CourseModuleConstants.COLUMN_TOP_SKILLS, topSkills);
+	}
+
+	/**
+	 * Renames a video without replacing it.
+	 *
+	 * @param number    The number of the video, from 1 to 3.
+	 * @param videoName The new name of the video.
+	 */
+	public void setCourseVideoName(int number, String videoName) {
+		changes.put(VIDEO_NAME_COLUMNS[videoIndex(number)], videoName);
+	}
+
+	/**
+	 * Replaces a video and its name.
+	 *
+	 * @param number    The number of the video, from 1 to 3.
+	 * @param video     The new video.
+	 * @param videoName The name of the new video.
+	 */
+	public void replaceVideo(int number, String video, String videoName) {
+		int index = videoIndex(number);
+		changes.put(VIDEO_COLUMNS[index], video);
+		changes.put(VIDEO_NAME_COLUMNS[index], videoName);
+	}
+
+	// Getters
+	public int getCourseID() {
+		return courseID;
+	}
+
+	/**
+	 * @return The changed columns and their new values, in the order they were
+	 *         set.
+	 */
+	public Map<String, Object> getChanges() {
+		return Collections.unmodifiableMap(changes);
+	}
+
+	/**
+	 * @param column A column of the course table.
+	 * @return Whether the patch writes the column.
+	 */
+	public boolean isChanged(String column) {
+		return changes.containsKey(column);
+	}
+
+	/**
+	 * @return Whether the patch writes no column.
+	 */
+	public boolean isEmpty() {
+		return changes.isEmpty();
+	}
+
+	private void setIfChanged(String column, Object before, Object after) {
+		if (!Objects.equals(before, after)) {
+			changes.put(column, after);
+		}
+	}
+
+	private static int videoIndex(int number) {
+		if (number < 1 || number > VIDEO_COLUMNS.length) {
+			throw new IllegalArgumentException("Video number must be between 1 and " + VIDEO_COLUMNS.length + ": " + number);
+		}
+		return number - 1;
+	}
+}
@@ -0,0 +1,40 @@
+package com.fssa.freshstocks.model;
+
+public class CourseSuggestion {
+
+	// Fields
+	private int courseID;
+	private String name;
+	private long purchaseCount;
+
+	/**
+	 * Creates an autocomplete suggestion.
+	 *
+	 * @param courseID      The ID of the suggested course.
+	 * @param name          The course name.
+	 * @param purchaseCount How many users bought the course, used for ranking.
+	 */
+	public CourseSuggestion(int courseID, String name, long purchaseCount) {
+		this.courseID = courseID;
+		this.name = name;
+		this.purchaseCount = purchaseCount;
+	}
+
+	// Getters
+	public int getCourseID() {
+		return courseID;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getPurchaseCount() {
+		return purchaseCount;
+	}
+
+	@Override
+	public String toString() {
+		return "CourseSuggestion [courseID=" + courseID + ", name=" + name + ", purchaseCount=" + purchaseCount + "]";
+	}
+}
@@ -0,0 +1,19 @@
+package com.fssa.freshstocks.model;
+
+/**
+ * The outcome of a course edit.
+ */
+public enum CourseUpdateResult {
+	/** The edit was written and the course moved to the next version. */
+	UPDATED,
+	/** The course was changed since the edit's version; nothing was written. */
+	CONFLICT,
+	/** The course does not exist or is deleted. */
+	NOT_FOUND,
+	/**
+	 * The edit would leave the selling price at or above the marked price;
+	 * nothing was written. {@link com.fssa.freshstocks.services.CourseService}
+	 * reports it as an invalid course.
+	 */
+	INVALID_PRICE
+}
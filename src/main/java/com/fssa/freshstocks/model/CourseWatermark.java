@@ -0,0 +1,109 @@
+package com.fssa.freshstocks.model;
+
+import java.sql.Timestamp;
+import java.util.Objects;
+
+public class CourseWatermark {
+
+	// Fields
+	private Timestamp modifiedAt;
+	private int courseID;
+
+	/**
+	 * Creates a position in the course change feed: the changes after it are
+	 * those modified later, or at the same time on a higher course ID.
+	 *
+	 * @param modifiedAt The modification time of the last change seen.
+	 * @param courseID   The course ID of the last change seen.
+	 */
+	public CourseWatermark(Timestamp modifiedAt, int courseID) {
+		this.modifiedAt = Objects.requireNonNull(modifiedAt, "modifiedAt is null.");
+		this.courseID = courseID;
+	}
+
+	/**
+	 * @return The position before every change.
+	 */
+	public static CourseWatermark initial() {
+		return new CourseWatermark(new Timestamp(0), 0);
+	}
+
+	/**
+	 * Reads a watermark from the form returned by {@link #toString()}.
+	 *
+	 * @param token The watermark token.
+	 * @return The watermark.
+	 * @throws IllegalArgumentException If the token is malformed.
+	 */
+	public static CourseWatermark parse(String token) {
+		int separator = token == null ? -1 : token.indexOf('-');
+		if (separator <= 0) {
+			throw new IllegalArgumentException("Malformed watermark: " + token);
+		}
+		try {
+			return new CourseWatermark(new Timestamp(Long.parseLong(token.substring(0, separator))),
+					Integer.parseInt(token.substring(separator + 1)));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Malformed watermark: " + token, e);
+		}
+	}
+
+	// Getters
+	public Timestamp getModifiedAt() {
+		return modifiedAt;
+	}
+
+	public int getCourseID() {
+		return courseID;
+	}
+
+	/**
+	 * Tells whether a row written at a time, on a course, comes after this
+	 * watermark in the change feed.
+	 *
+	 * @param time     The modification time of the row.
+	 * @param courseID The course ID of the row.
+	 * @return true if the row is after the watermark.
+	 */
+	public boolean isBefore(Timestamp time, int courseID) {
+		int compare = time.compareTo(modifiedAt);
+		return compare > 0 || (compare == 0 && courseID > this.courseID);
+	}
+
+	/**
+	 * Returns the position a given time before this one, ahead of every change
+	 * made at that time, so the changes since then are read again.
+	 *
+	 * @param millis The time to go back, in milliseconds.
+	 * @return The earlier watermark, never before {@link #initial()}.
+	 */
+	public CourseWatermark rewind(long millis) {
+		return new CourseWatermark(new Timestamp(Math.max(modifiedAt.getTime() - millis, 0)), 0);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof CourseWatermark)) {
+			return false;
+		}
+		CourseWatermark other = (CourseWatermark) obj;
+		return courseID == other.courseID && modifiedAt.equals(other.modifiedAt);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(modifiedAt, courseID);
+	}
+
+	/**
+	 * @return The watermark as an opaque token for clients, e.g.
+	 *         "1718000000000-42".
+	 */
+	@Override
+	public String toString() {
+		return modifiedAt.getTime() + "-" + courseID;
+	}
+}
@@ -0,0 +1,41 @@
+package com.fssa.freshstocks.model;
+
+public class UserImportError {
+
+	// Fields
+	private int lineNumber;
+	private String email;
+	private String message;
+
+	/**
+	 * Creates the report entry of a CSV row that was not imported.
+	 *
+	 * @param lineNumber The line of the row in the CSV, starting at 1 for the
+	 *                   header.
+	 * @param email      The email on the row, or null if it could not be read.
+	 * @param message    Why the row was not imported.
+	 */
+	public UserImportError(int lineNumber, String email, String message) {
+		this.lineNumber = lineNumber;
+		this.email = email;
+		this.message = message;
+	}
+
+	// Getters
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	@Override
+	public String toString() {
+		return "Line " + lineNumber + (email != null ? " (" + email + ")" : "") + ": " + message;
+	}
+}
@@ -0,0 +1,49 @@
+package com.fssa.freshstocks.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+public class UserImportReport {
+
+	// Fields
+	private int importedCount;
+	private final List<UserImportError> errors = new ArrayList<>();
+
+	/**
+	 * Counts users that were inserted.
+	 *
+	 * @param count The number of users inserted.
+	 */
+	public void addImported(int count) {
+		importedCount += count;
+	}
+
+	/**
+	 * Records a row that was not imported.
+	 *
+	 * @param error The reason, with the line number of the row.
+	 */
+	public void addError(UserImportError error) {
+		errors.add(error);
+	}
+
+	// Getters
+	public int getImportedCount() {
+		return importedCount;
+	}
+
+	public int getFailedCount() {
+		return errors.size();
+	}
+
+	/**
+	 * @return The rows that were not imported, in line order.
+	 */
+	public List<UserImportError> getErrors() {
+		List<UserImportError> sorted = new ArrayList<>(errors);
+		sorted.sort(Comparator.comparingInt(UserImportError::getLineNumber));
+		return Collections.unmodifiableList(sorted);
+	}
+}
@@ -0,0 +1,45 @@
+package com.fssa.freshstocks.model;
+
+import java.sql.Timestamp;
+
+public class UserListFilter {
+
+	// Fields; null means "any"
+	private Integer isSeller;
+	private Integer isDeleted;
+	private Timestamp createdFrom;
+	private Timestamp createdBefore;
+
+	/**
+	 * Creates a filter for the admin user listing.
+	 *
+	 * @param isSeller      1 for sellers only, 0 for buyers only, or null.
+	 * @param isDeleted     1 for deleted users only, 0 for active only, or null.
+	 * @param createdFrom   The earliest creation time included, or null.
+	 * @param createdBefore The creation time from which users are excluded, or
+	 *                      null.
+	 */
+	public UserListFilter(Integer isSeller, Integer isDeleted, Timestamp createdFrom, Timestamp createdBefore) {
+		this.isSeller = isSeller;
+		this.isDeleted = isDeleted;
+		this.createdFrom = createdFrom;
+		this.createdBefore = createdBefore;
+	}
+
+	// Getters
+	public Integer getIsSeller() {
+		return isSeller;
+	}
+
+	public Integer getIsDeleted() {
+		return isDeleted;
+	}
+
+	public Timestamp getCreatedFrom() {
+		return createdFrom;
+	}
+
+	public Timestamp getCreatedBefore() {
+		return createdBefore;
+	}
+}
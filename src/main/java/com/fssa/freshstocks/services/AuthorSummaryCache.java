@@ -0,0 +1,80 @@
+package com.fssa.freshstocks.services;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.fssa.freshstocks.dao.UserDAO;
+import com.fssa.freshstocks.dao.exception.DAOException;
+import com.fssa.freshstocks.model.AuthorSummary;
+import com.fssa.freshstocks.utils.LruCache;
+
+/**
+ * Shared cache of comment author display data (username and avatar), so a
+ * comment page only loads the authors it has not seen recently, and loads them
+ * with one query.
+ */
+public class AuthorSummaryCache {
+
+	private static final int MAX_AUTHORS = 5000;
+	private static final long TTL_MILLIS = 5L * 60 * 1000;
+
+	private static final LruCache<Integer, AuthorSummary> CACHE = new LruCache<>(MAX_AUTHORS, TTL_MILLIS);
+
+	// Private constructor to prevent instantiation
+	private AuthorSummaryCache() {
+		// Do nothing (empty constructor)
+	}
+
+	/**
+	 * Resolves the author summaries for the given users, fetching every missing
+	 * author with a single multi-get.
+	 *
+	 * @param userIds The user IDs of the authors on a page.
+	 * @return A map from user ID to author summary.
+	 * @throws DAOException If the missing authors could not be loaded.
+	 */
+	public static Map<Integer, AuthorSummary> getAll(Iterable<Integer> userIds) throws DAOException {
+		Map<Integer, AuthorSummary> result = new HashMap<>();
+		Set<Integer> missing = new LinkedHashSet<>();
+
+		for (Integer userId : userIds) {
+			if (result.containsKey(userId) || missing.contains(userId)) {
+				continue;
+			}
+			AuthorSummary summary = CACHE.get(userId);
+			if (summary != null) {
+				result.put(userId, summary);
+			} else {
+				missing.add(userId);
+			}
+		}
+
+		if (!missing.isEmpty()) {
+			Map<Integer, AuthorSummary> loaded = new UserDAO().getAuthorSummaries(missing);
+			for (AuthorSummary summary : loaded.values()) {
+				CACHE.put(summary.getUserId(), summary);
+			}
+			result.putAll(loaded);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Drops a single author, e.g. after their profile changed.
+	 *
+	 * @param userId The user ID to evict.
+	 */
+	public static void invalidate(int userId) {
+		CACHE.remove(userId);
+	}
+
+	/**
+	 * Drops every cached author.
+	 */
+	public static void invalidateAll() {
+		CACHE.clear();
+	}
+}
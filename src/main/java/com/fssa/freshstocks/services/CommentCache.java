@@ -0,0 +1,120 @@
+package com.fssa.freshstocks.services;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fssa.freshstocks.constants.CommentModuleConstants;
+import com.fssa.freshstocks.model.Comment;
+import com.fssa.freshstocks.utils.LruCache;
+
+/**
+ * Bounded per-course cache of the first comment pages.
+ *
+ * Entries hold raw comment rows (author IDs and created timestamps) and the
+ * course name, so author data and the "x minutes ago" text are resolved when
+ * the comments are read.
+ * Writers invalidate the course; a generation counter stops a read that raced
+ * with a write from storing rows loaded before that write.
+ */
+public class CommentCache {
+
+	/**
+	 * Number of comment rows kept per course.
+	 */
+	public static final int CACHED_ROWS = CommentModuleConstants.COMMENT_PAGE_SIZE
+			* CommentModuleConstants.CACHED_COMMENT_PAGES;
+
+	private static final LruCache<Integer, CourseComments> CACHE = new LruCache<>(
+			CommentModuleConstants.MAX_CACHED_COURSES, 0);
+	private static final AtomicLong GENERATION = new AtomicLong();
+
+	// Private constructor to prevent instantiation
+	private CommentCache() {
+		// Do nothing (empty constructor)
+	}
+
+	/**
+	 * Cached comment rows of one course.
+	 */
+	public static final class CourseComments {
+		private final String courseName;
+		private final List<Comment> rows;
+		private final boolean complete;
+
+		private CourseComments(String courseName, List<Comment> rows, boolean complete) {
+			this.courseName = courseName;
+			this.rows = Collections.unmodifiableList(rows);
+			this.complete = complete;
+		}
+
+		/**
+		 * @return The name of the course, or null if it does not exist.
+		 */
+		public String getCourseName() {
+			return courseName;
+		}
+
+		/**
+		 * @return The first cached comment rows of the course, oldest first.
+		 */
+		public List<Comment> getRows() {
+			return rows;
+		}
+
+		/**
+		 * @return {@code true} if the rows are every comment of the course.
+		 */
+		public boolean isComplete() {
+			return complete;
+		}
+	}
+
+	/**
+	 * Returns the cached rows of a course, or null if the course is not cached.
+	 *
+	 * @param courseId The ID of the course.
+	 * @return The cached comments, or null.
+	 */
+	public static CourseComments get(int courseId) {
+		return CACHE.get(courseId);
+	}
+
+	/**
+	 * Reads the generation to pass to {@link #put} before loading rows.
+	 *
+	 * @return The current cache generation.
+	 */
+	public static long generation() {
+		return GENERATION.get();
+	}
+
+	/**
+	 * Caches the leading rows of a course unless a write happened since the rows
+	 * were loaded.
+	 *
+	 * @param courseId   The ID of the course.
+	 * @param courseName The name of the course; course names never change.
+	 * @param rows       The rows read from the database, oldest first.
+	 * @param complete   Whether the rows are every comment of the course.
+	 * @param generation The value of {@link #generation()} read before loading.
+	 */
+	public static synchronized void put(int courseId, String courseName, List<Comment> rows, boolean complete,
+			long generation) {
+		if (GENERATION.get() != generation) {
+			return;
+		}
+		List<Comment> kept = rows.size() > CACHED_ROWS ? rows.subList(0, CACHED_ROWS) : rows;
+		CACHE.put(courseId, new CourseComments(courseName, List.copyOf(kept), complete && rows.size() <= CACHED_ROWS));
+	}
+
+	/**
+	 * Drops the cached comments of a course after a write.
+	 *
+	 * @param courseId The ID of the course.
+	 */
+	public static synchronized void invalidate(int courseId) {
+		GENERATION.incrementAndGet();
+		CACHE.remove(courseId);
+	}
+}
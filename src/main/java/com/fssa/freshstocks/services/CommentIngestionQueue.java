@@ -0,0 +1,196 @@
+package com.fssa.freshstocks.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.fssa.freshstocks.constants.CommentModuleConstants;
+import com.fssa.freshstocks.dao.CommentDAO;
+import com.fssa.freshstocks.dao.exception.DAOException;
+import com.fssa.freshstocks.model.Comment;
+import com.fssa.freshstocks.services.exception.ServiceException;
+
+/**
+ * Bounded queue of validated comments drained by a single writer thread that
+ * inserts them with JDBC batching, so comment floods turn into a few batched
+ * inserts instead of one connection per comment. If a batch fails, its
+ * comments are retried one by one so a single bad comment (e.g. on a deleted
+ * course) does not reject its neighbours; each comment that still fails
+ * carries its own cause.
+ */
+public class CommentIngestionQueue {
+
+	/**
+	 * Writes one batch of comments and returns the update count of each.
+	 */
+	@FunctionalInterface
+	interface BatchWriter {
+		int[] write(List<Comment> comments) throws DAOException;
+	}
+
+	private static final long POLL_INTERVAL_MILLIS = 100;
+
+	private static CommentIngestionQueue instance;
+
+	private final BlockingQueue<PendingComment> queue;
+	private final BatchWriter writer;
+	private final int batchSize;
+	private final Thread writerThread;
+	private volatile boolean running = true;
+
+	/**
+	 * Creates a queue and starts its writer thread.
+	 *
+	 * @param capacity  The maximum number of comments waiting to be written.
+	 * @param batchSize The maximum number of comments written per batch.
+	 * @param writer    Writes one batch of comments.
+	 */
+	CommentIngestionQueue(int capacity, int batchSize, BatchWriter writer) {
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.batchSize = batchSize;
+		this.writer = writer;
+		this.writerThread = new Thread(this::drain, "comment-ingestion-writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	/**
+	 * Returns the shared queue writing through {@link CommentDAO}.
+	 *
+	 * @return The shared ingestion queue.
+	 */
+	public static synchronized CommentIngestionQueue getInstance() {
+		if (instance == null) {
+			instance = new CommentIngestionQueue(CommentModuleConstants.INGESTION_QUEUE_CAPACITY,
+					CommentModuleConstants.INGESTION_BATCH_SIZE, comments -> new CommentDAO().createComments(comments));
+			Runtime.getRuntime().addShutdownHook(new Thread(instance::shutdown, "comment-ingestion-shutdown"));
+		}
+		return instance;
+	}
+
+	/**
+	 * Queues a validated comment for writing. When the queue is full the caller
+	 * waits briefly and is then rejected, so producers slow down instead of
+	 * piling up work.
+	 *
+	 * @param comment The validated comment.
+	 * @return A future completed with {@code true} once the comment is stored.
+	 * @throws ServiceException If the queue stays full or is shut down.
+	 */
+	public CompletableFuture<Boolean> submit(Comment comment) throws ServiceException {
+		if (!running) {
+			throw new ServiceException(CommentModuleConstants.INGESTION_QUEUE_SHUT_DOWN_MESSAGE);
+		}
+		PendingComment pending = new PendingComment(comment);
+		try {
+			if (!queue.offer(pending, CommentModuleConstants.INGESTION_OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+				throw new ServiceException(CommentModuleConstants.INGESTION_QUEUE_FULL_MESSAGE);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ServiceException(e);
+		}
+		// the writer may have stopped between the check and the offer; if nobody
+		// took the comment yet, take it back, otherwise its taker completes it
+		if (!running && queue.remove(pending)) {
+			throw new ServiceException(CommentModuleConstants.INGESTION_QUEUE_SHUT_DOWN_MESSAGE);
+		}
+		return pending.future;
+	}
+
+	/**
+	 * @return The number of comments waiting to be written.
+	 */
+	public int getQueueDepth() {
+		return queue.size();
+	}
+
+	/**
+	 * Stops accepting comments and waits for the queued ones to be written. If
+	 * the writer thread stopped early, the comments still queued are failed.
+	 */
+	public void shutdown() {
+		running = false;
+		try {
+			writerThread.join(TimeUnit.SECONDS.toMillis(10));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (!writerThread.isAlive()) {
+			List<PendingComment> remaining = new ArrayList<>();
+			queue.drainTo(remaining);
+			for (PendingComment pending : remaining) {
+				pending.future.completeExceptionally(
+						new ServiceException(CommentModuleConstants.INGESTION_QUEUE_SHUT_DOWN_MESSAGE));
+			}
+		}
+	}
+
+	private void drain() {
+		List<PendingComment> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				PendingComment first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			queue.drainTo(batch, batchSize - batch.size());
+			write(batch);
+			batch.clear();
+		}
+	}
+
+	private void write(List<PendingComment> batch) {
+		List<Comment> comments = new ArrayList<>(batch.size());
+		for (PendingComment pending : batch) {
+			comments.add(pending.comment);
+		}
+
+		Set<Integer> courses = new HashSet<>();
+		try {
+			int[] counts = writer.write(comments);
+			for (int i = 0; i < batch.size(); i++) {
+				courses.add(comments.get(i).getCourseId());
+				// drivers may report SUCCESS_NO_INFO (-2) for rows of a rewritten batch
+				batch.get(i).future.complete(counts[i] != 0);
+			}
+		} catch (DAOException | RuntimeException batchFailure) {
+			if (batch.size() == 1) {
+				batch.get(0).future.completeExceptionally(new ServiceException(batchFailure));
+				return;
+			}
+			for (PendingComment pending : batch) {
+				try {
+					int[] counts = writer.write(Collections.singletonList(pending.comment));
+					courses.add(pending.comment.getCourseId());
+					pending.future.complete(counts[0] != 0);
+				} catch (DAOException | RuntimeException e) {
+					pending.future.completeExceptionally(new ServiceException(e));
+				}
+			}
+		}
+		for (Integer courseId : courses) {
+			CommentCache.invalidate(courseId);
+		}
+	}
+
+	private static final class PendingComment {
+		private final Comment comment;
+		private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+		private PendingComment(Comment comment) {
+			this.comment = comment;
+		}
+	}
+}
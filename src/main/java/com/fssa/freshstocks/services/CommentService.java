@@ -1,10 +1,14 @@
 package com.fssa.freshstocks.services;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.fssa.freshstocks.constants.CommentModuleConstants;
 import com.fssa.freshstocks.dao.CommentDAO;
 import com.fssa.freshstocks.dao.exception.DAOException;
+import com.fssa.freshstocks.model.AuthorSummary;
 import com.fssa.freshstocks.model.Comment;
 import com.fssa.freshstocks.services.exception.ServiceException;
 import com.fssa.freshstocks.validation.CommentValidator;
@@ -23,15 +27,70 @@ public class CommentService {
 		try {
 			CommentDAO commentDAO = new CommentDAO();
 			CommentValidator.validateComment(comment);
-			return commentDAO.createComment(comment);
+			rejectNearDuplicate(comment);
+			boolean created = false;
+			try {
+				created = commentDAO.createComment(comment);
+			} finally {
+				if (!created) {
+					DuplicateCommentDetector.getInstance().forget(comment.getComment());
+				}
+			}
+			CommentCache.invalidate(comment.getCourseId());
+			return created;
 		} catch (DAOException | InvalidCommentException e) {
 			throw new ServiceException(e);
 		}
 	}
 
+	/**
+	 * Registers a comment asynchronously. The comment is validated on the
+	 * caller's thread, then queued and inserted together with other pending
+	 * comments in a JDBC batch.
+	 *
+	 * @param comment The Comment object to be registered.
+	 * @return A future completed with true once the comment is stored.
+	 * @throws ServiceException If the comment is invalid or the queue is full.
+	 */
+	public CompletableFuture<Boolean> registerCommentAsync(Comment comment) throws ServiceException {
+		try {
+			CommentValidator.validateComment(comment);
+			rejectNearDuplicate(comment);
+		} catch (InvalidCommentException e) {
+			throw new ServiceException(e);
+		}
+		CompletableFuture<Boolean> stored;
+		try {
+			stored = CommentIngestionQueue.getInstance().submit(comment);
+		} catch (ServiceException e) {
+			DuplicateCommentDetector.getInstance().forget(comment.getComment());
+			throw e;
+		}
+		return stored.whenComplete((created, failure) -> {
+			if (failure != null || !Boolean.TRUE.equals(created)) {
+				DuplicateCommentDetector.getInstance().forget(comment.getComment());
+			}
+		});
+	}
+
+	/**
+	 * Rejects a comment that is a near copy of a recently posted comment, and
+	 * otherwise remembers it; callers forget it again if it is not stored.
+	 *
+	 * @param comment The validated comment.
+	 * @throws InvalidCommentException If the comment is a near duplicate.
+	 */
+	private void rejectNearDuplicate(Comment comment) throws InvalidCommentException {
+		if (DuplicateCommentDetector.getInstance().isDuplicateOrRecord(comment.getComment())) {
+			throw new InvalidCommentException(CommentModuleConstants.DUPLICATE_COMMENT_MESSAGE);
+		}
+	}
+
 	/**
 	 * Retrieves a list of comments for a given course ID.
 	 *
+	 * Courses with few comments are served entirely from the comment cache.
+	 *
 	 * @param comment The Comment object containing the course ID.
 	 * @return A list of Comment objects associated with the given course ID.
 	 * @throws ServiceException If an error occurs while retrieving the comments.
@@ -41,12 +100,101 @@ public class CommentService {
 		CommentDAO commentDAO = new CommentDAO();
 		try {
 			CommentValidator.validateCourseId(courseID);
-			return commentDAO.getAllComments(courseId);
+
+			CommentCache.CourseComments cached = CommentCache.get(courseId);
+			if (cached != null && cached.isComplete()) {
+				return withAuthors(cached.getRows(), cached.getCourseName());
+			}
+
+			long generation = CommentCache.generation();
+			String courseName = cached != null ? cached.getCourseName() : commentDAO.getCourseName(courseId);
+			List<Comment> rows = commentDAO.getAllComments(courseId);
+			CommentCache.put(courseId, courseName, rows, true, generation);
+			return withAuthors(rows, courseName);
 		} catch (DAOException | InvalidCommentException e) {
 			throw new ServiceException(e);
 		}
 	}
 
+	/**
+	 * Retrieves one page of comments for a given course ID, oldest first. The
+	 * first pages are served from the comment cache.
+	 *
+	 * @param courseId The ID of the course.
+	 * @param page     The zero-based page number.
+	 * @return The comments of the requested page.
+	 * @throws ServiceException If an error occurs while retrieving the comments.
+	 */
+	public List<Comment> listComment(int courseId, int page) throws ServiceException {
+		CommentDAO commentDAO = new CommentDAO();
+		try {
+			CommentValidator.validateCourseId(Integer.toString(courseId));
+			if (page < 0) {
+				throw new InvalidCommentException("Invalid page. Page numbers must not be negative.");
+			}
+
+			int pageSize = CommentModuleConstants.COMMENT_PAGE_SIZE;
+			int offset;
+			try {
+				offset = Math.multiplyExact(page, pageSize);
+			} catch (ArithmeticException e) {
+				throw new InvalidCommentException("Invalid page. Page number is too large.");
+			}
+			CommentCache.CourseComments cached = CommentCache.get(courseId);
+			if (page >= CommentModuleConstants.CACHED_COMMENT_PAGES) {
+				String courseName = cached != null ? cached.getCourseName() : commentDAO.getCourseName(courseId);
+				return withAuthors(commentDAO.getComments(courseId, offset, pageSize), courseName);
+			}
+
+			List<Comment> rows;
+			String courseName;
+			if (cached != null) {
+				rows = cached.getRows();
+				courseName = cached.getCourseName();
+			} else {
+				long generation = CommentCache.generation();
+				courseName = commentDAO.getCourseName(courseId);
+				// one extra row tells whether the cached rows are the whole course
+				rows = commentDAO.getComments(courseId, 0, CommentCache.CACHED_ROWS + 1);
+				CommentCache.put(courseId, courseName, rows, true, generation);
+			}
+
+			int from = Math.min(offset, rows.size());
+			int to = Math.min(offset + pageSize, Math.min(rows.size(), CommentCache.CACHED_ROWS));
+			return withAuthors(rows.subList(from, Math.max(from, to)), courseName);
+		} catch (DAOException | InvalidCommentException e) {
+			throw new ServiceException(e);
+		}
+	}
+
+	/**
+	 * Attaches author display data to listed comment rows, resolving all distinct
+	 * authors of the page through the shared author cache.
+	 *
+	 * @param rows       The comment rows carrying only author IDs.
+	 * @param courseName The name of the course the rows belong to.
+	 * @return The comments with username, avatar, course ID and course name
+	 *         filled in.
+	 * @throws DAOException If the missing authors could not be loaded.
+	 */
+	private List<Comment> withAuthors(List<Comment> rows, String courseName) throws DAOException {
+		List<Integer> userIds = new ArrayList<>(rows.size());
+		for (Comment row : rows) {
+			userIds.add(row.getUserId());
+		}
+		Map<Integer, AuthorSummary> authors = AuthorSummaryCache.getAll(userIds);
+
+		List<Comment> comments = new ArrayList<>(rows.size());
+		for (Comment row : rows) {
+			AuthorSummary author = authors.get(row.getUserId());
+			String username = author != null ? author.getUsername() : null;
+			String userProfile = author != null ? author.getUserProfile() : null;
+			comments.add(new Comment(row.getCommentId(), row.getCourseId(), row.getUserId(), username, userProfile,
+					courseName, row.getComment(), CommentDAO.formatTimeDifference(row.getCreatedAt())));
+		}
+		return comments;
+	}
+
 	/**
 	 * Retrieves a comment for a given course ID.
 	 *
@@ -75,7 +223,9 @@ public class CommentService {
 		try {
 			CommentValidator.validateComment(comment.getComment());
 			CommentDAO commentDAO = new CommentDAO();
-			return commentDAO.updateComment(comment, commentId);
+			boolean updated = commentDAO.updateComment(comment, commentId);
+			CommentCache.invalidate(commentDAO.getCourseIdOfComment(commentId));
+			return updated;
 		} catch (DAOException | InvalidCommentException e) {
 			throw new ServiceException(e);
 		}
@@ -93,7 +243,9 @@ public class CommentService {
 	public boolean deleteComment(int commentId, int isDeleted) throws ServiceException {
 		CommentDAO commentDAO = new CommentDAO();
 		try {
-			return commentDAO.deleteComment(commentId, isDeleted);
+			boolean deleted = commentDAO.deleteComment(commentId, isDeleted);
+			CommentCache.invalidate(commentDAO.getCourseIdOfComment(commentId));
+			return deleted;
 		} catch (DAOException e) {
 			throw new ServiceException(CommentModuleConstants.DELETE_ERROR_MESSAGE + e);
 		}
@@ -0,0 +1,114 @@
+package com.fssa.freshstocks.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fssa.freshstocks.constants.CourseModuleConstants;
+import com.fssa.freshstocks.dao.CourseDAO;
+import com.fssa.freshstocks.dao.exception.DAOException;
+import com.fssa.freshstocks.model.Course;
+import com.fssa.freshstocks.model.CourseChange;
+import com.fssa.freshstocks.model.CourseSuggestion;
+import com.fssa.freshstocks.utils.CompletionTrie;
+
+/**
+ * As-you-type course name suggestions, ranked by purchase count and answered
+ * from memory.
+ *
+ * The names are taken from {@link CourseCatalog} and the purchase counts read
+ * from the database on the first lookup. After that the suggestions take every
+ * change the catalog applies, so they see the renames of other servers too,
+ * and {@link CourseService} counts each purchase.
+ */
+public class CourseAutocomplete {
+
+	private static final CompletionTrie TRIE = new CompletionTrie(CourseModuleConstants.MAX_SUGGESTIONS);
+	// kept for deleted courses too, so a restored course keeps its rank
+	private static final Map<Integer, Long> PURCHASES = new ConcurrentHashMap<>();
+	private static volatile boolean loaded;
+
+	// Private constructor to prevent instantiation
+	private CourseAutocomplete() {
+		// Do nothing (empty constructor)
+	}
+
+	/**
+	 * Suggests the most purchased live courses whose name starts with the typed
+	 * text.
+	 *
+	 * @param prefix The typed text; case and punctuation are ignored.
+	 * @param limit  The maximum number of suggestions.
+	 * @return The suggestions, most purchased first.
+	 * @throws DAOException If the suggestions had to be loaded and could not be
+	 *                      read.
+	 */
+	public static List<CourseSuggestion> suggest(String prefix, int limit) throws DAOException {
+		ensureLoaded();
+		List<CourseSuggestion> suggestions = new ArrayList<>();
+		for (int courseID : TRIE.complete(prefix, limit)) {
+			Course course = CourseCatalog.getCourse(courseID);
+			if (course != null) {
+				suggestions.add(new CourseSuggestion(courseID, course.getName(), PURCHASES.getOrDefault(courseID, 0L)));
+			}
+		}
+		return suggestions;
+	}
+
+	/**
+	 * Adds, renames or removes the courses the catalog just changed. Does nothing
+	 * until the suggestions are loaded.
+	 *
+	 * @param changes The changes applied to the catalog.
+	 */
+	static synchronized void apply(List<CourseChange> changes) {
+		if (!loaded) {
+			return;
+		}
+		for (CourseChange change : changes) {
+			if (change.isDeleted()) {
+				TRIE.remove(change.getCourseID());
+			} else {
+				index(change.getCourseID(), change.getCourse().getName());
+			}
+		}
+	}
+
+	/**
+	 * Counts a new purchase of a course towards its rank. Does nothing until the
+	 * suggestions are loaded.
+	 *
+	 * @param courseID The ID of the purchased course.
+	 */
+	public static synchronized void recordPurchase(int courseID) {
+		if (!loaded) {
+			return;
+		}
+		PURCHASES.merge(courseID, 1L, Long::sum);
+		TRIE.addWeight(courseID, 1);
+	}
+
+	// the catalog is loaded before taking the class lock, as it holds its own
+	// lock while passing changes on
+	private static void ensureLoaded() throws DAOException {
+		if (loaded) {
+			return;
+		}
+		CourseCatalog.size();
+		synchronized (CourseAutocomplete.class) {
+			if (loaded) {
+				return;
+			}
+			PURCHASES.putAll(new CourseDAO().getPurchaseCounts());
+			for (Course course : CourseCatalog.getCourses()) {
+				index(course.getCourseID(), course.getName());
+			}
+			loaded = true;
+		}
+	}
+
+	private static void index(int courseID, String name) {
+		TRIE.put(courseID, name, PURCHASES.getOrDefault(courseID, 0L));
+	}
+}
@@ -0,0 +1,457 @@
+package com.fssa.freshstocks.services;
+
+import java.sql.Timestamp;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fssa.freshstocks.constants.CourseModuleConstants;
+import com.fssa.freshstocks.dao.CourseDAO;
+import com.fssa.freshstocks.dao.exception.DAOException;
+import com.fssa.freshstocks.model.Course;
+import com.fssa.freshstocks.model.CourseChange;
+import com.fssa.freshstocks.model.CourseChangePage;
+import com.fssa.freshstocks.model.CourseWatermark;
+import com.fssa.freshstocks.utils.CompactCourseStore;
+
+/**
+ * In-process copy of the live course catalog.
+ *
+ * The catalog is an immutable snapshot published through a volatile field, so
+ * readers never lock and never wait for a refresh. It is loaded from the
+ * course change feed on first use; after that a background thread reads the
+ * feed from the snapshot's watermark, and publishes a new snapshot (copying
+ * the previous one) only when something changed. {@link CourseService} also
+ * re-reads a course right after writing it, so a seller sees their change
+ * without waiting for the feed. Every change a new snapshot takes on is passed
+ * to {@link CourseSearchIndex}, {@link CourseAutocomplete} and
+ * {@link CourseFacetIndex}, which resolve their results through this catalog.
+ *
+ * The snapshot holds the catalog fields only, column by column in a
+ * {@link CompactCourseStore}; videos are still read from the database. Callers get copies of its courses, made as they are read, so they
+ * may modify them without changing the catalog.
+ */
+public class CourseCatalog {
+
+	private static volatile Snapshot snapshot;
+	private static final AtomicLong REFRESH_FAILURES = new AtomicLong();
+
+	// Private constructor to prevent instantiation
+	private CourseCatalog() {
+		// Do nothing (empty constructor)
+	}
+
+	/**
+	 * An immutable state of the catalog.
+	 *
+	 * The courses are held in a {@link CompactCourseStore}, with the courses
+	 * changed since it was built kept whole beside it. Once those reach a
+	 * quarter of the store, the store is built again from both.
+	 */
+	static final class Snapshot {
+
+		// above this many changed courses the order is rebuilt with one sort
+		// rather than by moving each course on its own
+		private static final int INCREMENTAL_LIMIT = 32;
+		// courses kept whole before the store is first built
+		private static final int MIN_CHANGED_COURSES = 256;
+
+		// newest first, like the catalog pages
+		private static final Comparator<Slot> NEWEST_FIRST = Comparator.comparingLong(Slot::getCreatedAt)
+				.thenComparingInt(Slot::getCourseID).reversed();
+
+		/**
+		 * The place of a live course in the catalog order.
+		 */
+		private static final class Slot {
+			private final int courseID;
+			private final long createdAt;
+
+			Slot(int courseID, long createdAt) {
+				this.courseID = courseID;
+				this.createdAt = createdAt;
+			}
+
+			int getCourseID() {
+				return courseID;
+			}
+
+			long getCreatedAt() {
+				return createdAt;
+			}
+		}
+
+		private final CompactCourseStore store;
+		// creation time of each course in the store, by row
+		private final long[] storeCreatedAt;
+		// courses created, updated or deleted since the store was built
+		private final Map<Integer, CourseChange> changed;
+		private final List<Slot> ordered;
+		private final List<Course> courses;
+		private final List<CourseChange> applied;
+		private final CourseWatermark watermark;
+
+		private Snapshot(CompactCourseStore store, long[] storeCreatedAt, Map<Integer, CourseChange> changed,
+				List<Slot> ordered, List<CourseChange> applied, CourseWatermark watermark) {
+			this.store = store;
+			this.storeCreatedAt = storeCreatedAt;
+			this.changed = changed;
+			this.ordered = Collections.unmodifiableList(ordered);
+			this.courses = new AbstractList<Course>() {
+				@Override
+				public Course get(int index) {
+					return find(ordered.get(index).getCourseID());
+				}
+
+				@Override
+				public int size() {
+					return ordered.size();
+				}
+			};
+			this.applied = applied;
+			this.watermark = watermark;
+		}
+
+		private Snapshot(Snapshot previous, CourseWatermark watermark) {
+			this.store = previous.store;
+			this.storeCreatedAt = previous.storeCreatedAt;
+			this.changed = previous.changed;
+			this.ordered = previous.ordered;
+			this.courses = previous.courses;
+			this.applied = Collections.emptyList();
+			this.watermark = watermark;
+		}
+
+		/**
+		 * @return The empty catalog, before every change.
+		 */
+		static Snapshot empty() {
+			return new Snapshot(CompactCourseStore.of(Collections.emptyList()), new long[0], Collections.emptyMap(),
+					new ArrayList<>(), Collections.emptyList(), CourseWatermark.initial());
+		}
+
+		/**
+		 * Returns the snapshot with the changed rows applied and the later of the
+		 * two watermarks, or this snapshot if neither changes. Rows that are
+		 * already current are skipped, so a window read again does nothing unless
+		 * it holds a late write. A few changed courses are moved into the existing
+		 * order by binary search; a large batch is sorted once. This snapshot is
+		 * left untouched.
+		 */
+		Snapshot apply(List<CourseChange> changes, CourseWatermark nextWatermark) {
+			Map<Integer, CourseChange> next = null;
+			List<CourseChange> taken = new ArrayList<>();
+			Set<Integer> touched = new LinkedHashSet<>();
+			for (CourseChange change : changes) {
+				Course known = find(next != null ? next : changed, change.getCourseID());
+				boolean isChange = change.isDeleted() ? known != null
+						: known == null || !sameCatalogFields(known, change.getCourse());
+				if (!isChange) {
+					continue;
+				}
+				if (next == null) {
+					next = new HashMap<>(changed);
+				}
+				if (change.isDeleted() && store.rowOf(change.getCourseID()) < 0) {
+					next.remove(change.getCourseID());
+				} else {
+					next.put(change.getCourseID(), change);
+				}
+				taken.add(change);
+				touched.add(change.getCourseID());
+			}
+			CourseWatermark later = watermark.isBefore(nextWatermark.getModifiedAt(), nextWatermark.getCourseID())
+					? nextWatermark
+					: watermark;
+			if (next == null) {
+				return later == watermark ? this : new Snapshot(this, later);
+			}
+
+			List<Slot> nextOrdered;
+			if (touched.size() > INCREMENTAL_LIMIT) {
+				nextOrdered = new ArrayList<>(ordered.size() + touched.size());
+				for (int row = 0; row < store.size(); row++) {
+					if (!next.containsKey(store.getCourseID(row))) {
+						nextOrdered.add(new Slot(store.getCourseID(row), storeCreatedAt[row]));
+					}
+				}
+				for (CourseChange change : next.values()) {
+					if (!change.isDeleted()) {
+						nextOrdered.add(new Slot(change.getCourseID(), millisOf(change.getCreatedAt())));
+					}
+				}
+				nextOrdered.sort(NEWEST_FIRST);
+			} else {
+				nextOrdered = new ArrayList<>(ordered);
+				for (int courseID : touched) {
+					Slot before = slotOf(courseID);
+					if (before != null) {
+						nextOrdered.remove(Collections.binarySearch(nextOrdered, before, NEWEST_FIRST));
+					}
+					CourseChange after = next.get(courseID);
+					if (after != null && !after.isDeleted()) {
+						Slot slot = new Slot(courseID, millisOf(after.getCreatedAt()));
+						nextOrdered.add(-Collections.binarySearch(nextOrdered, slot, NEWEST_FIRST) - 1, slot);
+					}
+				}
+			}
+
+			if (next.size() <= Math.max(MIN_CHANGED_COURSES, store.size() / 4)) {
+				return new Snapshot(store, storeCreatedAt, next, nextOrdered, taken, later);
+			}
+			List<Course> rows = new ArrayList<>(nextOrdered.size());
+			long[] createdAt = new long[nextOrdered.size()];
+			for (Slot slot : nextOrdered) {
+				createdAt[rows.size()] = slot.getCreatedAt();
+				rows.add(find(next, slot.getCourseID()));
+			}
+			return new Snapshot(CompactCourseStore.of(rows), createdAt, Collections.emptyMap(), nextOrdered, taken,
+					later);
+		}
+
+		List<Course> getCourses() {
+			return courses;
+		}
+
+		/**
+		 * @return The live course, which may be shared with the snapshot, or null.
+		 */
+		Course getCourse(int courseID) {
+			return find(courseID);
+		}
+
+		/**
+		 * @return The changes this snapshot took on over the one it was applied
+		 *         to, in order.
+		 */
+		List<CourseChange> getApplied() {
+			return applied;
+		}
+
+		CourseWatermark getWatermark() {
+			return watermark;
+		}
+
+		private Course find(int courseID) {
+			return find(changed, courseID);
+		}
+
+		private Course find(Map<Integer, CourseChange> changedSinceStore, int courseID) {
+			CourseChange change = changedSinceStore.get(courseID);
+			if (change != null) {
+				return change.isDeleted() ? null : change.getCourse();
+			}
+			int row = store.rowOf(courseID);
+			return row < 0 ? null : store.get(row);
+		}
+
+		private Slot slotOf(int courseID) {
+			CourseChange change = changed.get(courseID);
+			if (change != null) {
+				return change.isDeleted() ? null : new Slot(courseID, millisOf(change.getCreatedAt()));
+			}
+			int row = store.rowOf(courseID);
+			return row < 0 ? null : new Slot(courseID, storeCreatedAt[row]);
+		}
+
+		// a course without a creation time sorts last
+		private static long millisOf(Timestamp createdAt) {
+			return createdAt == null ? Long.MIN_VALUE : createdAt.getTime();
+		}
+	}
+
+	/**
+	 * Returns all live courses, newest first, without their videos. The list is
+	 * a read-only view of the snapshot: each course read from it is a fresh
+	 * copy, so only the courses a caller reads are copied.
+	 *
+	 * @return The live courses.
+	 * @throws DAOException If the catalog had to be loaded and could not be read.
+	 */
+	public static List<Course> getCourses() throws DAOException {
+		List<Course> courses = current().getCourses();
+		return new AbstractList<Course>() {
+			@Override
+			public Course get(int index) {
+				return copyOf(courses.get(index));
+			}
+
+			@Override
+			public int size() {
+				return courses.size();
+			}
+		};
+	}
+
+	/**
+	 * Returns a page of the live courses, newest first.
+	 *
+	 * @param offset The number of courses to skip.
+	 * @param limit  The maximum number of courses returned.
+	 * @return Copies of the courses on the page, without their videos.
+	 * @throws DAOException If the catalog had to be loaded and could not be read.
+	 */
+	public static List<Course> getCourses(int offset, int limit) throws DAOException {
+		List<Course> courses = current().getCourses();
+		int from = Math.min(Math.max(offset, 0), courses.size());
+		int to = Math.min(from + Math.max(limit, 0), courses.size());
+		return copyOf(courses.subList(from, to));
+	}
+
+	/**
+	 * @param courseID The ID of the course.
+	 * @return A copy of the catalog fields of the live course, or null if it does
+	 *         not exist or is deleted.
+	 * @throws DAOException If the catalog had to be loaded and could not be read.
+	 */
+	public static Course getCourse(int courseID) throws DAOException {
+		Course course = current().getCourse(courseID);
+		return course == null ? null : copyOf(course);
+	}
+
+	/**
+	 * @return The number of live courses.
+	 * @throws DAOException If the catalog had to be loaded and could not be read.
+	 */
+	public static int size() throws DAOException {
+		return current().getCourses().size();
+	}
+
+	/**
+	 * @return The number of background refreshes that failed; the catalog keeps
+	 *         its last snapshot when a refresh fails.
+	 */
+	public static long getRefreshFailures() {
+		return REFRESH_FAILURES.get();
+	}
+
+	/**
+	 * Applies the course changes after the snapshot's watermark, reading again
+	 * the last {@link CourseModuleConstants#CHANGE_FEED_OVERLAP_SECONDS} seconds
+	 * behind it to pick up writes that committed late. Does nothing until the
+	 * catalog is loaded.
+	 *
+	 * @throws DAOException If the changes could not be read.
+	 */
+	public static synchronized void refresh() throws DAOException {
+		if (snapshot == null) {
+			return;
+		}
+		CourseDAO courseDAO = new CourseDAO();
+		CourseWatermark from = snapshot.getWatermark().rewind(CourseModuleConstants.CHANGE_FEED_OVERLAP_SECONDS * 1000L);
+		CourseChangePage page;
+		do {
+			page = courseDAO.getCourseChanges(from, CourseModuleConstants.CATALOG_REFRESH_BATCH_SIZE);
+			from = page.getNextWatermark();
+			publish(snapshot.apply(page.getChanges(), from));
+		} while (page.hasMore());
+	}
+
+	/**
+	 * Re-reads one course after it was written, without moving the watermark;
+	 * the feed delivers the same row again later and it is then skipped. Does
+	 * nothing until the catalog is loaded.
+	 *
+	 * @param courseID The ID of the course that changed.
+	 * @throws DAOException If the course could not be read.
+	 */
+	public static synchronized void refresh(int courseID) throws DAOException {
+		Snapshot current = snapshot;
+		if (current == null) {
+			return;
+		}
+		CourseChange row = new CourseDAO().getCourseRow(courseID);
+		if (row != null) {
+			publish(current.apply(Collections.singletonList(row), current.getWatermark()));
+		}
+	}
+
+	// publishes the next snapshot, then passes the changes it took on to the
+	// indexes
+	private static void publish(Snapshot next) {
+		Snapshot previous = snapshot;
+		snapshot = next;
+		if (next != previous && !next.getApplied().isEmpty()) {
+			CourseSearchIndex.apply(next.getApplied());
+			CourseAutocomplete.apply(next.getApplied());
+			CourseFacetIndex.apply(next.getApplied());
+		}
+	}
+
+	private static Snapshot catchUp(Snapshot from) throws DAOException {
+		CourseDAO courseDAO = new CourseDAO();
+		Snapshot current = from;
+		CourseChangePage page;
+		do {
+			page = courseDAO.getCourseChanges(current.getWatermark(), CourseModuleConstants.CATALOG_REFRESH_BATCH_SIZE);
+			current = current.apply(page.getChanges(), page.getNextWatermark());
+		} while (page.hasMore());
+		return current;
+	}
+
+	private static Snapshot current() throws DAOException {
+		Snapshot current = snapshot;
+		return current != null ? current : load();
+	}
+
+	private static synchronized Snapshot load() throws DAOException {
+		if (snapshot == null) {
+			snapshot = catchUp(Snapshot.empty());
+			startRefresher();
+		}
+		return snapshot;
+	}
+
+	private static void startRefresher() {
+		ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(task -> {
+			Thread thread = new Thread(task, "course-catalog-refresher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		refresher.scheduleWithFixedDelay(() -> {
+			try {
+				refresh();
+			} catch (DAOException | RuntimeException e) {
+				REFRESH_FAILURES.incrementAndGet();
+			}
+		}, CourseModuleConstants.CATALOG_REFRESH_INTERVAL_MILLIS,
+				CourseModuleConstants.CATALOG_REFRESH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	private static List<Course> copyOf(List<Course> courses) {
+		List<Course> copies = new ArrayList<>(courses.size());
+		for (Course course : courses) {
+			copies.add(copyOf(course));
+		}
+		return copies;
+	}
+
+	private static Course copyOf(Course course) {
+		return new Course(course.getName(), course.getCoverImage(), course.getTiming(), course.getLanguage(),
+				course.getMarkedPrice(), course.getSellingPrice(), course.getDescription(), course.getInstructorName(),
+				course.getCompanyName(), course.getCompanyCategory(), course.getTopSkills(), course.getUserID(),
+				course.getCourseID());
+	}
+
+	private static boolean sameCatalogFields(Course a, Course b) {
+		return Objects.equals(a.getName(), b.getName()) && Objects.equals(a.getCoverImage(), b.getCoverImage())
+				&& Objects.equals(a.getTiming(), b.getTiming()) && Objects.equals(a.getLanguage(), b.getLanguage())
+				&& a.getMarkedPrice() == b.getMarkedPrice() && a.getSellingPrice() == b.getSellingPrice()
+				&& Objects.equals(a.getDescription(), b.getDescription())
+				&& Objects.equals(a.getInstructorName(), b.getInstructorName())
+				&& Objects.equals(a.getCompanyName(), b.getCompanyName())
+				&& Objects.equals(a.getCompanyCategory(), b.getCompanyCategory())
+				&& Objects.equals(a.getTopSkills(), b.getTopSkills()) && a.getUserID() == b.getUserID();
+	}
+}
@@ -0,0 +1,170 @@
+package com.fssa.freshstocks.services;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fssa.freshstocks.constants.CourseModuleConstants;
+import com.fssa.freshstocks.dao.CourseDAO;
+import com.fssa.freshstocks.dao.exception.DAOException;
+
+/**
+ * In-process copy of the course counters: the number of live courses, in total
+ * and per company category.
+ *
+ * The counters are kept in the course_counter table, which the course creates,
+ * deletes and category edits adjust in the same transaction as the course.
+ * This class holds an immutable copy of the table behind a volatile field, so
+ * counts are read without a query. The copy is re-read after each of those
+ * writes through {@link CourseService} and every few seconds (to see other
+ * servers' writes), and the table is recounted from the course table every few
+ * minutes.
+ */
+public class CourseCounter {
+
+	private static volatile Counts counts;
+	private static final AtomicLong REFRESH_FAILURES = new AtomicLong();
+
+	// Private constructor to prevent instantiation
+	private CourseCounter() {
+		// Do nothing (empty constructor)
+	}
+
+	/**
+	 * An immutable copy of the counters.
+	 */
+	static final class Counts {
+
+		private final int total;
+		private final Map<String, Integer> categories;
+
+		Counts(Map<String, Integer> counters) {
+			Map<String, Integer> byCategory = new HashMap<>();
+			for (Map.Entry<String, Integer> counter : counters.entrySet()) {
+				if (counter.getKey().startsWith(CourseModuleConstants.COUNTER_CATEGORY_PREFIX)
+						&& counter.getValue() > 0) {
+					byCategory.put(counter.getKey().substring(CourseModuleConstants.COUNTER_CATEGORY_PREFIX.length()),
+							counter.getValue());
+				}
+			}
+			this.total = Math.max(counters.getOrDefault(CourseModuleConstants.COUNTER_TOTAL, 0), 0);
+			this.categories = Collections.unmodifiableMap(byCategory);
+		}
+
+		int getTotal() {
+			return total;
+		}
+
+		int getCategoryCount(String category) {
+			return categories.getOrDefault(category, 0);
+		}
+
+		Map<String, Integer> getCategoryCounts() {
+			return categories;
+		}
+	}
+
+	/**
+	 * @return The number of live courses.
+	 * @throws DAOException If the counters had to be loaded and could not be read.
+	 */
+	public static int getTotal() throws DAOException {
+		return current().getTotal();
+	}
+
+	/**
+	 * @param category The company category.
+	 * @return The number of live courses in the category.
+	 * @throws DAOException If the counters had to be loaded and could not be read.
+	 */
+	public static int getCategoryCount(String category) throws DAOException {
+		return current().getCategoryCount(category);
+	}
+
+	/**
+	 * @return The number of live courses of each company category that has any.
+	 * @throws DAOException If the counters had to be loaded and could not be read.
+	 */
+	public static Map<String, Integer> getCategoryCounts() throws DAOException {
+		return current().getCategoryCounts();
+	}
+
+	/**
+	 * @return The number of background reloads and recounts that failed; the
+	 *         last counts are kept when one fails.
+	 */
+	public static long getRefreshFailures() {
+		return REFRESH_FAILURES.get();
+	}
+
+	/**
+	 * Re-reads the counters from the table. Does nothing until the counters are
+	 * loaded.
+	 *
+	 * @throws DAOException If the counters could not be read.
+	 */
+	public static synchronized void refresh() throws DAOException {
+		if (counts != null) {
+			counts = new Counts(new CourseDAO().getCourseCounters());
+		}
+	}
+
+	/**
+	 * Recounts the live courses into the table and takes the result. Does
+	 * nothing until the counters are loaded.
+	 *
+	 * @throws DAOException If the courses could not be recounted.
+	 */
+	public static synchronized void reconcile() throws DAOException {
+		if (counts != null) {
+			counts = new Counts(new CourseDAO().reconcileCourseCounters());
+		}
+	}
+
+	private static Counts current() throws DAOException {
+		Counts current = counts;
+		return current != null ? current : load();
+	}
+
+	private static synchronized Counts load() throws DAOException {
+		if (counts == null) {
+			CourseDAO courseDAO = new CourseDAO();
+			Map<String, Integer> counters = courseDAO.getCourseCounters();
+			// a new table has no rows yet
+			if (!counters.containsKey(CourseModuleConstants.COUNTER_TOTAL)) {
+				counters = courseDAO.reconcileCourseCounters();
+			}
+			counts = new Counts(counters);
+			startRefresher();
+		}
+		return counts;
+	}
+
+	private static void startRefresher() {
+		ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(task -> {
+			Thread thread = new Thread(task, "course-counter-refresher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		refresher.scheduleWithFixedDelay(() -> {
+			try {
+				refresh();
+			} catch (DAOException | RuntimeException e) {
+				REFRESH_FAILURES.incrementAndGet();
+			}
+		}, CourseModuleConstants.COUNTER_RELOAD_INTERVAL_MILLIS, CourseModuleConstants.COUNTER_RELOAD_INTERVAL_MILLIS,
+				TimeUnit.MILLISECONDS);
+		refresher.scheduleWithFixedDelay(() -> {
+			try {
+				reconcile();
+			} catch (DAOException | RuntimeException e) {
+				REFRESH_FAILURES.incrementAndGet();
+			}
+		}, CourseModuleConstants.COUNTER_RECONCILE_INTERVAL_MILLIS,
+				CourseModuleConstants.COUNTER_RECONCILE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+	}
+}
@@ -0,0 +1,127 @@
+package com.fssa.freshstocks.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fssa.freshstocks.constants.CourseModuleConstants;
+import com.fssa.freshstocks.dao.exception.DAOException;
+import com.fssa.freshstocks.model.Course;
+import com.fssa.freshstocks.model.CourseChange;
+import com.fssa.freshstocks.model.CourseFacetPage;
+import com.fssa.freshstocks.model.CourseFilter;
+import com.fssa.freshstocks.utils.FacetIndex;
+
+/**
+ * Catalog filtering by language, company category, selling price band and
+ * timing, with per-value counts, answered from memory.
+ *
+ * The index is built from {@link CourseCatalog} on the first query and then
+ * takes every change the catalog applies, so it sees the writes of other
+ * servers too. Results are the catalog's courses.
+ */
+public class CourseFacetIndex {
+
+	// lower bounds of the selling price bands after the first
+	private static final int[] PRICE_BAND_LIMITS = { 500, 1000, 2500, 5000 };
+
+	private static final FacetIndex INDEX = new FacetIndex(CourseModuleConstants.FACET_LANGUAGE,
+			CourseModuleConstants.FACET_CATEGORY, CourseModuleConstants.FACET_PRICE_BAND,
+			CourseModuleConstants.FACET_TIMING);
+	private static volatile boolean loaded;
+
+	// Private constructor to prevent instantiation
+	private CourseFacetIndex() {
+		// Do nothing (empty constructor)
+	}
+
+	/**
+	 * Filters the live courses and counts the values of every facet.
+	 *
+	 * @param filter The selected facet values.
+	 * @param offset The number of matching courses to skip.
+	 * @param limit  The maximum number of courses returned.
+	 * @return A page of matching courses, newest first, with the facet counts.
+	 * @throws DAOException If the index had to be built and the courses could not
+	 *                      be read.
+	 */
+	public static CourseFacetPage query(CourseFilter filter, int offset, int limit) throws DAOException {
+		ensureLoaded();
+		Map<String, Set<String>> selected = new HashMap<>();
+		selected.put(CourseModuleConstants.FACET_LANGUAGE, filter.getLanguages());
+		selected.put(CourseModuleConstants.FACET_CATEGORY, filter.getCompanyCategories());
+		selected.put(CourseModuleConstants.FACET_PRICE_BAND, filter.getPriceBands());
+		selected.put(CourseModuleConstants.FACET_TIMING, filter.getTimings());
+
+		FacetIndex.Result result = INDEX.query(selected, offset, limit);
+		List<Course> courses = new ArrayList<>();
+		for (int courseID : result.getIds()) {
+			Course course = CourseCatalog.getCourse(courseID);
+			if (course != null) {
+				courses.add(course);
+			}
+		}
+		return new CourseFacetPage(courses, result.getTotalCount(), result.getFacetCounts());
+	}
+
+	/**
+	 * Indexes or removes the courses the catalog just changed. Does nothing until
+	 * the index is built.
+	 *
+	 * @param changes The changes applied to the catalog.
+	 */
+	static synchronized void apply(List<CourseChange> changes) {
+		if (!loaded) {
+			return;
+		}
+		for (CourseChange change : changes) {
+			if (change.isDeleted()) {
+				INDEX.remove(change.getCourseID());
+			} else {
+				index(change.getCourse());
+			}
+		}
+	}
+
+	/**
+	 * Names the selling price band of a price, e.g. "500-999" or "5000+".
+	 *
+	 * @param sellingPrice The selling price.
+	 * @return The band label.
+	 */
+	public static String priceBandOf(int sellingPrice) {
+		int lower = 0;
+		for (int limit : PRICE_BAND_LIMITS) {
+			if (sellingPrice < limit) {
+				return lower + "-" + (limit - 1);
+			}
+			lower = limit;
+		}
+		return lower + "+";
+	}
+
+	// the catalog is loaded before taking the class lock, as it holds its own
+	// lock while passing changes on
+	private static void ensureLoaded() throws DAOException {
+		if (loaded) {
+			return;
+		}
+		CourseCatalog.size();
+		synchronized (CourseFacetIndex.class) {
+			if (loaded) {
+				return;
+			}
+			for (Course course : CourseCatalog.getCourses()) {
+				index(course);
+			}
+			loaded = true;
+		}
+	}
+
+	private static void index(Course course) {
+		INDEX.put(course.getCourseID(), course.getLanguage(), course.getCompanyCategory(),
+				priceBandOf(course.getSellingPrice()), course.getTiming());
+	}
+}
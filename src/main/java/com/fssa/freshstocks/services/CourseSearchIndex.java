@@ -0,0 +1,103 @@
+package com.fssa.freshstocks.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fssa.freshstocks.constants.CourseModuleConstants;
+import com.fssa.freshstocks.dao.exception.DAOException;
+import com.fssa.freshstocks.model.Course;
+import com.fssa.freshstocks.model.CourseChange;
+import com.fssa.freshstocks.utils.Bm25Index;
+
+/**
+ * Full-text search over the live courses, answered from memory.
+ *
+ * The index covers the course name, top skills, instructor name, company name
+ * and description, in decreasing order of weight. It is built from
+ * {@link CourseCatalog} on the first search and then takes every change the
+ * catalog applies, so it sees the writes of other servers too. Results are the
+ * catalog's courses.
+ */
+public class CourseSearchIndex {
+
+	private static final Bm25Index INDEX = new Bm25Index(CourseModuleConstants.SEARCH_WEIGHT_NAME,
+			CourseModuleConstants.SEARCH_WEIGHT_TOP_SKILLS, CourseModuleConstants.SEARCH_WEIGHT_INSTRUCTOR,
+			CourseModuleConstants.SEARCH_WEIGHT_COMPANY, CourseModuleConstants.SEARCH_WEIGHT_DESCRIPTION);
+	private static volatile boolean loaded;
+
+	// Private constructor to prevent instantiation
+	private CourseSearchIndex() {
+		// Do nothing (empty constructor)
+	}
+
+	/**
+	 * Finds the live courses best matching the keywords.
+	 *
+	 * @param query The keywords.
+	 * @param limit The maximum number of courses returned.
+	 * @return The matching courses, best first, without their videos.
+	 * @throws DAOException If the index had to be built and the courses could not
+	 *                      be read.
+	 */
+	public static List<Course> search(String query, int limit) throws DAOException {
+		ensureLoaded();
+		List<Course> results = new ArrayList<>();
+		for (Bm25Index.Hit hit : INDEX.search(query, limit)) {
+			Course course = CourseCatalog.getCourse(hit.getDocumentId());
+			if (course != null) {
+				results.add(course);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Indexes or removes the courses the catalog just changed. Does nothing until
+	 * the index is built.
+	 *
+	 * @param changes The changes applied to the catalog.
+	 */
+	static synchronized void apply(List<CourseChange> changes) {
+		if (!loaded) {
+			return;
+		}
+		for (CourseChange change : changes) {
+			if (change.isDeleted()) {
+				INDEX.remove(change.getCourseID());
+			} else {
+				index(change.getCourse());
+			}
+		}
+	}
+
+	/**
+	 * @return The number of indexed courses.
+	 */
+	public static int size() {
+		return INDEX.size();
+	}
+
+	// writes serialize on the class, so catalog changes never interleave with the
+	// initial build; the catalog is loaded first, as it holds its own lock while
+	// passing changes on
+	private static void ensureLoaded() throws DAOException {
+		if (loaded) {
+			return;
+		}
+		CourseCatalog.size();
+		synchronized (CourseSearchIndex.class) {
+			if (loaded) {
+				return;
+			}
+			for (Course course : CourseCatalog.getCourses()) {
+				index(course);
+			}
+			loaded = true;
+		}
+	}
+
+	private static void index(Course course) {
+		INDEX.put(course.getCourseID(), course.getName(), course.getTopSkills(), course.getInstructorName(),
+				course.getCompanyName(), course.getDescription());
+	}
+}
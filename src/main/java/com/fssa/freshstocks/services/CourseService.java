@@ -1,11 +1,22 @@
 package com.fssa.freshstocks.services;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fssa.freshstocks.constants.CourseModuleConstants;
 import com.fssa.freshstocks.dao.CourseDAO;
 import com.fssa.freshstocks.dao.UserDAO;
 import com.fssa.freshstocks.dao.exception.DAOException;
 import com.fssa.freshstocks.model.Course;
+import com.fssa.freshstocks.model.CourseChangePage;
+import com.fssa.freshstocks.model.CourseDetail;
+import com.fssa.freshstocks.model.CoursePatch;
+import com.fssa.freshstocks.model.CourseUpdateResult;
+import com.fssa.freshstocks.model.CourseFacetPage;
+import com.fssa.freshstocks.model.CourseFilter;
 import com.fssa.freshstocks.model.CourseProgressData;
+import com.fssa.freshstocks.model.CourseSuggestion;
+import com.fssa.freshstocks.model.CourseWatermark;
 import com.fssa.freshstocks.model.User;
 import com.fssa.freshstocks.services.exception.ServiceException;
 import com.fssa.freshstocks.validation.CourseValidator;
@@ -13,6 +24,17 @@ import com.fssa.freshstocks.validation.exception.InvalidCourseException;
 
 public class CourseService {
 
+	private static final AtomicLong INDEX_REFRESH_FAILURES = new AtomicLong();
+
+	/**
+	 * @return The number of in-memory index refreshes that failed after a course
+	 *         write; the write itself stands, and the indexes catch up on their
+	 *         next background refresh.
+	 */
+	public static long getIndexRefreshFailures() {
+		return INDEX_REFRESH_FAILURES.get();
+	}
+
 	/**
 	 * Registers a new course.
 	 *
@@ -26,7 +48,12 @@ public class CourseService {
 		try {
 			CourseValidator.validateCourse(course);
 			courseDAO.sameNameExist(course);
-			return courseDAO.createCourse(course);
+			boolean created = courseDAO.createCourse(course);
+			if (created) {
+				courseChanged(course.getCourseID());
+				countersChanged();
+			}
+			return created;
 		} catch (DAOException | InvalidCourseException e) {
 			throw new ServiceException(e);
 		}
@@ -49,15 +76,113 @@ public class CourseService {
 	}
 
 	/**
-	 * Retrieves a list of all courses from the database.
+	 * Retrieves all live courses, newest first, from the in-memory catalog.
+	 *
+	 * Unlike the full database read this replaced, each course holds only the
+	 * catalog fields: its videos and video names are null. Use
+	 * {@link #getCoursesFromCourseId(int)} for the videos of a course. The
+	 * list is read-only; each course read from it is a fresh copy, which
+	 * callers may modify.
 	 *
-	 * @return A list of full Course objects.
+	 * @return A list of Course objects without their videos.
 	 * @throws ServiceException If an error occurs while retrieving the course list.
 	 */
 	public List<Course> getAllCourses() throws ServiceException {
-		CourseDAO courseDAO = new CourseDAO();
 		try {
-			return courseDAO.getAllCourse();
+			return CourseCatalog.getCourses();
+		} catch (DAOException e) {
+			throw new ServiceException(e);
+		}
+	}
+
+	/**
+	 * Searches the live courses by keywords in their name, top skills,
+	 * instructor, company and description, ranked by relevance. The search is
+	 * answered from an in-memory index.
+	 *
+	 * @param query The keywords.
+	 * @param limit The maximum number of courses, at most
+	 *              {@link CourseModuleConstants#MAX_SEARCH_RESULTS}.
+	 * @return The matching courses, best first, without their videos.
+	 * @throws ServiceException If the search index could not be built.
+	 */
+	public List<Course> searchCourses(String query, int limit) throws ServiceException {
+		if (query == null || query.isBlank()) {
+			return Collections.emptyList();
+		}
+		try {
+			return CourseSearchIndex.search(query, Math.min(limit, CourseModuleConstants.MAX_SEARCH_RESULTS));
+		} catch (DAOException e) {
+			throw new ServiceException(e);
+		}
+	}
+
+	/**
+	 * Suggests course names for the text typed so far, most purchased first. The
+	 * suggestions are answered from an in-memory index.
+	 *
+	 * @param prefix The typed text.
+	 * @param limit  The maximum number of suggestions, at most
+	 *               {@link CourseModuleConstants#MAX_SUGGESTIONS}.
+	 * @return The suggested courses.
+	 * @throws ServiceException If the suggestions could not be loaded.
+	 */
+	public List<CourseSuggestion> suggestCourseNames(String prefix, int limit) throws ServiceException {
+		if (prefix == null || prefix.isBlank()) {
+			return Collections.emptyList();
+		}
+		try {
+			return CourseAutocomplete.suggest(prefix, Math.min(limit, CourseModuleConstants.MAX_SUGGESTIONS));
+		} catch (DAOException e) {
+			throw new ServiceException(e);
+		}
+	}
+
+	/**
+	 * Filters the live courses by language, company category, selling price band
+	 * and timing, and counts the courses per facet value. Several values of one
+	 * facet match any of them; filters on different facets must all match. The
+	 * filter is answered from an in-memory index.
+	 *
+	 * @param filter The selected facet values.
+	 * @param offset The number of matching courses to skip.
+	 * @param limit  The page size, at most
+	 *               {@link CourseModuleConstants#MAX_FACET_PAGE_SIZE}.
+	 * @return A page of matching courses, newest first, with the facet counts.
+	 * @throws ServiceException If the page is invalid or the index could not be
+	 *                          built.
+	 */
+	public CourseFacetPage filterCourses(CourseFilter filter, int offset, int limit) throws ServiceException {
+		if (offset < 0 || limit < 1 || limit > CourseModuleConstants.MAX_FACET_PAGE_SIZE) {
+			throw new ServiceException(CourseModuleConstants.INVALID_FACET_PAGE_MESSAGE);
+		}
+		try {
+			return CourseFacetIndex.query(Objects.requireNonNull(filter, "Filter is null."), offset, limit);
+		} catch (DAOException e) {
+			throw new ServiceException(e);
+		}
+	}
+
+	/**
+	 * Retrieves the courses created, updated or deleted after a watermark, so
+	 * consumers can sync the catalog without re-reading it. Start with
+	 * {@link CourseWatermark#initial()} and pass the returned watermark to the
+	 * next call; changes of the last few seconds are held back until they are
+	 * final.
+	 *
+	 * @param after The watermark of the last change already seen.
+	 * @param limit The page size, at most
+	 *              {@link CourseModuleConstants#MAX_CHANGE_PAGE_SIZE}.
+	 * @return The changes, oldest first, with the next watermark.
+	 * @throws ServiceException If the page size is invalid or the changes could
+	 *                          not be read.
+	 */
+	public CourseChangePage getCourseChanges(CourseWatermark after, int limit) throws ServiceException {
+		if (limit < 1 || limit > CourseModuleConstants.MAX_CHANGE_PAGE_SIZE) {
+			throw new ServiceException(CourseModuleConstants.INVALID_CHANGE_PAGE_MESSAGE);
+		}
+		try {
+			return new CourseDAO().getCourseChanges(Objects.requireNonNull(after, "Watermark is null."), limit);
 		} catch (DAOException e) {
 			throw new ServiceException(e);
 		}
@@ -66,6 +191,9 @@ public class CourseService {
 	/**
 	 * Retrieves a course which using courseID from the database.
 	 *
+	 * Every column is read, videos included, so this is for playing a course;
+	 * listings and course pages read {@link CourseCatalog} instead.
+	 *
 	 * @return full Course object.
 	 * @throws ServiceException If an error occurs while retrieving the course.
 	 */
@@ -78,9 +206,29 @@ public class CourseService {
 		}
 	}
 
+	/**
+	 * Retrieves a course for metadata-only uses such as a purchase check or a
+	 * page header: its cover image, description and videos are each read from
+	 * the database only when first asked for.
+	 *
+	 * @param courseID The ID of the course.
+	 * @return The course, or null if it does not exist or is deleted.
+	 * @throws ServiceException If an error occurs while retrieving the course.
+	 */
+	public CourseDetail getCourseDetail(int courseID) throws ServiceException {
+		try {
+			return new CourseDAO().getCourseDetail(courseID);
+		} catch (DAOException e) {
+			throw new ServiceException(e);
+		}
+	}
+
 	/**
 	 * Updates an existing course with the given course ID.
 	 *
+	 * Every column is written, videos included; edits that change only some
+	 * fields should use {@link #updateCourse(CoursePatch)}.
+	 *
 	 * @param course   The updated Course object.
 	 * @param courseID The ID of the course to be updated.
 	 * @return true if the course was successfully updated, false otherwise.
@@ -90,12 +238,79 @@ public class CourseService {
 		CourseDAO courseDAO = new CourseDAO();
 		try {
 			CourseValidator.validateUpdatedCourse(course);
-			return courseDAO.updateCourse(course, courseID);
+			boolean updated = courseDAO.updateCourse(course, courseID);
+			if (updated) {
+				courseChanged(courseID);
+				countersChanged();
+			}
+			return updated;
+		} catch (DAOException | InvalidCourseException e) {
+			throw new ServiceException(e);
+		}
+	}
+
+	/**
+	 * Writes the changed fields of a course, and no others. Videos are written
+	 * only when the patch replaces them. A price changed alone is checked
+	 * against the stored price in the same transaction as the write.
+	 *
+	 * @param patch The changed fields of the course.
+	 * @return true if the course exists and is not deleted, false otherwise.
+	 * @throws ServiceException If a changed field is invalid or an error occurs
+	 *                          while updating the course.
+	 */
+	public boolean updateCourse(CoursePatch patch) throws ServiceException {
+		try {
+			CourseValidator.validateCoursePatch(patch);
+			CourseUpdateResult result = checkPrice(new CourseDAO().updateCourse(patch));
+			if (result == CourseUpdateResult.UPDATED && !patch.isEmpty()) {
+				courseChanged(patch.getCourseID());
+				if (patch.isChanged(CourseModuleConstants.COLUMN_COMPANY_CATEGORY)) {
+					countersChanged();
+				}
+			}
+			return result == CourseUpdateResult.UPDATED;
+		} catch (DAOException | InvalidCourseException e) {
+			throw new ServiceException(e);
+		}
+	}
+
+	/**
+	 * Writes the changed fields of a course only if nobody changed it since the
+	 * seller loaded it, so concurrent edits do not overwrite each other. The
+	 * version comes from {@link CourseDetail#getVersion()}; on a conflict the
+	 * seller reloads the course and edits again.
+	 *
+	 * @param patch           The changed fields of the course.
+	 * @param expectedVersion The version the edit was made from.
+	 * @return UPDATED, CONFLICT if the course changed since, or NOT_FOUND.
+	 * @throws ServiceException If a changed field is invalid or an error occurs
+	 *                          while updating the course.
+	 */
+	public CourseUpdateResult updateCourse(CoursePatch patch, int expectedVersion) throws ServiceException {
+		try {
+			CourseValidator.validateCoursePatch(patch);
+			CourseUpdateResult result = checkPrice(new CourseDAO().updateCourse(patch, expectedVersion));
+			if (result == CourseUpdateResult.UPDATED && !patch.isEmpty()) {
+				courseChanged(patch.getCourseID());
+				if (patch.isChanged(CourseModuleConstants.COLUMN_COMPANY_CATEGORY)) {
+					countersChanged();
+				}
+			}
+			return result;
 		} catch (DAOException | InvalidCourseException e) {
 			throw new ServiceException(e);
 		}
 	}
 
+	// a price edit refused on the stored row is an invalid course, as when both prices are in the patch
+	private static CourseUpdateResult checkPrice(CourseUpdateResult result) throws InvalidCourseException {
+		if (result == CourseUpdateResult.INVALID_PRICE) {
+			throw new InvalidCourseException(CourseModuleConstants.INVALID_PRICE_DIFFERENCE_MESSAGE);
+		}
+		return result;
+	}
+
 	/**
 	 * Deletes a course with the given course ID.
 	 *
@@ -108,7 +323,12 @@ public class CourseService {
 	public boolean deleteCourse(int courseID, int isDeleted) throws ServiceException {
 		CourseDAO courseDAO = new CourseDAO();
 		try {
-			return courseDAO.deleteCourse(courseID, isDeleted);
+			boolean deleted = courseDAO.deleteCourse(courseID, isDeleted);
+			if (deleted) {
+				courseChanged(courseID);
+				countersChanged();
+			}
+			return deleted;
 		} catch (DAOException e) {
 			throw new ServiceException(e);
 		}
@@ -144,7 +364,12 @@ public class CourseService {
 	    UserDAO userDAO = new UserDAO();
 	    
 	    try {
-	        return userDAO.updateUserPurchasedCourses(userId, purchasedCourses);
+	        boolean updated = userDAO.updateUserPurchasedCourses(userId, purchasedCourses);
+	        UserCache.invalidate(Integer.parseInt(userId));
+	        if (updated) {
+	        	CourseAutocomplete.recordPurchase(courseId);
+	        }
+	        return updated;
 	    } catch (DAOException e) {
 	    	throw new ServiceException(e);
 	    }
@@ -154,13 +379,17 @@ public class CourseService {
 	/**
 	 * Retrieves a course by its unique identifier.
 	 *
+	 * The course is read from {@link CourseCatalog}, so it holds only the
+	 * catalog fields and a deleted course is not found; use
+	 * {@link #getCoursesFromCourseId(int)} to play its videos.
+	 *
 	 * @param courseId The unique identifier of the course to retrieve.
-	 * @return The course with the specified ID.
+	 * @return The course with the specified ID, without its videos.
 	 * @throws ServiceException If an error occurs during the retrieval process.
 	 */
     public Course getCourseById(int courseId) throws ServiceException {
         try {
-            Course course = CourseDAO.getCourseById(courseId);
+            Course course = CourseCatalog.getCourse(courseId);
 
             if (course != null) {
                 return course;
@@ -176,14 +405,16 @@ public class CourseService {
     /**
      * Retrieves a list of courses that a user has purchased.
      *
+     * The courses are read from {@link CourseCatalog}, without their videos;
+     * use {@link #getCoursesFromCourseId(int)} to play one.
+     *
      * @param email The email address of the user.
-     * @return A list of purchased courses.
+     * @return A list of purchased courses, without their videos.
      * @throws ServiceException If an error occurs during the retrieval process.
      * @throws DAOException If an error occurs in the data access layer.
      */
     public List<Course> getPurchasedCourses(String email) throws ServiceException, DAOException {
         // Assuming userDAO is your Data Access Object for users
-    	CourseDAO courseDAO = new CourseDAO();
     	UserService userService = new UserService();
        User user = null;
 	user = userService.getUserByEmail(email);
@@ -194,11 +425,10 @@ public class CourseService {
 
             List<Course> purchasedCourses = new ArrayList<>();
 
-            // Assuming courseDAO is your Data Access Object for courses
             for (String courseId : courseIds) {
                 Course course = null;
 				try {
-					course = courseDAO.getCourseFromCourseId(Integer.parseInt(courseId));
+					course = CourseCatalog.getCourse(Integer.parseInt(courseId));
 				} catch (NumberFormatException | DAOException e) {
 					throw new ServiceException(e);
 				} 
@@ -279,6 +509,7 @@ public class CourseService {
         try {
         	CourseDAO courseDAO = new CourseDAO();
             rowsUpdated = courseDAO.updatePurchaseCourse(updatedPurchasedCourses, userId);
+            UserCache.invalidate(userId);
         } catch (DAOException e) {
             throw new ServiceException(e);
         }
@@ -287,36 +518,70 @@ public class CourseService {
     
     
     /**
-     * Retrieves a list of courses from the database with a specified limit and offset.
+     * Retrieves a page of the live courses, newest first, from the in-memory catalog.
+     *
+     * Like {@link #getAllCourses()}, each course is a copy holding only the
+     * catalog fields: its videos and video names are null.
      *
      * @param offset The starting point for fetching courses.
      * @param limit The maximum number of courses to fetch.
-     * @return A list of courses within the specified limit and offset.
+     * @return A list of courses within the specified limit and offset, without their videos.
      * @throws ServiceException If an error occurs while fetching courses.
      */
     public List<Course> getCoursesWithLimitOffset(int offset, int limit) throws ServiceException {
         try {
-        	CourseDAO courseDAO = new CourseDAO();
-            return courseDAO.getCoursesWithLimitOffset(offset, limit);
+            return CourseCatalog.getCourses(offset, limit);
         } catch (DAOException e) {
             throw new ServiceException(e);
         }
     }
 
     /**
-     * Retrieves the total count of courses in the database.
+     * Retrieves the number of live courses from the in-memory course counters.
      *
-     * @return The total count of courses in the database.
+     * @return The number of live courses.
      * @throws ServiceException If an error occurs while fetching the total course count.
      */
     public int getTotalCourseCount() throws ServiceException {
         try {
-        	CourseDAO courseDAO = new CourseDAO();
-            return courseDAO.getTotalCourseCount();
+            return CourseCounter.getTotal();
         } catch (DAOException e) {
             throw new ServiceException(e);
         }
     }
 
-    
+    /**
+     * Retrieves the number of live courses of each company category from the
+     * in-memory course counters.
+     *
+     * @return The number of live courses by company category.
+     * @throws ServiceException If an error occurs while fetching the counts.
+     */
+    public Map<String, Integer> getCourseCountsByCategory() throws ServiceException {
+        try {
+            return CourseCounter.getCategoryCounts();
+        } catch (DAOException e) {
+            throw new ServiceException(e);
+        }
+    }
+
+
+    // keeps the in-memory course indexes in step with a course write (the catalog
+    // passes the change on to the others); the write is committed by now, so a
+    // failed refresh is counted instead of failing the call
+    private static void courseChanged(int courseID) {
+    	try {
+    		CourseCatalog.refresh(courseID);
+    	} catch (DAOException | RuntimeException e) {
+    		INDEX_REFRESH_FAILURES.incrementAndGet();
+    	}
+    }
+
+    private static void countersChanged() {
+    	try {
+    		CourseCounter.refresh();
+    	} catch (DAOException | RuntimeException e) {
+    		INDEX_REFRESH_FAILURES.incrementAndGet();
+    	}
+    }
 }
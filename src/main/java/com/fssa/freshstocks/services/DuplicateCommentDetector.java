@@ -0,0 +1,180 @@
+package com.fssa.freshstocks.services;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.fssa.freshstocks.constants.CommentModuleConstants;
+import com.fssa.freshstocks.utils.SimHash;
+
+/**
+ * Detects near-duplicate comments (spam copies with a few words changed).
+ *
+ * The SimHash fingerprints of the most recent comments are kept in a fixed
+ * size ring. Each fingerprint is split into k + 1 bands and indexed by band
+ * value; two fingerprints within Hamming distance k always share at least one
+ * band, so a lookup only compares against the fingerprints in k + 1 buckets
+ * instead of the whole history.
+ */
+public class DuplicateCommentDetector {
+
+	private static final int NONE = -1;
+
+	private static final DuplicateCommentDetector INSTANCE = new DuplicateCommentDetector(
+			CommentModuleConstants.DUPLICATE_HISTORY_SIZE, CommentModuleConstants.DUPLICATE_MAX_DISTANCE);
+
+	private final int maxDistance;
+	private final int bands;
+	private final int bandBits;
+	private final int bandMask;
+	private final long[] fingerprints;
+	// false for slots whose fingerprint was forgotten
+	private final boolean[] live;
+	// per band: bucket heads and doubly linked bucket chains over ring slots
+	private final int[][] heads;
+	private final int[][] nextInBucket;
+	private final int[][] prevInBucket;
+	private int nextSlot;
+	private int size;
+
+	/**
+	 * Creates a detector remembering the given number of recent comments.
+	 *
+	 * @param capacity    The number of fingerprints kept.
+	 * @param maxDistance The largest Hamming distance treated as a near
+	 *                    duplicate, between 0 and 15.
+	 */
+	DuplicateCommentDetector(int capacity, int maxDistance) {
+		if (maxDistance < 0 || maxDistance > 15) {
+			throw new IllegalArgumentException("Hamming distance must be between 0 and 15.");
+		}
+		this.maxDistance = maxDistance;
+		this.bands = maxDistance + 1;
+		this.bandBits = Math.min(16, 64 / bands);
+		this.bandMask = (1 << bandBits) - 1;
+		fingerprints = new long[capacity];
+		live = new boolean[capacity];
+		heads = new int[bands][1 << bandBits];
+		nextInBucket = new int[bands][capacity];
+		prevInBucket = new int[bands][capacity];
+		for (int[] bandHeads : heads) {
+			Arrays.fill(bandHeads, NONE);
+		}
+	}
+
+	/**
+	 * @return The shared detector used by {@link CommentService}.
+	 */
+	public static DuplicateCommentDetector getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Checks a comment against the recent history and remembers it when it is
+	 * not a near duplicate. Comments shorter than
+	 * {@link CommentModuleConstants#DUPLICATE_MIN_WORDS} words are always
+	 * accepted, since short phrases like "nice course" legitimately repeat.
+	 *
+	 * The comment is remembered before it is stored, so concurrent copies are
+	 * caught; if storing it fails, call {@link #forget(String)} so a retry is not
+	 * rejected as a copy of itself.
+	 *
+	 * @param commentBody The comment body.
+	 * @return {@code true} if the comment is a near duplicate of a recent one.
+	 */
+	public boolean isDuplicateOrRecord(String commentBody) {
+		List<String> tokens = SimHash.tokenize(commentBody);
+		if (tokens.size() < CommentModuleConstants.DUPLICATE_MIN_WORDS) {
+			return false;
+		}
+		long fingerprint = SimHash.fingerprint(tokens);
+
+		synchronized (this) {
+			if (findNear(fingerprint)) {
+				return true;
+			}
+			record(fingerprint);
+			return false;
+		}
+	}
+
+	/**
+	 * Forgets the most recent comment with this body, after it could not be
+	 * stored.
+	 *
+	 * @param commentBody The comment body passed to
+	 *                    {@link #isDuplicateOrRecord(String)}.
+	 */
+	public void forget(String commentBody) {
+		List<String> tokens = SimHash.tokenize(commentBody);
+		if (tokens.size() < CommentModuleConstants.DUPLICATE_MIN_WORDS) {
+			return;
+		}
+		long fingerprint = SimHash.fingerprint(tokens);
+
+		synchronized (this) {
+			// bucket chains start with the newest slot
+			for (int slot = heads[0][bandValue(fingerprint, 0)]; slot != NONE; slot = nextInBucket[0][slot]) {
+				if (fingerprints[slot] == fingerprint) {
+					unlink(slot);
+					live[slot] = false;
+					return;
+				}
+			}
+		}
+	}
+
+	private boolean findNear(long fingerprint) {
+		for (int band = 0; band < bands; band++) {
+			for (int slot = heads[band][bandValue(fingerprint, band)]; slot != NONE; slot = nextInBucket[band][slot]) {
+				if (SimHash.hammingDistance(fingerprint, fingerprints[slot]) <= maxDistance) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private void record(long fingerprint) {
+		int slot = nextSlot;
+		if (size == fingerprints.length) {
+			if (live[slot]) {
+				unlink(slot);
+			}
+		} else {
+			size++;
+		}
+		fingerprints[slot] = fingerprint;
+		live[slot] = true;
+
+		for (int band = 0; band < bands; band++) {
+			int bucket = bandValue(fingerprint, band);
+			int head = heads[band][bucket];
+			nextInBucket[band][slot] = head;
+			prevInBucket[band][slot] = NONE;
+			if (head != NONE) {
+				prevInBucket[band][head] = slot;
+			}
+			heads[band][bucket] = slot;
+		}
+		nextSlot = (slot + 1) % fingerprints.length;
+	}
+
+	private void unlink(int slot) {
+		for (int band = 0; band < bands; band++) {
+			int prev = prevInBucket[band][slot];
+			int next = nextInBucket[band][slot];
+			if (prev != NONE) {
+				nextInBucket[band][prev] = next;
+			} else {
+				heads[band][bandValue(fingerprints[slot], band)] = next;
+			}
+			if (next != NONE) {
+				prevInBucket[band][next] = prev;
+			}
+		}
+	}
+
+	private int bandValue(long fingerprint, int band) {
+		return (int) (fingerprint >>> (band * bandBits)) & bandMask;
+	}
+}
@@ -0,0 +1,42 @@
+package com.fssa.freshstocks.services;
+
+import java.util.Locale;
+
+import com.fssa.freshstocks.constants.UserModuleConstants;
+import com.fssa.freshstocks.services.exception.ServiceException;
+import com.fssa.freshstocks.utils.StripedTokenBucket;
+
+/**
+ * Rate limits login attempts per email and per client before any database or
+ * BCrypt work is done, so credential stuffing is refused in memory.
+ */
+public class LoginThrottle {
+
+	private static final StripedTokenBucket BY_EMAIL = new StripedTokenBucket(UserModuleConstants.LOGIN_THROTTLE_STRIPES,
+			UserModuleConstants.EMAIL_LOGIN_BURST, UserModuleConstants.EMAIL_LOGIN_INTERVAL_MILLIS);
+	private static final StripedTokenBucket BY_CLIENT = new StripedTokenBucket(UserModuleConstants.LOGIN_THROTTLE_STRIPES,
+			UserModuleConstants.CLIENT_LOGIN_BURST, UserModuleConstants.CLIENT_LOGIN_INTERVAL_MILLIS);
+
+	// Private constructor to prevent instantiation
+	private LoginThrottle() {
+		// Do nothing (empty constructor)
+	}
+
+	/**
+	 * Takes one login attempt from the email's and the client's allowance.
+	 *
+	 * @param email     The email being logged in to.
+	 * @param clientKey The client making the attempt, e.g. its IP address, or
+	 *                  null if unknown.
+	 * @throws ServiceException If either allowance is used up.
+	 */
+	public static void checkAllowed(String email, String clientKey) throws ServiceException {
+		// check the client first so a stuffing client does not drain its victims' allowances
+		if (clientKey != null && !BY_CLIENT.tryAcquire(clientKey)) {
+			throw new ServiceException(UserModuleConstants.LOGIN_THROTTLED_MESSAGE);
+		}
+		if (email != null && !BY_EMAIL.tryAcquire(email.trim().toLowerCase(Locale.ROOT))) {
+			throw new ServiceException(UserModuleConstants.LOGIN_THROTTLED_MESSAGE);
+		}
+	}
+}
@@ -0,0 +1,226 @@
+package com.fssa.freshstocks.services;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.fssa.freshstocks.constants.UserModuleConstants;
+import com.fssa.freshstocks.services.exception.ServiceException;
+import com.fssa.freshstocks.utils.PasswordUtil;
+
+/**
+ * Runs BCrypt hashing and verification on a dedicated, bounded executor sized
+ * to the CPU count, so password work is limited by hashing capacity rather
+ * than by the number of request threads, and a login spike cannot starve the
+ * rest of the application.
+ *
+ * Load is shed in two places: a task is rejected when the queue is full, and
+ * a queued task that waited longer than the caller is willing to wait is
+ * dropped without hashing.
+ *
+ * On startup the BCrypt cost is calibrated to the latency budget in the
+ * PASSWORD_HASH_BUDGET_MS environment variable (250 ms by default). New hashes
+ * wait for the calibration, so none is made at a cost about to be replaced.
+ */
+public class PasswordService {
+
+	private static final int THREADS = Runtime.getRuntime().availableProcessors();
+
+	private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(THREADS, THREADS, 0L,
+			TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(THREADS * UserModuleConstants.PASSWORD_QUEUE_PER_THREAD),
+			daemonThreads(), new ThreadPoolExecutor.AbortPolicy());
+
+	private static final LongAdder COMPLETED = new LongAdder();
+	private static final LongAdder TOTAL_NANOS = new LongAdder();
+	private static final LongAccumulator MAX_NANOS = new LongAccumulator(Long::max, 0);
+	private static final LongAdder REJECTED = new LongAdder();
+	private static final LongAdder EXPIRED = new LongAdder();
+	private static final CompletableFuture<Void> CALIBRATION = new CompletableFuture<>();
+
+	static {
+		// tune the BCrypt cost to this host without delaying startup
+		long budget = configuredBudgetMillis();
+		EXECUTOR.execute(() -> {
+			try {
+				PasswordUtil.calibrate(budget);
+			} finally {
+				// a failed calibration keeps the default cost
+				CALIBRATION.complete(null);
+			}
+		});
+	}
+
+	// Private constructor to prevent instantiation
+	private PasswordService() {
+		// Do nothing (empty constructor)
+	}
+
+	/**
+	 * Hashes a plain password on the password executor.
+	 *
+	 * @param plainPassword The plain password to hash.
+	 * @return A future completed with the hashed password, or failed with a
+	 *         {@link ServiceException} if the executor is saturated.
+	 */
+	public static CompletableFuture<String> hashPassword(String plainPassword) {
+		return submit(() -> {
+			CALIBRATION.join();
+			return PasswordUtil.hashPassword(plainPassword);
+		});
+	}
+
+	/**
+	 * Checks a plain password against a BCrypt hash on the password executor.
+	 *
+	 * @param plainPassword  The plain password to check.
+	 * @param hashedPassword The stored hash.
+	 * @return A future completed with true if the password matches, or failed
+	 *         with a {@link ServiceException} if the executor is saturated.
+	 */
+	public static CompletableFuture<Boolean> verifyPassword(String plainPassword, String hashedPassword) {
+		return submit(() -> PasswordUtil.checkPassword(plainPassword, hashedPassword));
+	}
+
+	/**
+	 * Waits for a password future on behalf of a request thread.
+	 *
+	 * @param future The future returned by this service.
+	 * @return The result of the future.
+	 * @throws ServiceException If the work was rejected, failed or timed out.
+	 */
+	public static <T> T await(CompletableFuture<T> future) throws ServiceException {
+		try {
+			return future.get(UserModuleConstants.PASSWORD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ServiceException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof ServiceException) {
+				throw (ServiceException) e.getCause();
+			}
+			throw new ServiceException(e.getCause());
+		} catch (TimeoutException e) {
+			future.cancel(false);
+			throw new ServiceException(UserModuleConstants.PASSWORD_BUSY_MESSAGE);
+		}
+	}
+
+	/**
+	 * @return Whether the BCrypt cost for this host has been chosen.
+	 */
+	public static boolean isCalibrated() {
+		return CALIBRATION.isDone();
+	}
+
+	/**
+	 * @return The number of password tasks waiting for a hashing thread.
+	 */
+	public static int getQueueDepth() {
+		return EXECUTOR.getQueue().size();
+	}
+
+	/**
+	 * @return The number of password tasks currently hashing.
+	 */
+	public static int getActiveCount() {
+		return EXECUTOR.getActiveCount();
+	}
+
+	/**
+	 * @return The number of tasks rejected because the queue was full.
+	 */
+	public static long getRejectedCount() {
+		return REJECTED.sum();
+	}
+
+	/**
+	 * @return The number of queued tasks dropped because their caller had
+	 *         already given up waiting.
+	 */
+	public static long getExpiredCount() {
+		return EXPIRED.sum();
+	}
+
+	/**
+	 * @return The number of hash and verify operations completed.
+	 */
+	public static long getCompletedCount() {
+		return COMPLETED.sum();
+	}
+
+	/**
+	 * @return The average time spent in BCrypt per operation, in milliseconds.
+	 */
+	public static double getAverageLatencyMillis() {
+		long completed = COMPLETED.sum();
+		return completed == 0 ? 0 : TOTAL_NANOS.sum() / (completed * 1_000_000.0);
+	}
+
+	/**
+	 * @return The longest time spent in BCrypt by one operation, in
+	 *         milliseconds.
+	 */
+	public static double getMaxLatencyMillis() {
+		return MAX_NANOS.get() / 1_000_000.0;
+	}
+
+	private static <T> CompletableFuture<T> submit(Supplier<T> work) {
+		long queuedAt = System.nanoTime();
+		CompletableFuture<T> future = new CompletableFuture<>();
+		try {
+			EXECUTOR.execute(() -> run(work, future, queuedAt));
+		} catch (RejectedExecutionException e) {
+			REJECTED.increment();
+			future.completeExceptionally(new ServiceException(UserModuleConstants.PASSWORD_BUSY_MESSAGE));
+		}
+		return future;
+	}
+
+	private static <T> void run(Supplier<T> work, CompletableFuture<T> future, long queuedAt) {
+		long start = System.nanoTime();
+		if (future.isDone() || start - queuedAt > TimeUnit.SECONDS.toNanos(UserModuleConstants.PASSWORD_TIMEOUT_SECONDS)) {
+			// the caller has timed out or cancelled, so the hash would be wasted
+			EXPIRED.increment();
+			future.completeExceptionally(new ServiceException(UserModuleConstants.PASSWORD_BUSY_MESSAGE));
+			return;
+		}
+		try {
+			T result = work.get();
+			long elapsed = System.nanoTime() - start;
+			COMPLETED.increment();
+			TOTAL_NANOS.add(elapsed);
+			MAX_NANOS.accumulate(elapsed);
+			future.complete(result);
+		} catch (RuntimeException e) {
+			future.completeExceptionally(e);
+		}
+	}
+
+	private static long configuredBudgetMillis() {
+		String budget = System.getenv(UserModuleConstants.PASSWORD_BUDGET_ENV);
+		try {
+			return budget == null || budget.isBlank() ? UserModuleConstants.DEFAULT_PASSWORD_BUDGET_MILLIS
+					: Long.parseLong(budget.trim());
+		} catch (NumberFormatException e) {
+			return UserModuleConstants.DEFAULT_PASSWORD_BUDGET_MILLIS;
+		}
+	}
+
+	private static ThreadFactory daemonThreads() {
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, "password-hasher-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
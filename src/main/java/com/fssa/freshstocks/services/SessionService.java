@@ -0,0 +1,161 @@
+package com.fssa.freshstocks.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fssa.freshstocks.constants.UserModuleConstants;
+import com.fssa.freshstocks.model.User;
+import com.fssa.freshstocks.services.exception.ServiceException;
+
+/**
+ * Issues and verifies signed session tokens, so a request that is already
+ * logged in is authenticated in memory instead of with a database lookup and
+ * a BCrypt check.
+ *
+ * A token is base64url(payload) + "." + base64url(HMAC-SHA256(payload)), where
+ * the payload is "userId|issuedAt|expiresAt|tokenId|email". The signing key is
+ * read from the SESSION_SIGNING_KEY environment variable; without it a random
+ * key is generated and tokens do not survive a restart.
+ */
+public class SessionService {
+
+	private static final String ALGORITHM = "HmacSHA256";
+	private static final String SEPARATOR = "|";
+	private static final int TOKEN_ID_BYTES = 16;
+
+	private static final SecureRandom RANDOM = new SecureRandom();
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private static final SecretKeySpec KEY = new SecretKeySpec(signingKey(), ALGORITHM);
+	private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(SessionService::newMac);
+
+	// token ID -> expiry of revoked tokens; entries are dropped once the token expires anyway
+	private static final Map<String, Long> REVOKED = new ConcurrentHashMap<>();
+
+	// Private constructor to prevent instantiation
+	private SessionService() {
+		// Do nothing (empty constructor)
+	}
+
+	/**
+	 * Issues a session token for a user whose credentials were verified.
+	 *
+	 * @param user The logged in user; the user ID and email are embedded.
+	 * @return The signed token.
+	 */
+	public static String issueToken(User user) {
+		long now = System.currentTimeMillis();
+		byte[] tokenId = new byte[TOKEN_ID_BYTES];
+		RANDOM.nextBytes(tokenId);
+
+		String payload = user.getUserId() + SEPARATOR + now + SEPARATOR
+				+ (now + UserModuleConstants.SESSION_TTL_MILLIS) + SEPARATOR + ENCODER.encodeToString(tokenId)
+				+ SEPARATOR + user.getEmail();
+		byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+		return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+	}
+
+	/**
+	 * Verifies a session token without touching the database.
+	 *
+	 * @param token The token issued by {@link #issueToken(User)}.
+	 * @return A User holding the user ID and email of the session.
+	 * @throws ServiceException If the token is malformed, forged, expired or
+	 *                          revoked.
+	 */
+	public static User authenticate(String token) throws ServiceException {
+		String[] fields = verify(token);
+		if (REVOKED.containsKey(fields[3])) {
+			throw new ServiceException(UserModuleConstants.INVALID_SESSION_MESSAGE);
+		}
+		return new User(Integer.parseInt(fields[0]), null, fields[4], null);
+	}
+
+	/**
+	 * Revokes a session token until it expires, e.g. on logout.
+	 *
+	 * @param token The token to revoke.
+	 * @throws ServiceException If the token is not valid, or the revocation set
+	 *                          is full of unexpired tokens.
+	 */
+	public static void revoke(String token) throws ServiceException {
+		String[] fields = verify(token);
+		if (REVOKED.size() >= UserModuleConstants.MAX_REVOKED_SESSIONS) {
+			purgeExpired();
+			if (REVOKED.size() >= UserModuleConstants.MAX_REVOKED_SESSIONS) {
+				throw new ServiceException(UserModuleConstants.SESSION_REVOCATION_FULL_MESSAGE);
+			}
+		}
+		REVOKED.put(fields[3], Long.parseLong(fields[2]));
+	}
+
+	/**
+	 * @return The number of revoked tokens that have not expired yet.
+	 */
+	public static int getRevokedCount() {
+		purgeExpired();
+		return REVOKED.size();
+	}
+
+	// returns the payload fields of a token with a valid signature that has not expired
+	private static String[] verify(String token) throws ServiceException {
+		try {
+			int dot = token == null ? -1 : token.indexOf('.');
+			if (dot < 0) {
+				throw new ServiceException(UserModuleConstants.INVALID_SESSION_MESSAGE);
+			}
+			byte[] payload = DECODER.decode(token.substring(0, dot));
+			byte[] signature = DECODER.decode(token.substring(dot + 1));
+			if (!MessageDigest.isEqual(sign(payload), signature)) {
+				throw new ServiceException(UserModuleConstants.INVALID_SESSION_MESSAGE);
+			}
+
+			String[] fields = new String(payload, StandardCharsets.UTF_8).split("\\" + SEPARATOR, 5);
+			if (fields.length != 5 || Long.parseLong(fields[2]) <= System.currentTimeMillis()) {
+				throw new ServiceException(UserModuleConstants.INVALID_SESSION_MESSAGE);
+			}
+			return fields;
+		} catch (IllegalArgumentException e) {
+			// bad base64 or number
+			throw new ServiceException(UserModuleConstants.INVALID_SESSION_MESSAGE);
+		}
+	}
+
+	private static void purgeExpired() {
+		long now = System.currentTimeMillis();
+		REVOKED.values().removeIf(expiresAt -> expiresAt <= now);
+	}
+
+	private static byte[] sign(byte[] payload) {
+		return MAC.get().doFinal(payload);
+	}
+
+	private static Mac newMac() {
+		try {
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(KEY);
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static byte[] signingKey() {
+		String key = System.getenv(UserModuleConstants.SESSION_KEY_ENV);
+		if (key != null && !key.isBlank()) {
+			return key.getBytes(StandardCharsets.UTF_8);
+		}
+		byte[] randomKey = new byte[32];
+		RANDOM.nextBytes(randomKey);
+		return randomKey;
+	}
+}
@@ -0,0 +1,154 @@
+package com.fssa.freshstocks.services;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fssa.freshstocks.dao.UserDAO;
+import com.fssa.freshstocks.dao.exception.DAOException;
+import com.fssa.freshstocks.model.User;
+import com.fssa.freshstocks.utils.LruCache;
+
+/**
+ * Shared cache of user profiles, looked up by email or by user ID.
+ *
+ * Profiles are stored once, by user ID, with a second index from email to user
+ * ID. They are loaded without the password hash and hold the avatar by
+ * reference only (see {@link UserDAO#getUserProfileById(int)}). Every write to
+ * a user must call one of the invalidate methods; a load that overlaps an
+ * invalidation is not cached.
+ */
+public class UserCache {
+
+	private static final int MAX_USERS = 10000;
+	private static final long TTL_MILLIS = 5L * 60 * 1000;
+
+	private static final LruCache<Integer, User> BY_ID = new LruCache<>(MAX_USERS, TTL_MILLIS);
+	private static final LruCache<String, Integer> ID_BY_EMAIL = new LruCache<>(MAX_USERS, TTL_MILLIS);
+	private static final AtomicLong GENERATION = new AtomicLong();
+
+	// Private constructor to prevent instantiation
+	private UserCache() {
+		// Do nothing (empty constructor)
+	}
+
+	/**
+	 * Retrieves a user profile by email.
+	 *
+	 * @param email The email address of the user.
+	 * @return A copy of the profile, or null if there is no such user.
+	 * @throws DAOException If the profile could not be loaded.
+	 */
+	public static User getByEmail(String email) throws DAOException {
+		String key = emailKey(email);
+		Integer userId = ID_BY_EMAIL.get(key);
+		User cached = userId != null ? BY_ID.get(userId) : null;
+		if (cached != null && emailKey(cached.getEmail()).equals(key)) {
+			return copy(cached);
+		}
+
+		long generation = GENERATION.get();
+		User loaded = new UserDAO().getUserProfileByEmail(email);
+		store(loaded, generation);
+		return copy(loaded);
+	}
+
+	/**
+	 * Retrieves a user profile by user ID.
+	 *
+	 * @param userId The unique identifier of the user.
+	 * @return A copy of the profile, or null if there is no such user.
+	 * @throws DAOException If the profile could not be loaded.
+	 */
+	public static User getById(int userId) throws DAOException {
+		User cached = BY_ID.get(userId);
+		if (cached != null) {
+			return copy(cached);
+		}
+
+		long generation = GENERATION.get();
+		User loaded = new UserDAO().getUserProfileById(userId);
+		store(loaded, generation);
+		return copy(loaded);
+	}
+
+	/**
+	 * Drops the cached profile of the user with the given email.
+	 *
+	 * @param email The email address of the user.
+	 */
+	public static synchronized void invalidate(String email) {
+		GENERATION.incrementAndGet();
+		String key = emailKey(email);
+		Integer userId = ID_BY_EMAIL.get(key);
+		ID_BY_EMAIL.remove(key);
+		if (userId != null) {
+			BY_ID.remove(userId);
+		} else {
+			// the email index is evicted on its own, while the profile may still be hot by ID
+			BY_ID.removeIf(user -> emailKey(user.getEmail()).equals(key));
+		}
+	}
+
+	/**
+	 * Drops the cached profile of the user with the given ID.
+	 *
+	 * @param userId The unique identifier of the user.
+	 */
+	public static synchronized void invalidate(int userId) {
+		GENERATION.incrementAndGet();
+		User cached = BY_ID.get(userId);
+		BY_ID.remove(userId);
+		if (cached != null) {
+			ID_BY_EMAIL.remove(emailKey(cached.getEmail()));
+		}
+	}
+
+	/**
+	 * @return The current write generation; a profile loaded before a later
+	 *         write is not cached.
+	 */
+	static long generation() {
+		return GENERATION.get();
+	}
+
+	/**
+	 * @param userId The unique identifier of the user.
+	 * @return Whether the profile is cached.
+	 */
+	static boolean isCached(int userId) {
+		return BY_ID.get(userId) != null;
+	}
+
+	/**
+	 * Drops every cached profile.
+	 */
+	public static synchronized void invalidateAll() {
+		GENERATION.incrementAndGet();
+		BY_ID.clear();
+		ID_BY_EMAIL.clear();
+	}
+
+	// caches a loaded profile unless a write happened since the load started
+	static synchronized void store(User user, long generation) {
+		if (user == null || GENERATION.get() != generation) {
+			return;
+		}
+		BY_ID.put(user.getUserId(), user);
+		ID_BY_EMAIL.put(emailKey(user.getEmail()), user.getUserId());
+	}
+
+	// MySQL compares emails case-insensitively
+	private static String emailKey(String email) {
+		return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+	}
+
+	// User is mutable, so callers never receive the cached instance
+	private static User copy(User user) {
+		if (user == null) {
+			return null;
+		}
+		return new User(user.getUserId(), user.getUsername(), user.getGender(), user.getMobileNumber(),
+				user.getDateOfBirth(), user.getEmail(), null, user.getIsSeller(), user.getCreatedAt(),
+				user.getModifiedAt(), user.getIsDeleted(), user.getProfilePic(), user.getPurchasedCourses());
+	}
+}
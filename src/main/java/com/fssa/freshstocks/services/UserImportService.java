@@ -0,0 +1,181 @@
+package com.fssa.freshstocks.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import com.fssa.freshstocks.constants.UserModuleConstants;
+import com.fssa.freshstocks.dao.UserDAO;
+import com.fssa.freshstocks.dao.exception.DAOException;
+import com.fssa.freshstocks.model.User;
+import com.fssa.freshstocks.model.UserImportError;
+import com.fssa.freshstocks.model.UserImportReport;
+import com.fssa.freshstocks.services.exception.ServiceException;
+import com.fssa.freshstocks.utils.CsvUtil;
+import com.fssa.freshstocks.utils.PasswordUtil;
+import com.fssa.freshstocks.validation.UserValidator;
+import com.fssa.freshstocks.validation.exception.InvalidUserException;
+
+/**
+ * Imports users in bulk from a CSV, e.g. when migrating from a partner
+ * platform.
+ *
+ * The CSV is streamed in chunks of {@link UserModuleConstants#IMPORT_CHUNK_SIZE}
+ * rows. For each chunk the rows are parsed and validated in parallel, emails
+ * already seen in the file or registered in the database are rejected with
+ * one query per few hundred emails, the remaining passwords are hashed in
+ * parallel on a pool with one thread per core, and the users are inserted with
+ * one JDBC batch. Every row that is not imported is reported with its line
+ * number.
+ */
+public class UserImportService {
+
+	/**
+	 * Imports the users of a CSV whose first line is
+	 * {@link UserModuleConstants#IMPORT_CSV_HEADER}.
+	 *
+	 * @param csv The CSV content; it is closed when the import ends.
+	 * @return The number of users imported and the rows that were not.
+	 * @throws ServiceException If the CSV cannot be read, its header is wrong or
+	 *                          the database fails.
+	 */
+	public UserImportReport importUsers(Reader csv) throws ServiceException {
+		UserImportReport report = new UserImportReport();
+		Set<String> seenEmails = new HashSet<>();
+		ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+		try (BufferedReader reader = new BufferedReader(csv)) {
+			String header = reader.readLine();
+			if (header == null || !header.trim().replace(" ", "").equalsIgnoreCase(UserModuleConstants.IMPORT_CSV_HEADER)) {
+				throw new ServiceException(UserModuleConstants.IMPORT_HEADER_MESSAGE);
+			}
+
+			List<ImportRow> chunk = new ArrayList<>(UserModuleConstants.IMPORT_CHUNK_SIZE);
+			int lineNumber = 1;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (line.isBlank()) {
+					continue;
+				}
+				chunk.add(new ImportRow(lineNumber, line));
+				if (chunk.size() == UserModuleConstants.IMPORT_CHUNK_SIZE) {
+					importChunk(chunk, seenEmails, pool, report);
+					chunk.clear();
+				}
+			}
+			importChunk(chunk, seenEmails, pool, report);
+		} catch (IOException | DAOException e) {
+			throw new ServiceException(UserModuleConstants.IMPORT_ERROR_MESSAGE + e);
+		} finally {
+			pool.shutdown();
+		}
+		return report;
+	}
+
+	private static void importChunk(List<ImportRow> chunk, Set<String> seenEmails, ForkJoinPool pool,
+			UserImportReport report) throws DAOException {
+		if (chunk.isEmpty()) {
+			return;
+		}
+		// a parallel stream started inside the pool runs on the pool's threads
+		pool.submit(() -> chunk.parallelStream().forEach(ImportRow::parseAndValidate)).join();
+
+		// dedupe before hashing, so duplicates never cost a BCrypt round
+		List<ImportRow> candidates = new ArrayList<>();
+		for (ImportRow row : chunk) {
+			if (row.error != null) {
+				report.addError(new UserImportError(row.lineNumber, row.emailKey, row.error));
+			} else if (!seenEmails.add(row.emailKey)) {
+				report.addError(new UserImportError(row.lineNumber, row.emailKey,
+						UserModuleConstants.IMPORT_DUPLICATE_IN_FILE_MESSAGE));
+			} else {
+				candidates.add(row);
+			}
+		}
+		if (candidates.isEmpty()) {
+			return;
+		}
+		List<String> emails = new ArrayList<>(candidates.size());
+		for (ImportRow row : candidates) {
+			emails.add(row.emailKey);
+		}
+		Set<String> registered = new UserDAO().getExistingEmails(emails);
+
+		List<ImportRow> toInsert = new ArrayList<>(candidates.size());
+		for (ImportRow row : candidates) {
+			if (registered.contains(row.emailKey)) {
+				report.addError(new UserImportError(row.lineNumber, row.emailKey,
+						UserModuleConstants.IMPORT_EMAIL_EXISTS_MESSAGE));
+			} else {
+				toInsert.add(row);
+			}
+		}
+		if (toInsert.isEmpty()) {
+			return;
+		}
+
+		pool.submit(() -> toInsert.parallelStream()
+				.forEach(row -> row.user.setPassword(PasswordUtil.hashPassword(row.user.getPassword())))).join();
+
+		List<User> users = new ArrayList<>(toInsert.size());
+		for (ImportRow row : toInsert) {
+			users.add(row.user);
+		}
+		boolean[] inserted = new UserDAO().registerBatch(users);
+		int insertedCount = 0;
+		for (int i = 0; i < inserted.length; i++) {
+			if (inserted[i]) {
+				insertedCount++;
+			} else {
+				ImportRow row = toInsert.get(i);
+				report.addError(new UserImportError(row.lineNumber, row.emailKey,
+						UserModuleConstants.IMPORT_INSERT_FAILED_MESSAGE));
+			}
+		}
+		report.addImported(insertedCount);
+	}
+
+	/**
+	 * One CSV row on its way through the import.
+	 */
+	private static class ImportRow {
+
+		private final int lineNumber;
+		private final String line;
+		private User user;
+		private String emailKey;
+		private String error;
+
+		ImportRow(int lineNumber, String line) {
+			this.lineNumber = lineNumber;
+			this.line = line;
+		}
+
+		void parseAndValidate() {
+			try {
+				List<String> fields = CsvUtil.parseLine(line);
+				if (fields.size() != 7) {
+					error = UserModuleConstants.IMPORT_COLUMNS_MESSAGE;
+					return;
+				}
+				emailKey = fields.get(4).toLowerCase(Locale.ROOT);
+				if (!fields.get(6).equals("0") && !fields.get(6).equals("1")) {
+					error = UserModuleConstants.IMPORT_SELLER_MESSAGE;
+					return;
+				}
+				user = new User(fields.get(0), fields.get(1), fields.get(2), fields.get(3), fields.get(4),
+						fields.get(5), Integer.parseInt(fields.get(6)));
+				UserValidator.validateUser(user);
+			} catch (InvalidUserException | IllegalArgumentException e) {
+				error = e.getMessage();
+			}
+		}
+	}
+}
@@ -1,15 +1,36 @@
 package com.fssa.freshstocks.services;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.fssa.freshstocks.constants.UserModuleConstants;
 import com.fssa.freshstocks.dao.UserDAO;
-import com.fssa.freshstocks.utils.PasswordUtil;
 import com.fssa.freshstocks.dao.exception.DAOException;
+import com.fssa.freshstocks.model.Avatar;
 import com.fssa.freshstocks.model.User;
+import com.fssa.freshstocks.model.UserListFilter;
 import com.fssa.freshstocks.services.exception.ServiceException;
+import com.fssa.freshstocks.utils.AvatarStore;
+import com.fssa.freshstocks.utils.PasswordUtil;
 import com.fssa.freshstocks.validation.UserValidator;
 import com.fssa.freshstocks.validation.exception.InvalidUserException;
 
 public class UserService {
 
+	// writes upgraded password hashes, so the JDBC call does not hold a hashing thread;
+	// a dropped rehash is retried on the next login
+	private static final ThreadPoolExecutor REHASH_WRITER = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(UserModuleConstants.REHASH_QUEUE_CAPACITY), runnable -> {
+				Thread thread = new Thread(runnable, "password-rehash-writer");
+				thread.setDaemon(true);
+				return thread;
+			}, new ThreadPoolExecutor.DiscardPolicy());
+
 	/**
 	 * Registers a new user.
 	 *
@@ -19,17 +40,18 @@ public class UserService {
 	 *                          process.
 	 */
 	public boolean registerUser(User user) throws ServiceException {
+		Objects.requireNonNull(user, "User is null.");
 		UserDAO userDAO = new UserDAO();
-		User user1 = new User(user.getEmail(), user.getPassword());
 		try {
 			UserValidator.validateUser(user);
+			// check the email before paying for a BCrypt hash
+			if (userDAO.emailExist(user)) {
+				return false; // Email already exists
+			}
 			// set the hashed password from the plain password
-			user.setPassword(PasswordUtil.hashPassword(user.getPassword()));
-	        if (userDAO.emailExist(user1)) {
-	            return false; // Email already exists
-	        } else {
-	            return userDAO.register(user);
-	        }
+			user.setPassword(PasswordService.await(PasswordService.hashPassword(user.getPassword())));
+			// the unique email index rejects a concurrent registration of the same email
+			return userDAO.register(user);
 		} catch (DAOException | InvalidUserException e) {
 			throw new ServiceException(e);
 		}
@@ -43,6 +65,62 @@ public class UserService {
 	 * @throws ServiceException If an error occurs during the login process.
 	 */
 	public boolean loginUser(User user) throws ServiceException {
+		return loginUser(user, null);
+	}
+
+	/**
+	 * Attempts to log in a user, refusing the attempt before any database or
+	 * password work when the email or the client has made too many attempts.
+	 *
+	 * @param user      The User object containing the user's login credentials.
+	 * @param clientKey The client making the attempt, e.g. its IP address, or
+	 *                  null if unknown.
+	 * @return true if the login was successful, false otherwise.
+	 * @throws ServiceException If the attempt is throttled or the login fails.
+	 */
+	public boolean loginUser(User user, String clientKey) throws ServiceException {
+		LoginThrottle.checkAllowed(user.getEmail(), clientKey);
+		verifyCredentials(user);
+		return true;
+	}
+
+	/**
+	 * Logs in a user and issues a session token, so later requests can be
+	 * authenticated with {@link #authenticate(String)} instead of the password.
+	 *
+	 * @param user      The User object containing the user's login credentials.
+	 * @param clientKey The client making the attempt, or null if unknown.
+	 * @return The signed session token.
+	 * @throws ServiceException If the attempt is throttled or the login fails.
+	 */
+	public String loginAndIssueToken(User user, String clientKey) throws ServiceException {
+		LoginThrottle.checkAllowed(user.getEmail(), clientKey);
+		return SessionService.issueToken(verifyCredentials(user));
+	}
+
+	/**
+	 * Authenticates a request by its session token, without a database lookup.
+	 *
+	 * @param token The session token issued at login.
+	 * @return A User holding the user ID and email of the session.
+	 * @throws ServiceException If the token is invalid, expired or revoked.
+	 */
+	public User authenticate(String token) throws ServiceException {
+		return SessionService.authenticate(token);
+	}
+
+	/**
+	 * Logs out a session by revoking its token.
+	 *
+	 * @param token The session token issued at login.
+	 * @throws ServiceException If the token is invalid or cannot be revoked.
+	 */
+	public void logout(String token) throws ServiceException {
+		SessionService.revoke(token);
+	}
+
+	// returns the stored user (ID, email, hash) when the password matches
+	private User verifyCredentials(User user) throws ServiceException {
 		UserDAO userDAO = new UserDAO();
 		try {
 			User gettedUser = userDAO.login(user);
@@ -50,15 +128,32 @@ public class UserService {
 			if (gettedUser == null) {
 				throw new DAOException("User is not registered");
 			}
-			if (!PasswordUtil.checkPassword(user.getPassword(), gettedUser.getPassword())) {
+			if (!PasswordService.await(PasswordService.verifyPassword(user.getPassword(), gettedUser.getPassword()))) {
 				throw new ServiceException("Login Failed - password mismatch");
 			}
-			return true;
+			rehashIfNeeded(user.getPassword(), gettedUser);
+			return gettedUser;
 		} catch (DAOException e) {
 			throw new ServiceException(e);
 		}
 	}
 
+	// upgrades a hash made at an old BCrypt cost, off the login path
+	private static void rehashIfNeeded(String plainPassword, User storedUser) {
+		String oldHash = storedUser.getPassword();
+		// until calibration ends the target cost is not known yet
+		if (!PasswordService.isCalibrated() || !PasswordUtil.needsRehash(oldHash)) {
+			return;
+		}
+		PasswordService.hashPassword(plainPassword).thenAcceptAsync(newHash -> {
+			try {
+				new UserDAO().rehashPassword(storedUser.getEmail(), oldHash, newHash);
+			} catch (DAOException e) {
+				// the old hash stays valid; the next login retries
+			}
+		}, REHASH_WRITER);
+	}
+
 	/**
 	 * Updates user details based on the given user email.
 	 *
@@ -72,12 +167,99 @@ public class UserService {
 		try {
 			userDAO.emailAlreadyExist(userEmail);
 			UserValidator.validateUpdateUser(user);
-			return userDAO.update(user, userEmail);
+			storeInlineAvatar(user);
+			boolean updated = userDAO.update(user, userEmail);
+			UserCache.invalidate(userEmail);
+			// the avatar may have changed; comment authors are keyed by user ID
+			AuthorSummaryCache.invalidateAll();
+			return updated;
 		} catch (DAOException | InvalidUserException e) {
 			throw new ServiceException(e);
 		}
 	}
 	
+	// moves an uploaded data: avatar into the avatar store, keeping only its reference on the row
+	private static void storeInlineAvatar(User user) throws ServiceException {
+		byte[] content = AvatarStore.decodeDataUri(user.getProfilePic());
+		if (content == null) {
+			return;
+		}
+		if (!AvatarStore.isAllowedImage(content)) {
+			throw new ServiceException(UserModuleConstants.AVATAR_UNSUPPORTED_MESSAGE);
+		}
+		try {
+			user.setProfilePic(AvatarStore.REFERENCE_PREFIX + AvatarStore.getInstance().put(content));
+		} catch (IOException e) {
+			throw new ServiceException(UserModuleConstants.AVATAR_ERROR_MESSAGE + e);
+		}
+	}
+
+	/**
+	 * Retrieves an avatar image by its hash, as referenced by "avatars/{hash}"
+	 * profile pictures. The content of a hash never changes, so a client that
+	 * sends the avatar's ETag back gets a not-modified avatar without the file
+	 * being read.
+	 *
+	 * @param hash        The avatar hash.
+	 * @param ifNoneMatch The If-None-Match header sent by the client, or null.
+	 * @return The avatar, with no content if the client copy is current.
+	 * @throws ServiceException If there is no such avatar or it cannot be read.
+	 */
+	public Avatar getAvatar(String hash, String ifNoneMatch) throws ServiceException {
+		AvatarStore store = AvatarStore.getInstance();
+		if (!store.contains(hash)) {
+			throw new ServiceException(UserModuleConstants.AVATAR_NOT_FOUND_MESSAGE);
+		}
+		Avatar avatar = new Avatar(hash, null, null);
+		if (ifNoneMatch != null && (ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(avatar.getETag()))) {
+			return avatar;
+		}
+		try {
+			byte[] content = store.get(hash);
+			return new Avatar(hash, AvatarStore.contentTypeOf(content), content);
+		} catch (IOException e) {
+			throw new ServiceException(UserModuleConstants.AVATAR_ERROR_MESSAGE + e);
+		}
+	}
+
+	/**
+	 * Moves every legacy inline avatar into the avatar store, in batches. Safe to
+	 * run repeatedly and while the application is serving requests.
+	 *
+	 * @return The number of avatars migrated.
+	 * @throws ServiceException If the database or the avatar store fails.
+	 */
+	public int migrateInlineAvatars() throws ServiceException {
+		UserDAO userDAO = new UserDAO();
+		AvatarStore store = AvatarStore.getInstance();
+		int migrated = 0;
+		int lastUserId = 0;
+		try {
+			Map<Integer, String> batch;
+			do {
+				batch = userDAO.getInlineAvatars(lastUserId, UserModuleConstants.AVATAR_MIGRATION_BATCH_SIZE);
+				for (Map.Entry<Integer, String> avatar : batch.entrySet()) {
+					lastUserId = avatar.getKey();
+					byte[] content = AvatarStore.decodeDataUri(avatar.getValue());
+					// undecodable and non-raster (e.g. SVG) avatars stay inline and are served as before;
+					// a row whose avatar was replaced since it was read is left for the next run
+					if (content != null && AvatarStore.isAllowedImage(content)
+							&& userDAO.setAvatarHash(lastUserId, store.put(content), avatar.getValue())) {
+						migrated++;
+					}
+				}
+			} while (batch.size() == UserModuleConstants.AVATAR_MIGRATION_BATCH_SIZE);
+		} catch (DAOException | IOException e) {
+			throw new ServiceException(e);
+		} finally {
+			if (migrated > 0) {
+				UserCache.invalidateAll();
+				AuthorSummaryCache.invalidateAll();
+			}
+		}
+		return migrated;
+	}
+
 	/**
 	 * Updates the user's password.
 	 *
@@ -91,8 +273,10 @@ public class UserService {
 		try {
 			userDAO.emailAlreadyExist(userEmail);
 			// set the hashed password from the plain password
-			String newPassword = PasswordUtil.hashPassword(password);
-			return userDAO.updatePassword(newPassword, userEmail);
+			String newPassword = PasswordService.await(PasswordService.hashPassword(password));
+			boolean updated = userDAO.updatePassword(newPassword, userEmail);
+			UserCache.invalidate(userEmail);
+			return updated;
 		} catch (DAOException e) {
 			throw new ServiceException(e);
 		}
@@ -111,7 +295,9 @@ public class UserService {
 		UserDAO userDAO = new UserDAO();
 		try {
 			if (userDAO.emailAlreadyExist(userEmail)) {
-				return userDAO.delete(userEmail, isDeleted);
+				boolean deleted = userDAO.delete(userEmail, isDeleted);
+				UserCache.invalidate(userEmail);
+				return deleted;
 			} else {
 				return false;
 			}
@@ -137,7 +323,35 @@ public class UserService {
 	}
 	
 	/**
-	 * Retrieves a user based on their email address.
+	 * Retrieves one page of the admin user listing. Pass the user ID of the last
+	 * user on a page to get the next one; each page costs the same however deep
+	 * it is. Pages are in user ID order, or with a creation time range in
+	 * creation order.
+	 *
+	 * @param filter      The filter to apply, or null for all users.
+	 * @param afterUserId The last user ID of the previous page, or 0 for the
+	 *                    first page.
+	 * @param pageSize    The number of users per page, at most
+	 *                    {@link UserModuleConstants#MAX_ADMIN_PAGE_SIZE}.
+	 * @return The users on the page; fewer than {@code pageSize} means the last
+	 *         page.
+	 * @throws ServiceException If the page size is invalid or the listing fails.
+	 */
+	public List<User> listUsers(UserListFilter filter, int afterUserId, int pageSize) throws ServiceException {
+		if (pageSize < 1 || pageSize > UserModuleConstants.MAX_ADMIN_PAGE_SIZE) {
+			throw new ServiceException(UserModuleConstants.INVALID_PAGE_SIZE_MESSAGE);
+		}
+		UserListFilter effectiveFilter = filter != null ? filter : new UserListFilter(null, null, null, null);
+		try {
+			return new UserDAO().getUsersPage(effectiveFilter, Math.max(0, afterUserId), pageSize);
+		} catch (DAOException e) {
+			throw new ServiceException(e);
+		}
+	}
+
+	/**
+	 * Retrieves a user based on their email address, from the user cache when
+	 * possible. The password hash is not included.
 	 *
 	 * @param email The email address of the user.
 	 * @return The user associated with the provided email.
@@ -145,14 +359,15 @@ public class UserService {
 	 */
     public User getUserByEmail(String email) throws ServiceException {
 		try {
-			return UserDAO.fetchUserIDByEmail(email);
+			return UserCache.getByEmail(email);
 		} catch (DAOException e) {
 			throw new ServiceException("User with email " + email + " not found.");
 		}
     }
     
     /**
-     * Retrieves a user based on their user ID.
+     * Retrieves a user based on their user ID, from the user cache when
+     * possible. The password hash is not included.
      *
      * @param userId The unique identifier of the user.
      * @return The user associated with the provided user ID.
@@ -160,7 +375,7 @@ public class UserService {
      */
     public User getUserByUserId(int userId) throws ServiceException {
 		try {
-			return UserDAO.fetchUserIDByEmail(userId);
+			return UserCache.getById(userId);
 		} catch (DAOException e) {
 			 throw new ServiceException("User with userId " + userId + " not found.");
 		}
@@ -0,0 +1,171 @@
+package com.fssa.freshstocks.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Immutable Aho-Corasick automaton matching many terms in one linear pass.
+ *
+ * Matching is case-insensitive and only whole words count, so a banned term
+ * does not match inside a longer word.
+ */
+public class AhoCorasickMatcher {
+
+	private static final int ROOT = 0;
+
+	// transitions of node n: keys[n] (sorted) -> targets[n]
+	private final char[][] keys;
+	private final int[][] targets;
+	private final int[] fail;
+	// length of the term ending at a node, or 0
+	private final int[] termLength;
+	// nearest node on the fail chain that ends a term, or -1
+	private final int[] outputLink;
+	private final String[] terms;
+
+	/**
+	 * Compiles the automaton for the given terms. Blank terms are ignored.
+	 *
+	 * @param bannedTerms The terms to match.
+	 */
+	public AhoCorasickMatcher(Collection<String> bannedTerms) {
+		List<Map<Character, Integer>> trie = new ArrayList<>();
+		List<String> nodeTerms = new ArrayList<>();
+		trie.add(new TreeMap<>());
+		nodeTerms.add(null);
+
+		for (String term : bannedTerms) {
+			String normalized = normalize(term);
+			if (normalized.isEmpty()) {
+				continue;
+			}
+			int node = ROOT;
+			for (int i = 0; i < normalized.length(); i++) {
+				char c = normalized.charAt(i);
+				Integer next = trie.get(node).get(c);
+				if (next == null) {
+					next = trie.size();
+					trie.add(new TreeMap<>());
+					nodeTerms.add(null);
+					trie.get(node).put(c, next);
+				}
+				node = next;
+			}
+			nodeTerms.set(node, normalized);
+		}
+
+		int size = trie.size();
+		keys = new char[size][];
+		targets = new int[size][];
+		fail = new int[size];
+		termLength = new int[size];
+		outputLink = new int[size];
+		terms = nodeTerms.toArray(new String[0]);
+
+		for (int n = 0; n < size; n++) {
+			Map<Character, Integer> children = trie.get(n);
+			keys[n] = new char[children.size()];
+			targets[n] = new int[children.size()];
+			int i = 0;
+			for (Map.Entry<Character, Integer> child : children.entrySet()) {
+				keys[n][i] = child.getKey();
+				targets[n][i] = child.getValue();
+				i++;
+			}
+			termLength[n] = terms[n] == null ? 0 : terms[n].length();
+		}
+
+		buildFailLinks();
+	}
+
+	private void buildFailLinks() {
+		Arrays.fill(outputLink, -1);
+		Queue<Integer> queue = new ArrayDeque<>();
+		for (int child : targets[ROOT]) {
+			fail[child] = ROOT;
+			queue.add(child);
+		}
+
+		while (!queue.isEmpty()) {
+			int node = queue.poll();
+			for (int i = 0; i < keys[node].length; i++) {
+				char c = keys[node][i];
+				int child = targets[node][i];
+
+				int f = fail[node];
+				while (f != ROOT && transition(f, c) < 0) {
+					f = fail[f];
+				}
+				int next = transition(f, c);
+				fail[child] = next >= 0 ? next : ROOT;
+
+				int linked = fail[child];
+				outputLink[child] = termLength[linked] > 0 ? linked : outputLink[linked];
+				queue.add(child);
+			}
+		}
+	}
+
+	private int transition(int node, char c) {
+		int i = Arrays.binarySearch(keys[node], c);
+		return i >= 0 ? targets[node][i] : -1;
+	}
+
+	/**
+	 * Finds the first term that occurs as a whole word in the text.
+	 *
+	 * @param text The text to scan.
+	 * @return The matched term, or null if the text contains none of the terms.
+	 */
+	public String findFirst(CharSequence text) {
+		int node = ROOT;
+		for (int i = 0; i < text.length(); i++) {
+			char c = Character.toLowerCase(text.charAt(i));
+
+			int next = transition(node, c);
+			while (next < 0 && node != ROOT) {
+				node = fail[node];
+				next = transition(node, c);
+			}
+			node = next >= 0 ? next : ROOT;
+
+			for (int out = termLength[node] > 0 ? node : outputLink[node]; out >= 0; out = outputLink[out]) {
+				int start = i - termLength[out] + 1;
+				if (isBoundary(text, start - 1) && isBoundary(text, i + 1)) {
+					return terms[out];
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return {@code true} if the automaton has no terms.
+	 */
+	public boolean isEmpty() {
+		return keys[ROOT].length == 0;
+	}
+
+	private static boolean isBoundary(CharSequence text, int index) {
+		return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+	}
+
+	// lower-cases char by char, exactly as the text is lower-cased while scanning
+	private static String normalize(String term) {
+		if (term == null) {
+			return "";
+		}
+		String trimmed = term.trim();
+		StringBuilder normalized = new StringBuilder(trimmed.length());
+		for (int i = 0; i < trimmed.length(); i++) {
+			normalized.append(Character.toLowerCase(trimmed.charAt(i)));
+		}
+		return normalized.toString();
+	}
+}
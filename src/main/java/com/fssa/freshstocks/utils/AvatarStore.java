@@ -0,0 +1,224 @@
+package com.fssa.freshstocks.utils;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Content-addressed store for avatar images on the local file system.
+ *
+ * An image is saved under the hex SHA-256 of its bytes, so identical avatars
+ * are stored once, a stored file never changes, and the hash doubles as a
+ * strong ETag. Files are spread over two directory levels named after the
+ * first four hex digits. The root is the AVATAR_STORE_DIR environment
+ * variable, or ~/.freshstocks/avatars.
+ */
+public class AvatarStore {
+
+	/** Prefix of the avatar reference kept in place of an inline avatar. */
+	public static final String REFERENCE_PREFIX = "avatars/";
+
+	private static final String ROOT_ENV = "AVATAR_STORE_DIR";
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+	private static final String UNKNOWN_CONTENT_TYPE = "application/octet-stream";
+
+	private static final AvatarStore INSTANCE = new AvatarStore(configuredRoot());
+
+	private final Path root;
+
+	/**
+	 * Creates a store rooted at the given directory.
+	 *
+	 * @param root The directory holding the avatar files.
+	 */
+	public AvatarStore(Path root) {
+		this.root = root;
+	}
+
+	/**
+	 * @return The store configured for this application.
+	 */
+	public static AvatarStore getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Saves an image unless the same bytes are already stored.
+	 *
+	 * @param content The image bytes.
+	 * @return The hex SHA-256 of the content.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public String put(byte[] content) throws IOException {
+		String hash = sha256(content);
+		Path file = pathOf(hash);
+		if (Files.exists(file)) {
+			return hash;
+		}
+		Files.createDirectories(file.getParent());
+		// write aside and move into place so readers never see a partial file
+		Path temp = Files.createTempFile(file.getParent(), hash, ".tmp");
+		try {
+			Files.write(temp, content);
+			Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+		} catch (FileAlreadyExistsException e) {
+			// stored concurrently with the same content
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+		return hash;
+	}
+
+	/**
+	 * Reads a stored image.
+	 *
+	 * @param hash The hex SHA-256 returned by {@link #put(byte[])}.
+	 * @return The image bytes, or null if there is no such image.
+	 * @throws IOException If the file cannot be read.
+	 */
+	public byte[] get(String hash) throws IOException {
+		if (!isHash(hash)) {
+			return null;
+		}
+		Path file = pathOf(hash);
+		return Files.exists(file) ? Files.readAllBytes(file) : null;
+	}
+
+	/**
+	 * Checks whether an image is stored.
+	 *
+	 * @param hash The hex SHA-256 of the image.
+	 * @return True if the image is stored.
+	 */
+	public boolean contains(String hash) {
+		return isHash(hash) && Files.exists(pathOf(hash));
+	}
+
+	/**
+	 * Checks that a string is a lower-case hex SHA-256, which also keeps it from
+	 * naming a path outside the store.
+	 *
+	 * @param hash The string to check.
+	 * @return True if the string is a valid avatar hash.
+	 */
+	public static boolean isHash(String hash) {
+		if (hash == null || hash.length() != 64) {
+			return false;
+		}
+		for (int i = 0; i < hash.length(); i++) {
+			char c = hash.charAt(i);
+			if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Decodes an inline "data:" avatar into image bytes.
+	 *
+	 * @param dataUri The data URI, e.g. "data:image/png;base64,iVBOR...".
+	 * @return The image bytes, or null if the value is not a data URI.
+	 */
+	public static byte[] decodeDataUri(String dataUri) {
+		if (dataUri == null || !dataUri.startsWith("data:")) {
+			return null;
+		}
+		int comma = dataUri.indexOf(',');
+		if (comma < 0) {
+			return null;
+		}
+		String header = dataUri.substring(0, comma);
+		String data = dataUri.substring(comma + 1);
+		try {
+			if (header.endsWith(";base64")) {
+				return Base64.getMimeDecoder().decode(data);
+			}
+			return URLDecoder.decode(data, StandardCharsets.UTF_8).getBytes(StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Checks that content is a raster image the avatar store accepts. SVG is
+	 * refused: it can carry scripts that would run on this site's origin.
+	 *
+	 * @param content The uploaded bytes.
+	 * @return True for PNG, JPEG, GIF and WebP images.
+	 */
+	public static boolean isAllowedImage(byte[] content) {
+		return !UNKNOWN_CONTENT_TYPE.equals(contentTypeOf(content));
+	}
+
+	/**
+	 * Detects the media type of an image from its first bytes. Only raster
+	 * formats are recognised; anything else, SVG included, is reported as
+	 * application/octet-stream so it is never rendered by the browser.
+	 *
+	 * @param content The image bytes.
+	 * @return The media type, or application/octet-stream if unknown.
+	 */
+	public static String contentTypeOf(byte[] content) {
+		if (startsWith(content, 0x89, 'P', 'N', 'G')) {
+			return "image/png";
+		}
+		if (startsWith(content, 0xFF, 0xD8, 0xFF)) {
+			return "image/jpeg";
+		}
+		if (startsWith(content, 'G', 'I', 'F', '8')) {
+			return "image/gif";
+		}
+		if (startsWith(content, 'R', 'I', 'F', 'F') && content.length >= 12 && content[8] == 'W'
+				&& content[9] == 'E' && content[10] == 'B' && content[11] == 'P') {
+			return "image/webp";
+		}
+		return UNKNOWN_CONTENT_TYPE;
+	}
+
+	private static boolean startsWith(byte[] content, int... prefix) {
+		if (content.length < prefix.length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; i++) {
+			if ((content[i] & 0xFF) != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private Path pathOf(String hash) {
+		return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+	}
+
+	private static String sha256(byte[] content) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+			char[] hex = new char[digest.length * 2];
+			for (int i = 0; i < digest.length; i++) {
+				hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+				hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+			}
+			return new String(hex);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Path configuredRoot() {
+		String dir = System.getenv(ROOT_ENV);
+		if (dir != null && !dir.isBlank()) {
+			return Paths.get(dir);
+		}
+		return Paths.get(System.getProperty("user.home"), ".freshstocks", "avatars");
+	}
+}
@@ -0,0 +1,223 @@
+package com.fssa.freshstocks.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index ranking documents with BM25.
+ *
+ * A document is made of several fields with their own weights (e.g. a match in
+ * a title counts more than one in a description); the weighted term counts of
+ * all fields are added up before scoring. Text is split into letters and
+ * digits, lower-cased, stripped of stop words and stemmed. Documents can be
+ * added, replaced and removed at any time; searches run concurrently with each
+ * other and wait for updates.
+ */
+public class Bm25Index {
+
+	private static final float K1 = 1.2f;
+	private static final float B = 0.75f;
+	private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList("a", "an", "and", "are", "as", "at",
+			"be", "by", "for", "from", "in", "into", "is", "it", "of", "on", "or", "the", "to", "with"));
+
+	private final float[] fieldWeights;
+	// term -> document ID -> weighted term frequency
+	private final Map<String, Map<Integer, Float>> postings = new HashMap<>();
+	// document ID -> its distinct terms (for removal) and weighted length
+	private final Map<Integer, String[]> documentTerms = new HashMap<>();
+	private final Map<Integer, Float> documentLengths = new HashMap<>();
+	private double totalLength;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * A search result.
+	 */
+	public static class Hit {
+
+		private final int documentId;
+		private final double score;
+
+		Hit(int documentId, double score) {
+			this.documentId = documentId;
+			this.score = score;
+		}
+
+		public int getDocumentId() {
+			return documentId;
+		}
+
+		public double getScore() {
+			return score;
+		}
+	}
+
+	/**
+	 * Creates an empty index.
+	 *
+	 * @param fieldWeights The weight of each field, in the order fields are
+	 *                     passed to {@link #put(int, String...)}.
+	 */
+	public Bm25Index(float... fieldWeights) {
+		this.fieldWeights = fieldWeights.clone();
+	}
+
+	/**
+	 * Adds a document, replacing any document with the same ID.
+	 *
+	 * @param documentId The document ID.
+	 * @param fields     The text of each field; null fields are skipped.
+	 */
+	public void put(int documentId, String... fields) {
+		Map<String, Float> frequencies = new HashMap<>();
+		float length = 0;
+		for (int f = 0; f < fields.length && f < fieldWeights.length; f++) {
+			if (fields[f] == null) {
+				continue;
+			}
+			for (String term : analyze(fields[f])) {
+				frequencies.merge(term, fieldWeights[f], Float::sum);
+				length += fieldWeights[f];
+			}
+		}
+
+		lock.writeLock().lock();
+		try {
+			removeLocked(documentId);
+			for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+				postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(documentId, entry.getValue());
+			}
+			documentTerms.put(documentId, frequencies.keySet().toArray(new String[0]));
+			documentLengths.put(documentId, length);
+			totalLength += length;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes a document.
+	 *
+	 * @param documentId The document ID.
+	 */
+	public void remove(int documentId) {
+		lock.writeLock().lock();
+		try {
+			removeLocked(documentId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeLocked(int documentId) {
+		String[] terms = documentTerms.remove(documentId);
+		if (terms == null) {
+			return;
+		}
+		for (String term : terms) {
+			Map<Integer, Float> termPostings = postings.get(term);
+			termPostings.remove(documentId);
+			if (termPostings.isEmpty()) {
+				postings.remove(term);
+			}
+		}
+		totalLength -= documentLengths.remove(documentId);
+	}
+
+	/**
+	 * Finds the documents best matching a query.
+	 *
+	 * @param query The search text.
+	 * @param limit The maximum number of results.
+	 * @return The matching documents, best first.
+	 */
+	public List<Hit> search(String query, int limit) {
+		Set<String> terms = new LinkedHashSet<>(analyze(query));
+		if (terms.isEmpty() || limit <= 0) {
+			return Collections.emptyList();
+		}
+
+		lock.readLock().lock();
+		try {
+			int documentCount = documentTerms.size();
+			double averageLength = documentCount == 0 ? 0 : totalLength / documentCount;
+			Map<Integer, Double> scores = new HashMap<>();
+			for (String term : terms) {
+				Map<Integer, Float> termPostings = postings.get(term);
+				if (termPostings == null) {
+					continue;
+				}
+				double df = termPostings.size();
+				double idf = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+				for (Map.Entry<Integer, Float> posting : termPostings.entrySet()) {
+					double tf = posting.getValue();
+					double norm = K1 * (1 - B + B * documentLengths.get(posting.getKey()) / averageLength);
+					scores.merge(posting.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+				}
+			}
+			return topHits(scores, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return The number of documents in the index.
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return documentTerms.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private static List<Hit> topHits(Map<Integer, Double> scores, int limit) {
+		// min-heap of the best hits so far; ties go to the lower document ID
+		PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, (x, y) -> x.score != y.score
+				? Double.compare(x.score, y.score) : Integer.compare(y.documentId, x.documentId));
+		for (Map.Entry<Integer, Double> score : scores.entrySet()) {
+			best.add(new Hit(score.getKey(), score.getValue()));
+			if (best.size() > limit) {
+				best.poll();
+			}
+		}
+		List<Hit> hits = new ArrayList<>(best);
+		hits.sort(best.comparator().reversed());
+		return hits;
+	}
+
+	/**
+	 * Splits text into the terms used by the index.
+	 *
+	 * @param text The text to analyze.
+	 * @return The stemmed terms, in order, without stop words.
+	 */
+	public static List<String> analyze(String text) {
+		List<String> terms = new ArrayList<>();
+		StringBuilder word = new StringBuilder();
+		for (int i = 0; i <= text.length(); i++) {
+			char c = i < text.length() ? text.charAt(i) : ' ';
+			if (Character.isLetterOrDigit(c)) {
+				word.append(Character.toLowerCase(c));
+			} else if (word.length() > 0) {
+				String token = word.toString();
+				if (!STOP_WORDS.contains(token)) {
+					terms.add(EnglishStemmer.stem(token));
+				}
+				word.setLength(0);
+			}
+		}
+		return terms;
+	}
+}
@@ -0,0 +1,293 @@
+package com.fssa.freshstocks.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.fssa.freshstocks.model.Course;
+
+/**
+ * Immutable, column-oriented copy of many courses' catalog fields, for holding
+ * a large catalog in heap.
+ *
+ * Numbers are kept in primitive arrays. Language, company category, company
+ * name, instructor name and timing repeat across courses, so each distinct
+ * value is stored once and rows keep its code. Descriptions are deflated
+ * against a preset dictionary sampled from the catalog (short texts compress
+ * poorly on their own) and inflated on access. Videos are not kept.
+ */
+public class CompactCourseStore {
+
+	// descriptions sampled into the preset deflate dictionary
+	private static final int DICTIONARY_SAMPLES = 64;
+	private static final int MAX_DICTIONARY_BYTES = 4 * 1024;
+
+	// inflaters are costly to create; each thread reuses one
+	private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+	private final int[] courseIds;
+	private final int[] userIds;
+	private final int[] markedPrices;
+	private final int[] sellingPrices;
+	private final String[] names;
+	private final String[] coverImages;
+	private final String[] topSkills;
+	private final DictionaryColumn languages;
+	private final DictionaryColumn companyCategories;
+	private final DictionaryColumn companyNames;
+	private final DictionaryColumn instructorNames;
+	private final DictionaryColumn timings;
+	private final byte[][] descriptions;
+	private final byte[] descriptionDictionary;
+	// rows ordered by course ID, for lookups
+	private final int[] rowsById;
+
+	/**
+	 * A column of repeated strings: the distinct values once, and a code per
+	 * row (-1 for null).
+	 */
+	private static final class DictionaryColumn {
+		private final String[] values;
+		private final int[] codes;
+
+		DictionaryColumn(List<String> column) {
+			Map<String, Integer> dictionary = new HashMap<>();
+			List<String> distinct = new ArrayList<>();
+			codes = new int[column.size()];
+			for (int row = 0; row < codes.length; row++) {
+				String value = column.get(row);
+				if (value == null) {
+					codes[row] = -1;
+				} else {
+					codes[row] = dictionary.computeIfAbsent(value, v -> {
+						distinct.add(v);
+						return distinct.size() - 1;
+					});
+				}
+			}
+			values = distinct.toArray(new String[0]);
+		}
+
+		String get(int row) {
+			int code = codes[row];
+			return code < 0 ? null : values[code];
+		}
+	}
+
+	private CompactCourseStore(List<Course> courses) {
+		int size = courses.size();
+		courseIds = new int[size];
+		userIds = new int[size];
+		markedPrices = new int[size];
+		sellingPrices = new int[size];
+		names = new String[size];
+		coverImages = new String[size];
+		topSkills = new String[size];
+		List<String> languageColumn = new ArrayList<>(size);
+		List<String> categoryColumn = new ArrayList<>(size);
+		List<String> companyColumn = new ArrayList<>(size);
+		List<String> instructorColumn = new ArrayList<>(size);
+		List<String> timingColumn = new ArrayList<>(size);
+		for (int row = 0; row < size; row++) {
+			Course course = courses.get(row);
+			courseIds[row] = course.getCourseID();
+			userIds[row] = course.getUserID();
+			markedPrices[row] = course.getMarkedPrice();
+			sellingPrices[row] = course.getSellingPrice();
+			names[row] = course.getName();
+			coverImages[row] = course.getCoverImage();
+			topSkills[row] = course.getTopSkills();
+			languageColumn.add(course.getLanguage());
+			categoryColumn.add(course.getCompanyCategory());
+			companyColumn.add(course.getCompanyName());
+			instructorColumn.add(course.getInstructorName());
+			timingColumn.add(course.getTiming());
+		}
+		languages = new DictionaryColumn(languageColumn);
+		companyCategories = new DictionaryColumn(categoryColumn);
+		companyNames = new DictionaryColumn(companyColumn);
+		instructorNames = new DictionaryColumn(instructorColumn);
+		timings = new DictionaryColumn(timingColumn);
+
+		descriptionDictionary = sampleDictionary(courses);
+		descriptions = new byte[size][];
+		Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		try {
+			for (int row = 0; row < size; row++) {
+				descriptions[row] = deflate(deflater, courses.get(row).getDescription());
+			}
+		} finally {
+			deflater.end();
+		}
+
+		rowsById = new int[size];
+		Integer[] order = new Integer[size];
+		for (int row = 0; row < size; row++) {
+			order[row] = row;
+		}
+		Arrays.sort(order, (x, y) -> Integer.compare(courseIds[x], courseIds[y]));
+		for (int i = 0; i < size; i++) {
+			rowsById[i] = order[i];
+		}
+	}
+
+	/**
+	 * Builds a store holding the catalog fields of the courses, in their order.
+	 *
+	 * @param courses The courses.
+	 * @return The store.
+	 */
+	public static CompactCourseStore of(List<Course> courses) {
+		return new CompactCourseStore(courses);
+	}
+
+	/**
+	 * @return The number of courses.
+	 */
+	public int size() {
+		return courseIds.length;
+	}
+
+	/**
+	 * Rebuilds a course; its description is inflated.
+	 *
+	 * @param row The position of the course, from 0.
+	 * @return A new Course with the catalog fields, without videos.
+	 */
+	public Course get(int row) {
+		return new Course(names[row], coverImages[row], timings.get(row), languages.get(row), markedPrices[row],
+				sellingPrices[row], getDescription(row), instructorNames.get(row), companyNames.get(row),
+				companyCategories.get(row), topSkills[row], userIds[row], courseIds[row]);
+	}
+
+	/**
+	 * Finds the position of a course.
+	 *
+	 * @param courseID The ID of the course.
+	 * @return The position, or -1 if the course is not in the store.
+	 */
+	public int rowOf(int courseID) {
+		int low = 0;
+		int high = rowsById.length - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int id = courseIds[rowsById[middle]];
+			if (id < courseID) {
+				low = middle + 1;
+			} else if (id > courseID) {
+				high = middle - 1;
+			} else {
+				return rowsById[middle];
+			}
+		}
+		return -1;
+	}
+
+	// Column accessors, which do not rebuild the course
+	public int getCourseID(int row) {
+		return courseIds[row];
+	}
+
+	public String getName(int row) {
+		return names[row];
+	}
+
+	public String getLanguage(int row) {
+		return languages.get(row);
+	}
+
+	public String getCompanyCategory(int row) {
+		return companyCategories.get(row);
+	}
+
+	public String getTiming(int row) {
+		return timings.get(row);
+	}
+
+	public int getSellingPrice(int row) {
+		return sellingPrices[row];
+	}
+
+	/**
+	 * Inflates the description of a course.
+	 *
+	 * @param row The position of the course.
+	 * @return The description, or null if the course has none.
+	 */
+	public String getDescription(int row) {
+		byte[] compressed = descriptions[row];
+		if (compressed == null) {
+			return null;
+		}
+		Inflater inflater = INFLATER.get();
+		try {
+			inflater.reset();
+			inflater.setInput(compressed);
+			ByteArrayOutputStream text = new ByteArrayOutputStream(compressed.length * 3);
+			byte[] buffer = new byte[1024];
+			while (!inflater.finished()) {
+				int count = inflater.inflate(buffer);
+				if (count == 0 && inflater.needsDictionary()) {
+					inflater.setDictionary(descriptionDictionary);
+				} else if (count == 0 && inflater.needsInput() && !inflater.finished()) {
+					throw new IllegalStateException("Truncated description of course " + courseIds[row]);
+				}
+				text.write(buffer, 0, count);
+			}
+			return new String(text.toByteArray(), StandardCharsets.UTF_8);
+		} catch (DataFormatException e) {
+			throw new IllegalStateException("Corrupt description of course " + courseIds[row], e);
+		}
+	}
+
+	/**
+	 * @return The number of bytes the descriptions take compressed, without the
+	 *         shared dictionary.
+	 */
+	public long getCompressedDescriptionBytes() {
+		long total = 0;
+		for (byte[] description : descriptions) {
+			total += description == null ? 0 : description.length;
+		}
+		return total;
+	}
+
+	private static byte[] sampleDictionary(List<Course> courses) {
+		ByteArrayOutputStream sample = new ByteArrayOutputStream();
+		int step = Math.max(1, courses.size() / DICTIONARY_SAMPLES);
+		for (int row = 0; row < courses.size() && sample.size() < MAX_DICTIONARY_BYTES; row += step) {
+			String description = courses.get(row).getDescription();
+			if (description != null) {
+				byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+				sample.write(bytes, 0, Math.min(bytes.length, MAX_DICTIONARY_BYTES - sample.size()));
+			}
+		}
+		return sample.toByteArray();
+	}
+
+	private byte[] deflate(Deflater deflater, String text) {
+		if (text == null) {
+			return null;
+		}
+		deflater.reset();
+		if (descriptionDictionary.length > 0) {
+			deflater.setDictionary(descriptionDictionary);
+		}
+		deflater.setInput(text.getBytes(StandardCharsets.UTF_8));
+		deflater.finish();
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(16, text.length() / 2));
+		byte[] buffer = new byte[1024];
+		while (!deflater.finished()) {
+			int count = deflater.deflate(buffer);
+			compressed.write(buffer, 0, count);
+		}
+		return compressed.toByteArray();
+	}
+}
@@ -0,0 +1,303 @@
+package com.fssa.freshstocks.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Weighted prefix index returning the best completions of a prefix.
+ *
+ * Each entry is an ID with a key (e.g. a course name) and a weight (e.g. its
+ * popularity). Every trie node keeps the IDs of its best-weighted completions,
+ * so a lookup only walks the prefix and copies that list: its cost does not
+ * depend on how many keys share the prefix. Children are held in sorted
+ * parallel arrays rather than maps to keep the nodes small. Entries can be
+ * added, renamed, re-weighted and removed at any time; only the nodes on the
+ * affected key's path are recomputed. Lookups run concurrently with each
+ * other and wait for updates.
+ */
+public class CompletionTrie {
+
+	private static final char[] NO_LABELS = new char[0];
+	private static final Node[] NO_CHILDREN = new Node[0];
+	private static final int[] NO_IDS = new int[0];
+
+	private final int maxCompletions;
+	private final Node root = new Node();
+	// ID -> normalized key and weight
+	private final Map<Integer, String> keys = new HashMap<>();
+	private final Map<Integer, Long> weights = new HashMap<>();
+	// heaviest first, ties to the lower ID
+	private final Comparator<Integer> byWeight = (x, y) -> {
+		int compare = Long.compare(weights.get(y), weights.get(x));
+		return compare != 0 ? compare : Integer.compare(x, y);
+	};
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private static class Node {
+		char[] labels = NO_LABELS;
+		Node[] children = NO_CHILDREN;
+		// entries whose key ends here
+		int[] ids = NO_IDS;
+		// best completions below and at this node, best first
+		int[] top = NO_IDS;
+
+		Node child(char label) {
+			int index = Arrays.binarySearch(labels, label);
+			return index >= 0 ? children[index] : null;
+		}
+
+		Node addChild(char label) {
+			int index = Arrays.binarySearch(labels, label);
+			if (index >= 0) {
+				return children[index];
+			}
+			int at = -index - 1;
+			Node child = new Node();
+			labels = insert(labels, at, label);
+			Node[] grown = new Node[children.length + 1];
+			System.arraycopy(children, 0, grown, 0, at);
+			grown[at] = child;
+			System.arraycopy(children, at, grown, at + 1, children.length - at);
+			children = grown;
+			return child;
+		}
+
+		void removeChild(char label) {
+			int at = Arrays.binarySearch(labels, label);
+			if (at < 0) {
+				return;
+			}
+			char[] shrunkLabels = new char[labels.length - 1];
+			Node[] shrunkChildren = new Node[children.length - 1];
+			System.arraycopy(labels, 0, shrunkLabels, 0, at);
+			System.arraycopy(labels, at + 1, shrunkLabels, at, labels.length - at - 1);
+			System.arraycopy(children, 0, shrunkChildren, 0, at);
+			System.arraycopy(children, at + 1, shrunkChildren, at, children.length - at - 1);
+			labels = shrunkLabels.length == 0 ? NO_LABELS : shrunkLabels;
+			children = shrunkChildren.length == 0 ? NO_CHILDREN : shrunkChildren;
+		}
+
+		private static char[] insert(char[] labels, int at, char label) {
+			char[] grown = new char[labels.length + 1];
+			System.arraycopy(labels, 0, grown, 0, at);
+			grown[at] = label;
+			System.arraycopy(labels, at, grown, at + 1, labels.length - at);
+			return grown;
+		}
+	}
+
+	/**
+	 * Creates an empty trie.
+	 *
+	 * @param maxCompletions The most completions a lookup can return.
+	 */
+	public CompletionTrie(int maxCompletions) {
+		if (maxCompletions < 1) {
+			throw new IllegalArgumentException("maxCompletions must be at least 1");
+		}
+		this.maxCompletions = maxCompletions;
+	}
+
+	/**
+	 * Adds an entry, replacing any entry with the same ID.
+	 *
+	 * @param id     The entry ID.
+	 * @param key    The text completed by lookups; entries with a blank key are
+	 *               not indexed.
+	 * @param weight The weight of the entry; heavier entries come first.
+	 */
+	public void put(int id, String key, long weight) {
+		String normalized = normalize(key).trim();
+		lock.writeLock().lock();
+		try {
+			removeLocked(id);
+			if (normalized.isEmpty()) {
+				return;
+			}
+			keys.put(id, normalized);
+			weights.put(id, weight);
+			Node[] path = new Node[normalized.length() + 1];
+			path[0] = root;
+			for (int i = 0; i < normalized.length(); i++) {
+				path[i + 1] = path[i].addChild(normalized.charAt(i));
+			}
+			Node end = path[normalized.length()];
+			end.ids = Arrays.copyOf(end.ids, end.ids.length + 1);
+			end.ids[end.ids.length - 1] = id;
+			for (int i = path.length - 1; i >= 0; i--) {
+				recompute(path[i]);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Changes the weight of an entry. Does nothing if the ID is not indexed.
+	 *
+	 * @param id    The entry ID.
+	 * @param delta The amount added to the weight.
+	 */
+	public void addWeight(int id, long delta) {
+		lock.writeLock().lock();
+		try {
+			String key = keys.get(id);
+			if (key == null) {
+				return;
+			}
+			weights.merge(id, delta, Long::sum);
+			Node[] path = pathOf(key);
+			for (int i = path.length - 1; i >= 0; i--) {
+				recompute(path[i]);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes an entry.
+	 *
+	 * @param id The entry ID.
+	 */
+	public void remove(int id) {
+		lock.writeLock().lock();
+		try {
+			removeLocked(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeLocked(int id) {
+		String key = keys.get(id);
+		if (key == null) {
+			return;
+		}
+		Node[] path = pathOf(key);
+		Node end = path[key.length()];
+		int[] remaining = new int[end.ids.length - 1];
+		int count = 0;
+		for (int entry : end.ids) {
+			if (entry != id) {
+				remaining[count++] = entry;
+			}
+		}
+		end.ids = remaining.length == 0 ? NO_IDS : remaining;
+		keys.remove(id);
+		weights.remove(id);
+
+		for (int i = key.length(); i > 0; i--) {
+			Node node = path[i];
+			if (node.ids.length == 0 && node.children.length == 0) {
+				path[i - 1].removeChild(key.charAt(i - 1));
+			} else {
+				recompute(node);
+			}
+		}
+		recompute(root);
+	}
+
+	private Node[] pathOf(String key) {
+		Node[] path = new Node[key.length() + 1];
+		path[0] = root;
+		for (int i = 0; i < key.length(); i++) {
+			path[i + 1] = path[i].child(key.charAt(i));
+		}
+		return path;
+	}
+
+	// the best entries of a node are among its own entries and its children's best
+	private void recompute(Node node) {
+		List<Integer> candidates = new ArrayList<>();
+		for (int id : node.ids) {
+			candidates.add(id);
+		}
+		for (Node child : node.children) {
+			for (int id : child.top) {
+				candidates.add(id);
+			}
+		}
+		candidates.sort(byWeight);
+		int size = Math.min(candidates.size(), maxCompletions);
+		int[] top = new int[size];
+		for (int i = 0; i < size; i++) {
+			top[i] = candidates.get(i);
+		}
+		node.top = size == 0 ? NO_IDS : top;
+	}
+
+	/**
+	 * Finds the heaviest entries whose key starts with a prefix.
+	 *
+	 * @param prefix The typed text; case and punctuation are ignored.
+	 * @param limit  The maximum number of IDs returned.
+	 * @return The IDs of the matching entries, heaviest first.
+	 */
+	public int[] complete(String prefix, int limit) {
+		// keep a trailing space, so "stock " only completes whole words
+		String normalized = normalize(prefix);
+		lock.readLock().lock();
+		try {
+			Node node = root;
+			for (int i = 0; i < normalized.length() && node != null; i++) {
+				node = node.child(normalized.charAt(i));
+			}
+			if (node == null || limit <= 0) {
+				return NO_IDS;
+			}
+			return Arrays.copyOf(node.top, Math.min(limit, node.top.length));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return The number of entries in the trie.
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return keys.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Normalizes text for indexing and lookup: lower-cases it and turns every
+	 * run of characters other than letters and digits into a single space.
+	 *
+	 * @param text The text.
+	 * @return The normalized text.
+	 */
+	public static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		StringBuilder normalized = new StringBuilder(text.length());
+		boolean space = false;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				if (space && normalized.length() > 0) {
+					normalized.append(' ');
+				}
+				space = false;
+				normalized.append(Character.toLowerCase(c));
+			} else {
+				space = true;
+			}
+		}
+		if (space && normalized.length() > 0) {
+			normalized.append(' ');
+		}
+		return normalized.toString();
+	}
+}
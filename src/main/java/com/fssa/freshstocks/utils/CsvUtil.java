@@ -0,0 +1,60 @@
+package com.fssa.freshstocks.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal CSV parsing (RFC 4180 quoting within a single line).
+ */
+public class CsvUtil {
+
+	// Private constructor to prevent instantiation
+	private CsvUtil() {
+		// Do nothing (empty constructor)
+	}
+
+	/**
+	 * Splits one CSV line into fields. Fields may be quoted with double quotes,
+	 * and a doubled quote inside a quoted field stands for one quote. Unquoted
+	 * fields are trimmed.
+	 *
+	 * @param line The line to split.
+	 * @return The fields of the line.
+	 * @throws IllegalArgumentException If a quoted field is not closed.
+	 */
+	public static List<String> parseLine(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		boolean wasQuoted = false;
+
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					field.append(c);
+				}
+			} else if (c == '"' && field.toString().isBlank()) {
+				field.setLength(0);
+				quoted = true;
+				wasQuoted = true;
+			} else if (c == ',') {
+				fields.add(wasQuoted ? field.toString() : field.toString().trim());
+				field.setLength(0);
+				wasQuoted = false;
+			} else if (!wasQuoted) {
+				field.append(c);
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("Unterminated quoted field.");
+		}
+		fields.add(wasQuoted ? field.toString() : field.toString().trim());
+		return fields;
+	}
+}
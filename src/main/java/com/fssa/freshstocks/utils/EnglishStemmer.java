@@ -0,0 +1,71 @@
+package com.fssa.freshstocks.utils;
+
+/**
+ * Light English stemmer that strips common inflectional suffixes, so that
+ * "courses", "coursing" and "course" index to the same term. It is
+ * deliberately conservative: stems are never shorter than three letters.
+ */
+public class EnglishStemmer {
+
+	private static final int MIN_STEM = 3;
+
+	// Private constructor to prevent instantiation
+	private EnglishStemmer() {
+		// Do nothing (empty constructor)
+	}
+
+	/**
+	 * Stems a lower-case word.
+	 *
+	 * @param word The word, already lower-cased.
+	 * @return The stem of the word.
+	 */
+	public static String stem(String word) {
+		if (word.length() <= MIN_STEM || !Character.isLetter(word.charAt(word.length() - 1))) {
+			return word;
+		}
+		String stem = word;
+		if (stem.endsWith("ies") && stem.length() > MIN_STEM + 2) {
+			stem = stem.substring(0, stem.length() - 3) + "y";
+		} else if (stem.endsWith("sses") || stem.endsWith("xes") || stem.endsWith("ches") || stem.endsWith("shes")) {
+			stem = stem.substring(0, stem.length() - 2);
+		} else if (stem.endsWith("s") && !stem.endsWith("ss") && !stem.endsWith("us") && !stem.endsWith("is")) {
+			stem = stem.substring(0, stem.length() - 1);
+		}
+
+		if (stem.endsWith("ing") && hasVowel(stem, stem.length() - 3)) {
+			stem = undouble(stem.substring(0, stem.length() - 3));
+		} else if (stem.endsWith("ed") && hasVowel(stem, stem.length() - 2)) {
+			stem = undouble(stem.substring(0, stem.length() - 2));
+		} else if (stem.endsWith("ly") && stem.length() - 2 >= MIN_STEM) {
+			stem = stem.substring(0, stem.length() - 2);
+		}
+
+		// "course" and "cours(ing)" meet at "cours"
+		if (stem.endsWith("e") && stem.length() - 1 >= MIN_STEM) {
+			stem = stem.substring(0, stem.length() - 1);
+		}
+		return stem.length() >= MIN_STEM ? stem : word;
+	}
+
+	private static boolean hasVowel(String word, int end) {
+		if (end < MIN_STEM) {
+			return false;
+		}
+		for (int i = 0; i < end; i++) {
+			if ("aeiouy".indexOf(word.charAt(i)) >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// "programm(ing)" -> "program", but keep "ll", "ss" and "zz" as in "install"
+	private static String undouble(String stem) {
+		int n = stem.length();
+		if (n > MIN_STEM && stem.charAt(n - 1) == stem.charAt(n - 2) && "lsz".indexOf(stem.charAt(n - 1)) < 0) {
+			return stem.substring(0, n - 1);
+		}
+		return stem;
+	}
+}
@@ -0,0 +1,226 @@
+package com.fssa.freshstocks.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory faceted filter over documents with one value per facet.
+ *
+ * Every facet value keeps a bitmap of the document IDs having it, so a filter
+ * is a union of the selected values within each facet, intersected across
+ * facets. The counts of a facet are computed with every filter applied except
+ * that facet's own, so they show how many documents each other value of the
+ * facet would add. Pages are returned newest (highest ID) first. Documents can
+ * be added, replaced and removed at any time; queries run concurrently with
+ * each other and wait for updates.
+ */
+public class FacetIndex {
+
+	private final String[] facets;
+	// per facet: value -> IDs of the documents with that value
+	private final List<Map<String, BitSet>> postings;
+	private final Map<Integer, String[]> documentValues = new HashMap<>();
+	private final BitSet documents = new BitSet();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * The matches of a query.
+	 */
+	public static class Result {
+
+		private final int totalCount;
+		private final int[] ids;
+		private final Map<String, Map<String, Integer>> facetCounts;
+
+		Result(int totalCount, int[] ids, Map<String, Map<String, Integer>> facetCounts) {
+			this.totalCount = totalCount;
+			this.ids = ids;
+			this.facetCounts = facetCounts;
+		}
+
+		public int getTotalCount() {
+			return totalCount;
+		}
+
+		public int[] getIds() {
+			return ids.clone();
+		}
+
+		public Map<String, Map<String, Integer>> getFacetCounts() {
+			return facetCounts;
+		}
+	}
+
+	/**
+	 * Creates an empty index.
+	 *
+	 * @param facets The facet names, in the order values are passed to
+	 *               {@link #put(int, String...)}.
+	 */
+	public FacetIndex(String... facets) {
+		this.facets = facets.clone();
+		this.postings = new ArrayList<>(facets.length);
+		for (int f = 0; f < facets.length; f++) {
+			postings.add(new HashMap<>());
+		}
+	}
+
+	/**
+	 * Adds a document, replacing any document with the same ID.
+	 *
+	 * @param id     The document ID; must not be negative.
+	 * @param values The value of each facet; null values are left out of that
+	 *               facet.
+	 */
+	public void put(int id, String... values) {
+		String[] copy = Arrays.copyOf(values, facets.length);
+		lock.writeLock().lock();
+		try {
+			removeLocked(id);
+			for (int f = 0; f < facets.length; f++) {
+				if (copy[f] != null) {
+					postings.get(f).computeIfAbsent(copy[f], value -> new BitSet()).set(id);
+				}
+			}
+			documentValues.put(id, copy);
+			documents.set(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes a document.
+	 *
+	 * @param id The document ID.
+	 */
+	public void remove(int id) {
+		lock.writeLock().lock();
+		try {
+			removeLocked(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeLocked(int id) {
+		String[] values = documentValues.remove(id);
+		if (values == null) {
+			return;
+		}
+		for (int f = 0; f < facets.length; f++) {
+			BitSet ids = values[f] == null ? null : postings.get(f).get(values[f]);
+			if (ids != null) {
+				ids.clear(id);
+				if (ids.isEmpty()) {
+					postings.get(f).remove(values[f]);
+				}
+			}
+		}
+		documents.clear(id);
+	}
+
+	/**
+	 * Filters the documents and counts the values of every facet.
+	 *
+	 * @param filters The selected values by facet name; facets that are absent
+	 *                or have no selected value are not filtered.
+	 * @param offset  The number of matches to skip.
+	 * @param limit   The maximum number of IDs returned.
+	 * @return The total number of matches, a page of their IDs (highest first),
+	 *         and the counts of each facet's values, by facet name in the
+	 *         constructor's order.
+	 * @throws IllegalArgumentException If a filter names an unknown facet.
+	 */
+	public Result query(Map<String, ? extends Collection<String>> filters, int offset, int limit) {
+		lock.readLock().lock();
+		try {
+			// the documents allowed by each facet's filter, or null when not filtered
+			BitSet[] selected = new BitSet[facets.length];
+			for (Map.Entry<String, ? extends Collection<String>> filter : filters.entrySet()) {
+				int f = facetIndexOf(filter.getKey());
+				if (filter.getValue() != null && !filter.getValue().isEmpty()) {
+					selected[f] = new BitSet();
+					for (String value : filter.getValue()) {
+						BitSet ids = postings.get(f).get(value);
+						if (ids != null) {
+							selected[f].or(ids);
+						}
+					}
+				}
+			}
+
+			Map<String, Map<String, Integer>> facetCounts = new LinkedHashMap<>();
+			for (int f = 0; f < facets.length; f++) {
+				BitSet others = intersect(selected, f);
+				Map<String, Integer> counts = new TreeMap<>();
+				for (Map.Entry<String, BitSet> value : postings.get(f).entrySet()) {
+					BitSet ids = (BitSet) value.getValue().clone();
+					ids.and(others);
+					counts.put(value.getKey(), ids.cardinality());
+				}
+				facetCounts.put(facets[f], counts);
+			}
+
+			BitSet matches = intersect(selected, -1);
+			return new Result(matches.cardinality(), page(matches, offset, limit), facetCounts);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return The number of documents in the index.
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return documentValues.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private int facetIndexOf(String facet) {
+		for (int f = 0; f < facets.length; f++) {
+			if (facets[f].equals(facet)) {
+				return f;
+			}
+		}
+		throw new IllegalArgumentException("Unknown facet: " + facet);
+	}
+
+	// all documents passing every facet's filter except the skipped one
+	private BitSet intersect(BitSet[] selected, int skipped) {
+		BitSet result = (BitSet) documents.clone();
+		for (int f = 0; f < selected.length; f++) {
+			if (f != skipped && selected[f] != null) {
+				result.and(selected[f]);
+			}
+		}
+		return result;
+	}
+
+	private static int[] page(BitSet matches, int offset, int limit) {
+		int[] ids = new int[Math.max(0, Math.min(limit, matches.cardinality() - offset))];
+		int skipped = 0;
+		int count = 0;
+		for (int id = matches.length() - 1; id >= 0 && count < ids.length; id = matches.previousSetBit(id - 1)) {
+			if (skipped < offset) {
+				skipped++;
+			} else {
+				ids[count++] = id;
+			}
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,110 @@
+package com.fssa.freshstocks.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Small bounded, thread-safe LRU cache with an optional time-to-live.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public class LruCache<K, V> {
+
+	private final int maxEntries;
+	private final long ttlMillis;
+	private final LinkedHashMap<K, Entry<V>> entries;
+
+	/**
+	 * Creates a cache holding at most {@code maxEntries} values.
+	 *
+	 * @param maxEntries The maximum number of entries kept in memory.
+	 * @param ttlMillis  How long an entry stays valid, or 0 for no expiry.
+	 */
+	public LruCache(int maxEntries, long ttlMillis) {
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive.");
+		}
+		this.maxEntries = maxEntries;
+		this.ttlMillis = ttlMillis;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				return size() > LruCache.this.maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached value for the key, or null if it is missing or expired.
+	 *
+	 * @param key The key to look up.
+	 * @return The cached value, or null.
+	 */
+	public synchronized V get(K key) {
+		Entry<V> entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (ttlMillis > 0 && System.currentTimeMillis() - entry.storedAt > ttlMillis) {
+			entries.remove(key);
+			return null;
+		}
+		return entry.value;
+	}
+
+	/**
+	 * Stores a value, evicting the least recently used entry when full.
+	 *
+	 * @param key   The key.
+	 * @param value The value to cache.
+	 */
+	public synchronized void put(K key, V value) {
+		entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+	}
+
+	/**
+	 * Removes a single entry.
+	 *
+	 * @param key The key to evict.
+	 */
+	public synchronized void remove(K key) {
+		entries.remove(key);
+	}
+
+	/**
+	 * Removes every entry whose value matches.
+	 *
+	 * @param predicate Selects the values to evict.
+	 * @return The number of entries removed.
+	 */
+	public synchronized int removeIf(Predicate<? super V> predicate) {
+		int before = entries.size();
+		entries.values().removeIf(entry -> predicate.test(entry.value));
+		return before - entries.size();
+	}
+
+	/**
+	 * Removes every entry.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	private static final class Entry<V> {
+		private final V value;
+		private final long storedAt;
+
+		private Entry(V value, long storedAt) {
+			this.value = value;
+			this.storedAt = storedAt;
+		}
+	}
+}
@@ -4,9 +4,21 @@ import org.mindrot.jbcrypt.BCrypt;
 
 /**
  * Utility class for hashing and checking passwords using BCrypt.
+ *
+ * The BCrypt cost starts at {@link #MIN_LOG_ROUNDS} and can be raised by
+ * {@link #calibrate(long)} to the highest cost that fits a latency budget on
+ * the current host. Hashes made with another cost are reported by
+ * {@link #needsRehash(String)} so they can be upgraded on the next login.
  */
 public class PasswordUtil {
 
+	/** Lowest cost ever used; this is also the jBCrypt default. */
+	public static final int MIN_LOG_ROUNDS = 10;
+	/** Highest cost calibration may pick. */
+	public static final int MAX_LOG_ROUNDS = 16;
+
+	private static volatile int logRounds = MIN_LOG_ROUNDS;
+
 	/**
 	 * Private constructor to prevent instantiation.
 	 */
@@ -15,13 +27,13 @@ public class PasswordUtil {
 	}
 
 	/**
-	 * Hashes a plain password using BCrypt.
+	 * Hashes a plain password using BCrypt at the current cost.
 	 *
 	 * @param plainPassword The plain password to hash
 	 * @return The hashed password
 	 */ 
 	public static String hashPassword(String plainPassword) {
-		return BCrypt.hashpw(plainPassword, BCrypt.gensalt()); 
+		return BCrypt.hashpw(plainPassword, BCrypt.gensalt(logRounds)); 
 	}
 
 	/**
@@ -35,4 +47,80 @@ public class PasswordUtil {
 	public static boolean checkPassword(String plainPassword, String hashedPassword) {
 		return BCrypt.checkpw(plainPassword, hashedPassword);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Picks the highest cost whose hash time fits the budget. Each extra round
+	 * doubles the work, so the time at the minimum cost is measured and the
+	 * higher costs are extrapolated from it.
+	 *
+	 * @param budgetMillis The acceptable time for one hash, in milliseconds.
+	 * @return The cost now used for new hashes.
+	 */
+	public static int calibrate(long budgetMillis) {
+		// the first hash warms up the JIT; keep the faster of two timed runs
+		BCrypt.hashpw("calibration", BCrypt.gensalt(MIN_LOG_ROUNDS));
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < 2; i++) {
+			long start = System.nanoTime();
+			BCrypt.hashpw("calibration", BCrypt.gensalt(MIN_LOG_ROUNDS));
+			best = Math.min(best, System.nanoTime() - start);
+		}
+
+		long budgetNanos = budgetMillis * 1_000_000L;
+		int rounds = MIN_LOG_ROUNDS;
+		while (rounds < MAX_LOG_ROUNDS && best << (rounds + 1 - MIN_LOG_ROUNDS) <= budgetNanos) {
+			rounds++;
+		}
+		logRounds = rounds;
+		return rounds;
+	}
+
+	/**
+	 * @return The cost used for new hashes.
+	 */
+	public static int getLogRounds() {
+		return logRounds;
+	}
+
+	/**
+	 * Sets the cost used for new hashes.
+	 *
+	 * @param rounds The BCrypt cost, between {@link #MIN_LOG_ROUNDS} and
+	 *               {@link #MAX_LOG_ROUNDS}.
+	 */
+	public static void setLogRounds(int rounds) {
+		if (rounds < MIN_LOG_ROUNDS || rounds > MAX_LOG_ROUNDS) {
+			throw new IllegalArgumentException("BCrypt cost must be between " + MIN_LOG_ROUNDS + " and " + MAX_LOG_ROUNDS);
+		}
+		logRounds = rounds;
+	}
+
+	/**
+	 * Checks whether a stored hash was made with a cost other than the current
+	 * one.
+	 *
+	 * @param hashedPassword The stored hash, e.g. "$2a$10$...".
+	 * @return True if the hash should be replaced by one at the current cost.
+	 */
+	public static boolean needsRehash(String hashedPassword) {
+		int cost = costOf(hashedPassword);
+		return cost > 0 && cost != logRounds;
+	}
+
+	// the cost is the two digits between the second and third '$', or 0 if the hash is malformed
+	private static int costOf(String hashedPassword) {
+		if (hashedPassword == null || hashedPassword.length() < 7 || hashedPassword.charAt(0) != '$') {
+			return 0;
+		}
+		int costStart = hashedPassword.indexOf('$', 1) + 1;
+		if (costStart == 0 || costStart + 2 >= hashedPassword.length() || hashedPassword.charAt(costStart + 2) != '$') {
+			return 0;
+		}
+		char tens = hashedPassword.charAt(costStart);
+		char units = hashedPassword.charAt(costStart + 1);
+		if (!Character.isDigit(tens) || !Character.isDigit(units)) {
+			return 0;
+		}
+		return (tens - '0') * 10 + (units - '0');
+	}
+}
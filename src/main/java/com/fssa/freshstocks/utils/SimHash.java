@@ -0,0 +1,109 @@
+package com.fssa.freshstocks.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 64-bit SimHash fingerprints of text. Texts that differ in a few words get
+ * fingerprints that differ in a few bits.
+ */
+public class SimHash {
+
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+	private static final int SHINGLE_LENGTH = 6;
+
+	// Private constructor to prevent instantiation
+	private SimHash() {
+		// Do nothing (empty constructor)
+	}
+
+	/**
+	 * Splits text into lower-case words made of letters and digits.
+	 *
+	 * @param text The text to split.
+	 * @return The words of the text, in order.
+	 */
+	public static List<String> tokenize(String text) {
+		List<String> tokens = new ArrayList<>();
+		StringBuilder token = new StringBuilder();
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				token.append(Character.toLowerCase(c));
+			} else if (token.length() > 0) {
+				tokens.add(token.toString());
+				token.setLength(0);
+			}
+		}
+		if (token.length() > 0) {
+			tokens.add(token.toString());
+		}
+		return tokens;
+	}
+
+	/**
+	 * Computes the fingerprint of already tokenized text, using every six
+	 * character shingle of the normalized text as a feature. Character shingles
+	 * keep short texts stable when a single word changes.
+	 *
+	 * @param tokens The words of the text.
+	 * @return The 64-bit fingerprint.
+	 */
+	public static long fingerprint(List<String> tokens) {
+		int[] weights = new int[64];
+		String text = String.join(" ", tokens);
+		if (text.length() < SHINGLE_LENGTH) {
+			addFeature(weights, hash(text));
+		}
+		for (int i = 0; i + SHINGLE_LENGTH <= text.length(); i++) {
+			addFeature(weights, hash(text.substring(i, i + SHINGLE_LENGTH)));
+		}
+
+		long fingerprint = 0;
+		for (int bit = 0; bit < 64; bit++) {
+			if (weights[bit] > 0) {
+				fingerprint |= 1L << bit;
+			}
+		}
+		return fingerprint;
+	}
+
+	/**
+	 * Computes the fingerprint of a text.
+	 *
+	 * @param text The text to fingerprint.
+	 * @return The 64-bit fingerprint.
+	 */
+	public static long fingerprint(String text) {
+		return fingerprint(tokenize(text));
+	}
+
+	/**
+	 * @return The number of bits that differ between two fingerprints.
+	 */
+	public static int hammingDistance(long a, long b) {
+		return Long.bitCount(a ^ b);
+	}
+
+	private static void addFeature(int[] weights, long featureHash) {
+		for (int bit = 0; bit < 64; bit++) {
+			weights[bit] += ((featureHash >>> bit) & 1L) == 1L ? 1 : -1;
+		}
+	}
+
+	// FNV-1a followed by a 64-bit finalizer so every output bit depends on every input char
+	private static long hash(String feature) {
+		long h = FNV_OFFSET_BASIS;
+		for (int i = 0; i < feature.length(); i++) {
+			h ^= feature.charAt(i);
+			h *= FNV_PRIME;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
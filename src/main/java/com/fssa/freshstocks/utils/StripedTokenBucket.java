@@ -0,0 +1,103 @@
+package com.fssa.freshstocks.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free, fixed-memory token buckets keyed by string.
+ *
+ * Keys are hashed onto a fixed array of buckets instead of being stored, so
+ * memory never grows with the number of keys, and a bucket that has been idle
+ * long enough is simply full again, which acts as idle eviction. Each key
+ * maps to two buckets and is allowed while either of them has a token, so an
+ * abusive key only throttles an innocent key if both of the innocent key's
+ * buckets collide with abusive ones.
+ *
+ * Each bucket is one long, updated with compare-and-set: the upper 40 bits
+ * hold the time of the last update (milliseconds since this limiter was
+ * created) and the lower 24 bits hold the debt in milliseconds. Every acquire
+ * adds one refill interval of debt, time pays it back, and an acquire is
+ * refused when it would push the debt beyond the burst capacity. A zeroed
+ * bucket therefore starts full.
+ */
+public class StripedTokenBucket {
+
+	private static final int DEBT_BITS = 24;
+	private static final long DEBT_MASK = (1L << DEBT_BITS) - 1;
+
+	private final AtomicLongArray buckets;
+	private final int mask;
+	private final long intervalMillis;
+	private final long maxDebtMillis;
+	private final long epochMillis = System.currentTimeMillis();
+
+	/**
+	 * Creates a limiter.
+	 *
+	 * @param stripes        The number of buckets, a power of two.
+	 * @param capacity       The burst size of a key.
+	 * @param intervalMillis The time to regain one token.
+	 */
+	public StripedTokenBucket(int stripes, int capacity, long intervalMillis) {
+		if (Integer.bitCount(stripes) != 1) {
+			throw new IllegalArgumentException("Stripes must be a power of two.");
+		}
+		if (capacity < 1 || intervalMillis < 1 || capacity * intervalMillis > DEBT_MASK) {
+			throw new IllegalArgumentException("Capacity times interval must be between 1 and " + DEBT_MASK + " ms.");
+		}
+		this.buckets = new AtomicLongArray(stripes);
+		this.mask = stripes - 1;
+		this.intervalMillis = intervalMillis;
+		this.maxDebtMillis = capacity * intervalMillis;
+	}
+
+	/**
+	 * Takes a token for the key if one is available.
+	 *
+	 * @param key The key, e.g. an email address or a client address.
+	 * @return True if the key is within its rate, false if it should be refused.
+	 */
+	public boolean tryAcquire(String key) {
+		int hash = mix(key.hashCode());
+		int first = hash & mask;
+		int second = (hash >>> 16 | hash << 16) & mask;
+		long now = System.currentTimeMillis() - epochMillis;
+
+		if (!hasToken(first, now) && !hasToken(second, now)) {
+			return false;
+		}
+		charge(first, now);
+		if (second != first) {
+			charge(second, now);
+		}
+		return true;
+	}
+
+	private boolean hasToken(int index, long now) {
+		return debt(buckets.get(index), now) + intervalMillis <= maxDebtMillis;
+	}
+
+	// adds one interval of debt, capped so a drained bucket refills in a bounded time
+	private void charge(int index, long now) {
+		while (true) {
+			long current = buckets.get(index);
+			long debt = Math.min(maxDebtMillis, debt(current, now) + intervalMillis);
+			if (buckets.compareAndSet(index, current, now << DEBT_BITS | debt)) {
+				return;
+			}
+		}
+	}
+
+	private static long debt(long bucket, long now) {
+		long elapsed = now - (bucket >>> DEBT_BITS);
+		return Math.max(0, (bucket & DEBT_MASK) - Math.max(0, elapsed));
+	}
+
+	private static int mix(int h) {
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
+	}
+}
@@ -0,0 +1,110 @@
+package com.fssa.freshstocks.validation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import com.fssa.freshstocks.utils.AhoCorasickMatcher;
+
+/**
+ * Banned-term moderation for comments.
+ *
+ * The banned terms are compiled once into an Aho-Corasick automaton, so each
+ * comment is scanned in a single pass regardless of how many terms there are.
+ * The terms are read from the file named by the COMMENT_BANNED_TERMS_FILE
+ * environment variable (one term per line, lines starting with # are
+ * ignored) and the file is reloaded when it changes.
+ */
+public class CommentModerator {
+
+	private static final String TERMS_FILE_ENV = "COMMENT_BANNED_TERMS_FILE";
+	private static final long RELOAD_CHECK_INTERVAL_MILLIS = 5000;
+
+	private static volatile AhoCorasickMatcher matcher = new AhoCorasickMatcher(Collections.emptyList());
+	private static volatile Path termsFile = configuredTermsFile();
+	private static volatile long loadedModifiedTime = -1;
+	private static volatile long lastReloadCheck;
+
+	// Private constructor to prevent instantiation
+	private CommentModerator() {
+		// Do nothing (empty constructor)
+	}
+
+	/**
+	 * Finds a banned term in the comment body.
+	 *
+	 * @param commentBody The comment body to scan.
+	 * @return The banned term found, or null if the comment is clean.
+	 */
+	public static String findBannedTerm(String commentBody) {
+		reloadIfChanged();
+		return matcher.findFirst(commentBody);
+	}
+
+	/**
+	 * Replaces the banned terms, e.g. from an admin screen or a test. The terms
+	 * file, if any, is no longer watched afterwards.
+	 *
+	 * @param bannedTerms The new banned terms.
+	 */
+	public static synchronized void setBannedTerms(Collection<String> bannedTerms) {
+		matcher = new AhoCorasickMatcher(bannedTerms);
+		termsFile = null;
+	}
+
+	/**
+	 * Switches to another terms file and loads it immediately.
+	 *
+	 * @param file The banned terms file.
+	 * @throws IOException If the file cannot be read.
+	 */
+	public static synchronized void loadTermsFile(Path file) throws IOException {
+		long modifiedTime = Files.getLastModifiedTime(file).toMillis();
+		matcher = new AhoCorasickMatcher(readTerms(file));
+		termsFile = file;
+		loadedModifiedTime = modifiedTime;
+	}
+
+	private static void reloadIfChanged() {
+		Path file = termsFile;
+		long now = System.currentTimeMillis();
+		if (file == null || now - lastReloadCheck < RELOAD_CHECK_INTERVAL_MILLIS) {
+			return;
+		}
+		synchronized (CommentModerator.class) {
+			if (now - lastReloadCheck < RELOAD_CHECK_INTERVAL_MILLIS) {
+				return;
+			}
+			lastReloadCheck = now;
+			try {
+				if (Files.getLastModifiedTime(file).toMillis() != loadedModifiedTime) {
+					loadTermsFile(file);
+				}
+			} catch (IOException e) {
+				// keep moderating with the last terms that loaded successfully
+			}
+		}
+	}
+
+	private static List<String> readTerms(Path file) throws IOException {
+		List<String> terms = new ArrayList<>();
+		for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+			String term = line.trim();
+			if (!term.isEmpty() && !term.startsWith("#")) {
+				terms.add(term);
+			}
+		}
+		return terms;
+	}
+
+	private static Path configuredTermsFile() {
+		String file = System.getenv(TERMS_FILE_ENV);
+		return file == null || file.isBlank() ? null : Paths.get(file);
+	}
+}
@@ -56,15 +56,19 @@ public class CommentValidator {
 	}
 
 	/**
-	 * Validates a comment body to be non-empty.
+	 * Validates a comment body to be non-empty and free of banned terms.
 	 *
 	 * @param commentBody The comment body to be validated.
 	 * @return true if the comment body is valid, false otherwise.
-	 * @throws InvalidCommentException If the comment body is found to be empty.
+	 * @throws InvalidCommentException If the comment body is found to be empty or
+	 *                                 contains a banned term.
 	 */
 	public static void validateComment(String commentbody) throws InvalidCommentException {
 		if (commentbody.trim().isEmpty()) {
 			throw new InvalidCommentException("Invalid comment. Please provide a non-empty comment for the course.");
 		}
+		if (CommentModerator.findBannedTerm(commentbody) != null) {
+			throw new InvalidCommentException("Invalid comment. The comment contains language that is not allowed.");
+		}
 	}
 }
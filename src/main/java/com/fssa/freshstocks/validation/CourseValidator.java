@@ -1,13 +1,23 @@
 package com.fssa.freshstocks.validation;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
+
+import com.fssa.freshstocks.constants.CourseModuleConstants;
 import com.fssa.freshstocks.model.Course;
+import com.fssa.freshstocks.model.CoursePatch;
 import com.fssa.freshstocks.validation.exception.InvalidCourseException;
 
 public class CourseValidator {
 
+	private static final String[] VIDEO_COLUMNS = { CourseModuleConstants.COLUMN_COURSE_VIDEO1,
+			CourseModuleConstants.COLUMN_COURSE_VIDEO2, CourseModuleConstants.COLUMN_COURSE_VIDEO3 };
+	private static final String[] VIDEO_NAME_COLUMNS = { CourseModuleConstants.COLUMN_COURSE_VIDEO_NAME1,
+			CourseModuleConstants.COLUMN_COURSE_VIDEO_NAME2, CourseModuleConstants.COLUMN_COURSE_VIDEO_NAME3 };
+
 	/**
 	 * Validates a Course object for various attributes including name, cover image
 	 * URL, language, prices, timing, instructor name, company details, and top
@@ -79,6 +89,71 @@ public class CourseValidator {
 		}
 	}
 	
+	/**
+	 * Validates the changed fields of a course edit. The price difference is
+	 * checked here only when both prices change; against a stored price it is
+	 * checked by the DAO on the locked row it writes.
+	 *
+	 * @param patch The changed fields of the course.
+	 * @throws InvalidCourseException If a changed field is found to be invalid.
+	 */
+	public static void validateCoursePatch(CoursePatch patch) throws InvalidCourseException {
+		Map<String, Object> changes = patch.getChanges();
+		for (Map.Entry<String, Object> change : changes.entrySet()) {
+			if (change.getValue() == null) {
+				throw new InvalidCourseException("Course Details Is Null.");
+			}
+		}
+		if (patch.isChanged(CourseModuleConstants.COLUMN_COVER_IMAGE)) {
+			validateURL((String) changes.get(CourseModuleConstants.COLUMN_COVER_IMAGE));
+		}
+		if (patch.isChanged(CourseModuleConstants.COLUMN_TIMING)) {
+			validateTiming((String) changes.get(CourseModuleConstants.COLUMN_TIMING));
+		}
+		if (patch.isChanged(CourseModuleConstants.COLUMN_LANGUAGE)) {
+			validateLanguage((String) changes.get(CourseModuleConstants.COLUMN_LANGUAGE));
+		}
+		if (patch.isChanged(CourseModuleConstants.COLUMN_MARKED_PRICE)) {
+			validateMarkedPrice((Integer) changes.get(CourseModuleConstants.COLUMN_MARKED_PRICE));
+		}
+		if (patch.isChanged(CourseModuleConstants.COLUMN_SELLING_PRICE)) {
+			validateSellingPrice((Integer) changes.get(CourseModuleConstants.COLUMN_SELLING_PRICE));
+		}
+		if (patch.isChanged(CourseModuleConstants.COLUMN_MARKED_PRICE)
+				&& patch.isChanged(CourseModuleConstants.COLUMN_SELLING_PRICE)
+				&& !validatePriceDifference((Integer) changes.get(CourseModuleConstants.COLUMN_MARKED_PRICE),
+						(Integer) changes.get(CourseModuleConstants.COLUMN_SELLING_PRICE))) {
+			throw new InvalidCourseException(CourseModuleConstants.INVALID_PRICE_DIFFERENCE_MESSAGE);
+		}
+		if (patch.isChanged(CourseModuleConstants.COLUMN_DESCRIPTION)) {
+			validateDescription((String) changes.get(CourseModuleConstants.COLUMN_DESCRIPTION));
+		}
+		if (patch.isChanged(CourseModuleConstants.COLUMN_INSTRUCTOR_NAME)) {
+			validateInsutructorName((String) changes.get(CourseModuleConstants.COLUMN_INSTRUCTOR_NAME));
+		}
+		if (patch.isChanged(CourseModuleConstants.COLUMN_COMPANY_NAME)) {
+			validateCompanyName((String) changes.get(CourseModuleConstants.COLUMN_COMPANY_NAME));
+		}
+		if (patch.isChanged(CourseModuleConstants.COLUMN_COMPANY_CATEGORY)) {
+			validateCompanyCategory((String) changes.get(CourseModuleConstants.COLUMN_COMPANY_CATEGORY));
+		}
+		if (patch.isChanged(CourseModuleConstants.COLUMN_TOP_SKILLS)) {
+			validateTopSkils((String) changes.get(CourseModuleConstants.COLUMN_TOP_SKILLS));
+		}
+		List<String> videoNames = new ArrayList<>();
+		List<String> videos = new ArrayList<>();
+		for (int i = 0; i < VIDEO_COLUMNS.length; i++) {
+			if (patch.isChanged(VIDEO_NAME_COLUMNS[i])) {
+				videoNames.add((String) changes.get(VIDEO_NAME_COLUMNS[i]));
+			}
+			if (patch.isChanged(VIDEO_COLUMNS[i])) {
+				videos.add((String) changes.get(VIDEO_COLUMNS[i]));
+			}
+		}
+		validateCourseVideoNames(videoNames);
+		validateCourseVideos(videos);
+	}
+
 	/**
 	 * Validates a course name based on specific pattern criteria.
 	 *
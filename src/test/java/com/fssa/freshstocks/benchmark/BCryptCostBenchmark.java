@@ -0,0 +1,54 @@
+package com.fssa.freshstocks.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mindrot.jbcrypt.BCrypt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Reports the time of one BCrypt hash at each cost level on this host, to
+ * choose a PASSWORD_HASH_BUDGET_MS that balances security and login latency.
+ *
+ * Run with: mvn test-compile, then run {@link #main(String[])} with the test
+ * classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class BCryptCostBenchmark {
+
+	@Param({ "10", "11", "12", "13", "14" })
+	private int logRounds;
+
+	private String salt;
+
+	@Setup
+	public void setup() {
+		salt = BCrypt.gensalt(logRounds);
+	}
+
+	@Benchmark
+	public String hash() {
+		return BCrypt.hashpw("Password@123", salt);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(BCryptCostBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,90 @@
+package com.fssa.freshstocks.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fssa.freshstocks.utils.AhoCorasickMatcher;
+
+/**
+ * Compares scanning a comment with the Aho-Corasick automaton against one
+ * contains() check per banned term.
+ *
+ * Run with: mvn test-compile, then run {@link #main(String[])} with the test
+ * classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommentModerationBenchmark {
+
+	@Param({ "10000" })
+	private int termCount;
+
+	private List<String> terms;
+	private AhoCorasickMatcher matcher;
+	private String comment;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		terms = new ArrayList<>(termCount);
+		for (int i = 0; i < termCount; i++) {
+			terms.add(randomWord(random, 5 + random.nextInt(6)));
+		}
+		matcher = new AhoCorasickMatcher(terms);
+
+		StringBuilder text = new StringBuilder();
+		while (text.length() < 300) {
+			text.append(randomWord(random, 3 + random.nextInt(7))).append(' ');
+		}
+		comment = text.toString();
+	}
+
+	private static String randomWord(Random random, int length) {
+		StringBuilder word = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			word.append((char) ('a' + random.nextInt(26)));
+		}
+		return word.toString();
+	}
+
+	@Benchmark
+	public String ahoCorasick() {
+		return matcher.findFirst(comment);
+	}
+
+	@Benchmark
+	public String naiveContains() {
+		String lower = comment.toLowerCase();
+		for (String term : terms) {
+			if (lower.contains(term)) {
+				return term;
+			}
+		}
+		return null;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(CommentModerationBenchmark.class.getSimpleName()).build()).run();
+	}
+}
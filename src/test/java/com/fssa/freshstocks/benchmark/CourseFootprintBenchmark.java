@@ -0,0 +1,130 @@
+package com.fssa.freshstocks.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fssa.freshstocks.model.Course;
+import com.fssa.freshstocks.utils.CompactCourseStore;
+
+/**
+ * Compares holding the catalog as a List of Course objects against a
+ * {@link CompactCourseStore}: {@link #main(String[])} first prints the heap
+ * each one retains for 100k generated courses, then JMH times reading a
+ * course back from each.
+ *
+ * The generated rows mimic JDBC reads: every row gets its own String
+ * instances, even for repeated values.
+ *
+ * Run with: mvn test-compile, then run {@link #main(String[])} with the test
+ * classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseFootprintBenchmark {
+
+	private static final String[] LANGUAGES = { "English", "Tamil", "Hindi", "Telugu", "Malayalam", "Kannada" };
+	private static final String[] CATEGORIES = { "Finance", "Technology", "Banking", "Insurance", "Consulting",
+			"Education", "Trading", "Crypto" };
+	private static final String[] WORDS = { "stock", "market", "trading", "analysis", "risk", "portfolio",
+			"candlestick", "chart", "strategy", "option", "future", "dividend", "index", "fund", "investor", "learn",
+			"the", "and", "of", "to", "with", "for", "beginners", "advanced", "technical", "fundamental", "price",
+			"volume", "trend", "support", "resistance", "swing", "intraday", "long", "term", "wealth" };
+
+	@Param({ "100000" })
+	private int courseCount;
+
+	private List<Course> courses;
+	private CompactCourseStore store;
+	private int row;
+
+	@Setup
+	public void setup() {
+		courses = generate(courseCount);
+		store = CompactCourseStore.of(courses);
+	}
+
+	static List<Course> generate(int count) {
+		Random random = new Random(42);
+		List<Course> courses = new ArrayList<>(count);
+		for (int i = 1; i <= count; i++) {
+			StringBuilder description = new StringBuilder();
+			while (description.length() < 400 + random.nextInt(400)) {
+				description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+			}
+			courses.add(new Course("course number " + i, "https://cdn.example.com/covers/" + i + ".jpg",
+					new String((1 + random.nextInt(20)) + "h"), new String(LANGUAGES[random.nextInt(LANGUAGES.length)]),
+					999 + random.nextInt(5000), 499 + random.nextInt(3000), description.toString(),
+					"Instructor " + random.nextInt(10_000), "Company " + random.nextInt(2_000),
+					new String(CATEGORIES[random.nextInt(CATEGORIES.length)]), "Trading, Analysis, Risk",
+					1 + random.nextInt(5_000), i));
+		}
+		return courses;
+	}
+
+	@Benchmark
+	public Course listGet() {
+		row = (row + 1) % courseCount;
+		return courses.get(row);
+	}
+
+	@Benchmark
+	public Course storeGet() {
+		row = (row + 1) % courseCount;
+		return store.get(row);
+	}
+
+	@Benchmark
+	public String storeLanguage() {
+		row = (row + 1) % courseCount;
+		return store.getLanguage(row);
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static void printFootprint(int count) {
+		long baseline = usedHeap();
+		List<Course> list = generate(count);
+		long listBytes = usedHeap() - baseline;
+
+		CompactCourseStore compact = CompactCourseStore.of(list);
+		long bothBytes = usedHeap() - baseline;
+		list = null;
+		long storeBytes = usedHeap() - baseline;
+
+		System.out.printf("%d courses: List<Course> %.1f MB, CompactCourseStore %.1f MB (descriptions %.1f MB deflated)%n",
+				count, listBytes / 1e6, storeBytes / 1e6, compact.getCompressedDescriptionBytes() / 1e6);
+		System.out.printf("(both held at once: %.1f MB; %d courses kept)%n", bothBytes / 1e6, compact.size());
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		printFootprint(100_000);
+		new Runner(new OptionsBuilder().include(CourseFootprintBenchmark.class.getSimpleName()).build()).run();
+	}
+}
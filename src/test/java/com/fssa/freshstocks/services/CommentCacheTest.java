@@ -0,0 +1,61 @@
+package com.fssa.freshstocks.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshstocks.model.Comment;
+
+class CommentCacheTest {
+
+	private static List<Comment> rows(int courseId, int count) {
+		List<Comment> rows = new ArrayList<>();
+		for (int i = 1; i <= count; i++) {
+			rows.add(new Comment(i, courseId, 5, "comment " + i, new Timestamp(System.currentTimeMillis())));
+		}
+		return rows;
+	}
+
+	@Test
+	void testPutAndGet() {
+		CommentCache.put(9001, "Trading", rows(9001, 3), true, CommentCache.generation());
+
+		CommentCache.CourseComments cached = CommentCache.get(9001);
+		assertNotNull(cached);
+		assertTrue(cached.isComplete());
+		assertEquals(3, cached.getRows().size());
+		assertEquals("Trading", cached.getCourseName());
+	}
+
+	@Test
+	void testLongCourseIsTruncatedAndIncomplete() {
+		CommentCache.put(9002, "Trading", rows(9002, CommentCache.CACHED_ROWS + 1), true, CommentCache.generation());
+
+		CommentCache.CourseComments cached = CommentCache.get(9002);
+		assertFalse(cached.isComplete());
+		assertEquals(CommentCache.CACHED_ROWS, cached.getRows().size());
+	}
+
+	@Test
+	void testInvalidateRemovesCourse() {
+		CommentCache.put(9003, "Trading", rows(9003, 2), true, CommentCache.generation());
+		CommentCache.invalidate(9003);
+		assertNull(CommentCache.get(9003));
+	}
+
+	@Test
+	void testStaleLoadIsNotCached() {
+		long generation = CommentCache.generation();
+		CommentCache.invalidate(9004);
+		CommentCache.put(9004, "Trading", rows(9004, 2), true, generation);
+		assertNull(CommentCache.get(9004));
+	}
+}
@@ -0,0 +1,129 @@
+package com.fssa.freshstocks.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshstocks.dao.exception.DAOException;
+import com.fssa.freshstocks.model.Comment;
+import com.fssa.freshstocks.services.exception.ServiceException;
+
+class CommentIngestionQueueTest {
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Test
+	void testCommentsAreWrittenInBatches() throws Exception {
+		List<Integer> batchSizes = new ArrayList<>();
+		CountDownLatch release = new CountDownLatch(1);
+		CommentIngestionQueue queue = new CommentIngestionQueue(100, 10, comments -> {
+			await(release);
+			synchronized (batchSizes) {
+				batchSizes.add(comments.size());
+			}
+			int[] counts = new int[comments.size()];
+			Arrays.fill(counts, 1);
+			return counts;
+		});
+
+		List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			futures.add(queue.submit(new Comment(14, 56, "comment " + i)));
+		}
+		release.countDown();
+
+		for (CompletableFuture<Boolean> future : futures) {
+			assertTrue(future.get(5, TimeUnit.SECONDS));
+		}
+		int written = 0;
+		synchronized (batchSizes) {
+			for (int size : batchSizes) {
+				assertTrue(size <= 10);
+				written += size;
+			}
+		}
+		assertEquals(25, written);
+		queue.shutdown();
+	}
+
+	@Test
+	void testFullQueueRejectsComment() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CommentIngestionQueue queue = new CommentIngestionQueue(1, 1, comments -> {
+			await(release);
+			return new int[] { 1 };
+		});
+
+		queue.submit(new Comment(14, 56, "first"));
+		// wait until the writer holds the first comment so the queue slot is free
+		while (queue.getQueueDepth() > 0) {
+			Thread.sleep(1);
+		}
+		queue.submit(new Comment(14, 56, "second"));
+
+		assertThrows(ServiceException.class, () -> queue.submit(new Comment(14, 56, "third")));
+		release.countDown();
+		queue.shutdown();
+	}
+
+	@Test
+	void testFailedBatchFailsFutures() throws Exception {
+		CommentIngestionQueue queue = new CommentIngestionQueue(10, 10, comments -> {
+			throw new DAOException("database down");
+		});
+
+		CompletableFuture<Boolean> future = queue.submit(new Comment(14, 56, "comment"));
+
+		ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+		assertTrue(e.getCause() instanceof ServiceException);
+		queue.shutdown();
+	}
+
+	@Test
+	void testFailedRowsOfBatchCarryTheirOwnCause() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CommentIngestionQueue queue = new CommentIngestionQueue(10, 10, comments -> {
+			await(release);
+			if (comments.size() > 1) {
+				throw new DAOException("batch failed");
+			}
+			if (comments.get(0).getCourseId() == 99) {
+				throw new DAOException("course 99 is deleted");
+			}
+			return new int[] { 1 };
+		});
+
+		CompletableFuture<Boolean> good = queue.submit(new Comment(14, 56, "good"));
+		CompletableFuture<Boolean> bad = queue.submit(new Comment(99, 56, "bad"));
+		release.countDown();
+
+		assertTrue(good.get(5, TimeUnit.SECONDS));
+		ExecutionException e = assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+		assertTrue(e.getCause().getMessage().contains("course 99 is deleted"));
+		queue.shutdown();
+	}
+
+	@Test
+	void testSubmitAfterShutdownIsRejected() {
+		CommentIngestionQueue queue = new CommentIngestionQueue(10, 10, comments -> new int[comments.size()]);
+		queue.shutdown();
+
+		assertThrows(ServiceException.class, () -> queue.submit(new Comment(14, 56, "late")));
+	}
+}
@@ -3,6 +3,7 @@ package com.fssa.freshstocks.services;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 
@@ -67,6 +68,13 @@ import com.fssa.freshstocks.services.exception.ServiceException;
 		
     }
     
+    @Test
+    void testListCommentRejectsPageBeyondIntRange() {
+        ServiceException e = assertThrows(ServiceException.class,
+                () -> commentService.listComment(14, Integer.MAX_VALUE));
+        assertTrue(e.getMessage().contains("Page number is too large"));
+    }
+
     @Test
     void testCommentConstructor() {
         Comment comment = new Comment(27, 14, 56, "nice course");
@@ -0,0 +1,175 @@
+package com.fssa.freshstocks.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshstocks.model.Course;
+import com.fssa.freshstocks.model.CourseChange;
+import com.fssa.freshstocks.model.CourseWatermark;
+
+class CourseCatalogTest {
+
+	private static CourseChange live(int courseID, String name, int sellingPrice, long createdAt, long modifiedAt) {
+		Course course = new Course(name, "cover.jpg", "2h", "English", 999, sellingPrice, "Description", "Instructor",
+				"Company", "Finance", "Skills", 1, courseID);
+		return new CourseChange(courseID, CourseChange.Type.UPDATED, course, new Timestamp(createdAt),
+				new Timestamp(modifiedAt));
+	}
+
+	private static CourseChange deleted(int courseID, long createdAt, long modifiedAt) {
+		return new CourseChange(courseID, CourseChange.Type.DELETED, null, new Timestamp(createdAt),
+				new Timestamp(modifiedAt));
+	}
+
+	private static CourseWatermark watermark(long modifiedAt, int courseID) {
+		return new CourseWatermark(new Timestamp(modifiedAt), courseID);
+	}
+
+	private static CourseCatalog.Snapshot initial() {
+		return CourseCatalog.Snapshot.empty().apply(Arrays.asList(live(1, "first", 100, 1000, 1000),
+				live(2, "second", 200, 2000, 2000), live(3, "third", 300, 3000, 3000)), watermark(3000, 3));
+	}
+
+	@Test
+	void testCoursesAreNewestFirst() {
+		CourseCatalog.Snapshot snapshot = initial();
+
+		assertEquals(Arrays.asList(3, 2, 1), idsOf(snapshot.getCourses()));
+		assertEquals(watermark(3000, 3), snapshot.getWatermark());
+	}
+
+	@Test
+	void testApplyUpdatesAndDeletesWithoutTouchingThePreviousSnapshot() {
+		CourseCatalog.Snapshot before = initial();
+		CourseCatalog.Snapshot after = before.apply(Arrays.asList(live(2, "second", 250, 2000, 4000),
+				deleted(1, 1000, 5000), live(4, "fourth", 400, 4500, 5000)), watermark(5000, 4));
+
+		assertEquals(Arrays.asList(4, 3, 2), idsOf(after.getCourses()));
+		assertEquals(250, after.getCourse(2).getSellingPrice());
+		assertNull(after.getCourse(1));
+		assertEquals(watermark(5000, 4), after.getWatermark());
+
+		assertEquals(Arrays.asList(3, 2, 1), idsOf(before.getCourses()));
+		assertEquals(200, before.getCourse(2).getSellingPrice());
+	}
+
+	@Test
+	void testRowsAlreadyCurrentKeepTheSameSnapshot() {
+		CourseCatalog.Snapshot snapshot = initial();
+
+		assertSame(snapshot, snapshot.apply(Collections.singletonList(live(3, "third", 300, 3000, 3000)),
+				snapshot.getWatermark()));
+		assertSame(snapshot, snapshot.apply(Collections.singletonList(deleted(9, 500, 2500)),
+				snapshot.getWatermark()));
+	}
+
+	@Test
+	void testWatermarkMovesWithoutRebuildingTheCourses() {
+		CourseCatalog.Snapshot snapshot = initial();
+		CourseCatalog.Snapshot moved = snapshot.apply(Collections.singletonList(deleted(9, 500, 6000)),
+				watermark(6000, 9));
+
+		assertEquals(watermark(6000, 9), moved.getWatermark());
+		assertSame(snapshot.getCourses(), moved.getCourses());
+	}
+
+	@Test
+	void testChangedCourseIsMovedIntoTheOrder() {
+		CourseCatalog.Snapshot snapshot = initial().apply(Arrays.asList(live(4, "fourth", 400, 2500, 4000),
+				live(3, "third", 350, 3000, 4000), live(5, "fifth", 500, 2000, 4000)), watermark(4000, 5));
+
+		assertEquals(Arrays.asList(3, 4, 5, 2, 1), idsOf(snapshot.getCourses()));
+		assertEquals(350, snapshot.getCourses().get(0).getSellingPrice());
+	}
+
+	@Test
+	void testLargeBatchIsOrderedLikeSmallOnes() {
+		List<CourseChange> changes = new ArrayList<>();
+		CourseCatalog.Snapshot oneByOne = initial();
+		for (int courseID = 10; courseID < 60; courseID++) {
+			CourseChange change = live(courseID, "course " + courseID, 100, (courseID * 37) % 50 * 100, 4000);
+			changes.add(change);
+			oneByOne = oneByOne.apply(Collections.singletonList(change), watermark(4000, courseID));
+		}
+		CourseCatalog.Snapshot batched = initial().apply(changes, watermark(4000, 59));
+
+		assertEquals(53, batched.getCourses().size());
+		assertEquals(idsOf(oneByOne.getCourses()), idsOf(batched.getCourses()));
+	}
+
+	@Test
+	void testCoursesMovedIntoTheStoreStayReadable() {
+		CourseCatalog.Snapshot snapshot = CourseCatalog.Snapshot.empty();
+		for (int courseID = 1; courseID <= 300; courseID++) {
+			snapshot = snapshot.apply(Collections.singletonList(live(courseID, "course " + courseID, courseID,
+					courseID * 10L, courseID * 10L)), watermark(courseID * 10L, courseID));
+		}
+		snapshot = snapshot.apply(Arrays.asList(live(7, "course 7", 70, 70, 4000), deleted(8, 80, 4000)),
+				watermark(4000, 8));
+
+		assertEquals(299, snapshot.getCourses().size());
+		assertEquals(Arrays.asList(300, 299, 298), idsOf(snapshot.getCourses().subList(0, 3)));
+		assertEquals(Arrays.asList(9, 7, 6), idsOf(snapshot.getCourses().subList(291, 294)));
+		assertEquals(70, snapshot.getCourse(7).getSellingPrice());
+		assertEquals("Description", snapshot.getCourse(150).getDescription());
+		assertNull(snapshot.getCourse(8));
+	}
+
+	@Test
+	void testOnlyTheChangesTakenOnAreApplied() {
+		CourseChange update = live(2, "second", 250, 2000, 4000);
+		CourseCatalog.Snapshot snapshot = initial().apply(Arrays.asList(live(3, "third", 300, 3000, 3000), update,
+				deleted(9, 500, 4000)), watermark(4000, 9));
+
+		assertEquals(Collections.singletonList(update), snapshot.getApplied());
+	}
+
+	@Test
+	void testRereadWindowKeepsTheSnapshot() {
+		CourseCatalog.Snapshot snapshot = initial();
+
+		assertSame(snapshot, snapshot.apply(Arrays.asList(live(2, "second", 200, 2000, 2000),
+				live(3, "third", 300, 3000, 3000)), watermark(3000, 3)));
+		assertSame(snapshot, snapshot.apply(Collections.singletonList(live(2, "second", 200, 2000, 2000)),
+				watermark(2000, 2)));
+	}
+
+	@Test
+	void testLateWriteInTheRereadWindowIsApplied() {
+		CourseCatalog.Snapshot snapshot = initial();
+		// committed after course 3 was read, with an earlier modification time
+		CourseCatalog.Snapshot late = snapshot.apply(Collections.singletonList(live(4, "fourth", 400, 2500, 2500)),
+				watermark(2500, 4));
+
+		assertEquals(Arrays.asList(3, 4, 2, 1), idsOf(late.getCourses()));
+		assertEquals(watermark(3000, 3), late.getWatermark());
+	}
+
+	@Test
+	void testWatermarkOrdersByTimeThenCourse() {
+		CourseWatermark mark = watermark(1000, 5);
+
+		assertTrue(mark.isBefore(new Timestamp(1000), 6));
+		assertFalse(mark.isBefore(new Timestamp(1000), 5));
+		assertTrue(mark.isBefore(new Timestamp(1001), 1));
+		assertEquals(mark, CourseWatermark.parse(mark.toString()));
+		assertEquals(watermark(400, 0), mark.rewind(600));
+		assertEquals(CourseWatermark.initial(), mark.rewind(5000));
+	}
+
+	private static List<Integer> idsOf(List<Course> courses) {
+		return courses.stream().map(Course::getCourseID).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,73 @@
+package com.fssa.freshstocks.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshstocks.dao.CourseDAO;
+
+class CourseCounterTest {
+
+	@Test
+	void testCountsSplitTotalAndCategories() {
+		CourseCounter.Counts counts = new CourseCounter.Counts(
+				Map.of("total", 7, "category:Finance", 4, "category:Technology", 3));
+
+		assertEquals(7, counts.getTotal());
+		assertEquals(4, counts.getCategoryCount("Finance"));
+		assertEquals(0, counts.getCategoryCount("Banking"));
+		assertEquals(Map.of("Finance", 4, "Technology", 3), counts.getCategoryCounts());
+	}
+
+	@Test
+	void testEmptiedCategoriesAreLeftOut() {
+		Map<String, Integer> counters = new HashMap<>();
+		counters.put("total", 2);
+		counters.put("category:Finance", 2);
+		counters.put("category:Crypto", 0);
+
+		CourseCounter.Counts counts = new CourseCounter.Counts(counters);
+
+		assertEquals(Map.of("Finance", 2), counts.getCategoryCounts());
+		assertThrows(UnsupportedOperationException.class, () -> counts.getCategoryCounts().put("Crypto", 1));
+	}
+
+	@Test
+	void testCategoryEditMovesTheCourseAndLocksTheTotalFirst() {
+		Map<String, Integer> deltas = CourseDAO.counterDeltas(true, "Finance", true, "Technology");
+
+		assertEquals(List.of("total", "category:Finance", "category:Technology"), List.copyOf(deltas.keySet()));
+		assertEquals(List.of(0, -1, 1), List.copyOf(deltas.values()));
+	}
+
+	@Test
+	void testCounterDeltasOfCreateDeleteAndPlainEdits() {
+		assertEquals(Map.of("total", 1, "category:Finance", 1), CourseDAO.counterDeltas(false, null, true, "Finance"));
+		assertEquals(Map.of("total", -1, "category:Finance", -1),
+				CourseDAO.counterDeltas(true, "Finance", false, "Finance"));
+		// edits that keep the category, and edits of deleted courses, leave the counters alone
+		assertTrue(CourseDAO.counterDeltas(true, "Finance", true, "Finance").isEmpty());
+		assertTrue(CourseDAO.counterDeltas(false, "Finance", false, "Technology").isEmpty());
+	}
+
+	@Test
+	void testReconcileAddsOnlyTheDrift() {
+		Map<String, Integer> drift = CourseDAO.counterDrift(Map.of("total", 5, "category:Finance", 3,
+				"category:Technology", 2), Map.of("total", 6, "category:Finance", 3, "category:Art", 1));
+
+		assertEquals(List.of("total", "category:Art", "category:Technology"), List.copyOf(drift.keySet()));
+		assertEquals(List.of(-1, -1, 2), List.copyOf(drift.values()));
+		assertTrue(CourseDAO.counterDrift(Map.of("total", 1), Map.of("total", 1)).isEmpty());
+	}
+
+	@Test
+	void testMissingTotalCountsAsZero() {
+		assertEquals(0, new CourseCounter.Counts(Map.of()).getTotal());
+	}
+}
@@ -0,0 +1,81 @@
+package com.fssa.freshstocks.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshstocks.dao.exception.DAOException;
+import com.fssa.freshstocks.model.Course;
+import com.fssa.freshstocks.model.CourseDetail;
+
+class CourseDetailTest {
+
+	private final List<String> reads = new ArrayList<>();
+
+	private CourseDetail detail() {
+		return new CourseDetail(7, 3, "options trading", "3h", "English", 1999, 999, "Instructor", "Company",
+				"Finance", "Options", "intro.mp4", "greeks.mp4", "spreads.mp4", new Timestamp(0), 4,
+				(courseID, column) -> {
+					reads.add(column);
+					return column + " of " + courseID;
+				});
+	}
+
+	@Test
+	void testMetadataDoesNotReadContent() {
+		CourseDetail detail = detail();
+
+		assertEquals("options trading", detail.getName());
+		assertEquals(999, detail.getSellingPrice());
+		assertEquals("greeks.mp4", detail.getCourseVideoName2());
+		assertEquals(4, detail.getVersion());
+		assertTrue(reads.isEmpty());
+	}
+
+	@Test
+	void testEachHeavyColumnIsReadOnceOnFirstAccess() throws DAOException {
+		CourseDetail detail = detail();
+
+		assertEquals("description of 7", detail.getDescription());
+		assertEquals("description of 7", detail.getDescription());
+		assertEquals("courseVideo2 of 7", detail.getCourseVideo2());
+
+		assertEquals(List.of(CourseDetail.DESCRIPTION, CourseDetail.COURSE_VIDEO2), reads);
+		assertTrue(detail.isLoaded(CourseDetail.DESCRIPTION));
+		assertFalse(detail.isLoaded(CourseDetail.COURSE_VIDEO1));
+	}
+
+	@Test
+	void testToCourseReadsTheRemainingColumns() throws DAOException {
+		CourseDetail detail = detail();
+		detail.getCoverImage();
+		Course course = detail.toCourse();
+
+		assertEquals("cover_image of 7", course.getCoverImage());
+		assertEquals("courseVideo3 of 7", course.getCourseVideo3());
+		assertEquals(7, course.getCourseID());
+		assertEquals(5, reads.size());
+	}
+
+	@Test
+	void testFailedReadIsRetried() throws DAOException {
+		int[] attempts = { 0 };
+		CourseDetail detail = new CourseDetail(7, 3, "name", null, "English", 1, 1, null, null, null, null, "a", "b",
+				"c", null, 0, (courseID, column) -> {
+					if (attempts[0]++ == 0) {
+						throw new DAOException("connection lost");
+					}
+					return "video";
+				});
+
+		assertThrows(DAOException.class, detail::getCourseVideo1);
+		assertEquals("video", detail.getCourseVideo1());
+	}
+}
@@ -0,0 +1,136 @@
+package com.fssa.freshstocks.services;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshstocks.constants.CourseModuleConstants;
+import com.fssa.freshstocks.dao.CourseDAO;
+import com.fssa.freshstocks.model.Course;
+import com.fssa.freshstocks.model.CoursePatch;
+import com.fssa.freshstocks.model.CourseUpdateResult;
+import com.fssa.freshstocks.validation.CourseValidator;
+import com.fssa.freshstocks.validation.exception.InvalidCourseException;
+
+class CoursePatchTest {
+
+	private static Course course(int sellingPrice, String videoName1) {
+		return new Course("Trading", "https://example.com/image1.png", "20hrs", "Tamil", 5000, sellingPrice,
+				"the course gives you the fair idea about how to start trading", "Gowtham", "freshstocks",
+				"Trading and Finance", "learn core concepts", 1, "data:video/mp4;base64,AAAAGGZ0eXBtcDQy",
+				"data:video/mp4;base64,AAAAGGZ0eXBtcDQy", "data:video/mp4;base64,AAAAGGZ0eXBtcDQy", videoName1,
+				"Intermediate Investing", "Advanced Trading");
+	}
+
+	@Test
+	void testBetweenKeepsOnlyChangedFields() {
+		CoursePatch patch = CoursePatch.between(10, course(2000, "Stock Investing"), course(1500, "Stock Basics"));
+
+		assertEquals(Map.of(CourseModuleConstants.COLUMN_SELLING_PRICE, 1500,
+				CourseModuleConstants.COLUMN_COURSE_VIDEO_NAME1, "Stock Basics"), patch.getChanges());
+		assertFalse(patch.isChanged(CourseModuleConstants.COLUMN_COURSE_VIDEO1));
+		assertEquals(10, patch.getCourseID());
+	}
+
+	@Test
+	void testBetweenEqualCoursesIsEmpty() {
+		assertTrue(CoursePatch.between(10, course(2000, "Stock Investing"), course(2000, "Stock Investing")).isEmpty());
+	}
+
+	@Test
+	void testVideosAreWrittenOnlyWhenReplaced() {
+		CoursePatch patch = new CoursePatch(10);
+		patch.setCourseVideoName(2, "Options Basics");
+		patch.replaceVideo(3, "data:video/mp4;base64,BBBBGGZ0eXBtcDQy", "Options Advanced");
+
+		assertEquals(List.of(CourseModuleConstants.COLUMN_COURSE_VIDEO_NAME2, CourseModuleConstants.COLUMN_COURSE_VIDEO3,
+				CourseModuleConstants.COLUMN_COURSE_VIDEO_NAME3), List.copyOf(patch.getChanges().keySet()));
+		assertThrows(IllegalArgumentException.class, () -> patch.replaceVideo(4, "video", "name"));
+	}
+
+	@Test
+	void testValidatePatchChecksPriceDifferenceWhenBothPricesChange() {
+		CoursePatch both = new CoursePatch(10);
+		both.setMarkedPrice(3000);
+		both.setSellingPrice(1000);
+		CoursePatch inverted = new CoursePatch(10);
+		inverted.setMarkedPrice(1000);
+		inverted.setSellingPrice(3000);
+		CoursePatch sellingOnly = new CoursePatch(10);
+		sellingOnly.setSellingPrice(6000);
+
+		assertDoesNotThrow(() -> CourseValidator.validateCoursePatch(both));
+		assertThrows(InvalidCourseException.class, () -> CourseValidator.validateCoursePatch(inverted));
+		// checked against the stored marked price on the locked row instead
+		assertDoesNotThrow(() -> CourseValidator.validateCoursePatch(sellingOnly));
+	}
+
+	@Test
+	void testPatchResultChecksPricesAgainstStoredRow() {
+		CoursePatch cheaper = new CoursePatch(10);
+		cheaper.setSellingPrice(1000);
+		CoursePatch tooExpensive = new CoursePatch(10);
+		tooExpensive.setSellingPrice(6000);
+		CoursePatch markedBelowSelling = new CoursePatch(10);
+		markedBelowSelling.setMarkedPrice(1500);
+		CoursePatch rename = new CoursePatch(10);
+		rename.setCourseVideoName(1, "Stock Basics");
+
+		assertEquals(CourseUpdateResult.UPDATED, CourseDAO.patchResult(cheaper, null, 3, 5000, 2000));
+		assertEquals(CourseUpdateResult.INVALID_PRICE, CourseDAO.patchResult(tooExpensive, null, 3, 5000, 2000));
+		assertEquals(CourseUpdateResult.INVALID_PRICE,
+				CourseDAO.patchResult(markedBelowSelling, null, 3, 5000, 2000));
+		// a stored row that breaks the rule does not block edits that leave the prices alone
+		assertEquals(CourseUpdateResult.UPDATED, CourseDAO.patchResult(rename, null, 3, 1000, 2000));
+		assertEquals(CourseUpdateResult.NOT_FOUND, CourseDAO.patchResult(cheaper, null, null, 0, 0));
+	}
+
+	@Test
+	void testStaleVersionIsConflict() {
+		CoursePatch cheaper = new CoursePatch(10);
+		cheaper.setSellingPrice(1000);
+
+		assertEquals(CourseUpdateResult.UPDATED, CourseDAO.patchResult(cheaper, 3, 3, 5000, 2000));
+		assertEquals(CourseUpdateResult.CONFLICT, CourseDAO.patchResult(cheaper, 2, 3, 5000, 2000));
+		// a conflict wins over a price the stale edit would break
+		CoursePatch tooExpensive = new CoursePatch(10);
+		tooExpensive.setSellingPrice(6000);
+		assertEquals(CourseUpdateResult.CONFLICT, CourseDAO.patchResult(tooExpensive, 2, 3, 5000, 2000));
+	}
+
+	@Test
+	void testDeletedOrMissingCourseIsNotFound() {
+		CoursePatch cheaper = new CoursePatch(10);
+		cheaper.setSellingPrice(1000);
+
+		// the locked read finds no live row for a deleted or unknown course, whatever the version
+		assertEquals(CourseUpdateResult.NOT_FOUND, CourseDAO.patchResult(cheaper, 3, null, 0, 0));
+		assertEquals(CourseUpdateResult.NOT_FOUND, CourseDAO.patchResult(new CoursePatch(10), 3, null, 0, 0));
+	}
+
+	@Test
+	void testEmptyPatchIsUpdatedOnlyAtCurrentVersion() {
+		CoursePatch empty = new CoursePatch(10);
+
+		assertEquals(CourseUpdateResult.UPDATED, CourseDAO.patchResult(empty, 3, 3, 5000, 2000));
+		assertEquals(CourseUpdateResult.CONFLICT, CourseDAO.patchResult(empty, 2, 3, 5000, 2000));
+	}
+
+	@Test
+	void testValidatePatchChecksOnlyChangedFields() {
+		CoursePatch badLanguage = new CoursePatch(10);
+		badLanguage.setLanguage("1");
+		CoursePatch nullName = new CoursePatch(10);
+		nullName.setCourseVideoName(1, null);
+
+		assertThrows(InvalidCourseException.class, () -> CourseValidator.validateCoursePatch(badLanguage));
+		assertThrows(InvalidCourseException.class, () -> CourseValidator.validateCoursePatch(nullName));
+	}
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.SQLException;
@@ -17,7 +18,9 @@ import com.fssa.freshstocks.dao.CourseDAO;
 import com.fssa.freshstocks.dao.UserDAO;
 import com.fssa.freshstocks.dao.exception.DAOException;
 import com.fssa.freshstocks.model.Course;
+import com.fssa.freshstocks.model.CourseFilter;
 import com.fssa.freshstocks.model.CourseProgressData;
+import com.fssa.freshstocks.model.CourseWatermark;
 import com.fssa.freshstocks.model.User;
 import com.fssa.freshstocks.services.exception.ServiceException;
 
@@ -159,4 +162,18 @@ class CourseServiceTest {
         assertNotNull(courses);
         assertTrue(courses.isEmpty());
     }
+
+    @Test
+    void testFilterCoursesRejectsInvalidPage() {
+        CourseFilter filter = new CourseFilter(null, null, null, null);
+        assertThrows(ServiceException.class, () -> courseService.filterCourses(filter, -1, 10));
+        assertThrows(ServiceException.class, () -> courseService.filterCourses(filter, 0, 0));
+        assertThrows(ServiceException.class, () -> courseService.filterCourses(filter, 0, 101));
+    }
+
+    @Test
+    void testGetCourseChangesRejectsInvalidPageSize() {
+        assertThrows(ServiceException.class, () -> courseService.getCourseChanges(CourseWatermark.initial(), 0));
+        assertThrows(ServiceException.class, () -> courseService.getCourseChanges(CourseWatermark.initial(), 1001));
+    }
 }
@@ -0,0 +1,76 @@
+package com.fssa.freshstocks.services;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class DuplicateCommentDetectorTest {
+
+	private static final String SPAM = "visit my page for free premium trading signals and guaranteed profits every single day";
+
+	@Test
+	void testExactRepostIsDuplicate() {
+		DuplicateCommentDetector detector = new DuplicateCommentDetector(100, 7);
+		assertFalse(detector.isDuplicateOrRecord(SPAM));
+		assertTrue(detector.isDuplicateOrRecord(SPAM.toUpperCase() + "!!!"));
+	}
+
+	@Test
+	void testLightlyEditedRepostIsDuplicate() {
+		DuplicateCommentDetector detector = new DuplicateCommentDetector(100, 7);
+		assertFalse(detector.isDuplicateOrRecord(
+				"join my telegram channel for guaranteed daily stock tips and signals with ninety percent accuracy, "
+						+ "limited seats available so message me today"));
+		assertTrue(detector.isDuplicateOrRecord(
+				"Join my Telegram group for guaranteed daily stock tips and signals with ninety percent accuracy, "
+						+ "limited seats available so message me today!"));
+	}
+
+	@Test
+	void testDifferentCommentIsAccepted() {
+		DuplicateCommentDetector detector = new DuplicateCommentDetector(100, 7);
+		assertFalse(detector.isDuplicateOrRecord(SPAM));
+		assertFalse(detector.isDuplicateOrRecord(
+				"the section on moving averages was really useful and the examples were easy to follow"));
+	}
+
+	@Test
+	void testShortCommentsAreNotChecked() {
+		DuplicateCommentDetector detector = new DuplicateCommentDetector(100, 7);
+		assertFalse(detector.isDuplicateOrRecord("nice course"));
+		assertFalse(detector.isDuplicateOrRecord("nice course"));
+	}
+
+	@Test
+	void testOldestFingerprintIsForgotten() {
+		DuplicateCommentDetector detector = new DuplicateCommentDetector(2, 7);
+		assertFalse(detector.isDuplicateOrRecord(SPAM));
+		assertFalse(detector.isDuplicateOrRecord("a completely different comment about option greeks and volatility"));
+		assertFalse(detector.isDuplicateOrRecord("another unrelated remark regarding the quiz streak leaderboard feature"));
+		assertFalse(detector.isDuplicateOrRecord(SPAM));
+	}
+
+	@Test
+	void testForgottenCommentCanBeRetried() {
+		DuplicateCommentDetector detector = new DuplicateCommentDetector(16, 7);
+		assertFalse(detector.isDuplicateOrRecord(SPAM));
+		detector.forget(SPAM);
+		assertFalse(detector.isDuplicateOrRecord(SPAM));
+		assertTrue(detector.isDuplicateOrRecord(SPAM));
+	}
+
+	@Test
+	void testForgottenSlotIsReusedCleanly() {
+		String other = "a completely different comment about option greeks and volatility";
+		String third = "another unrelated remark regarding the quiz streak leaderboard feature";
+		DuplicateCommentDetector detector = new DuplicateCommentDetector(2, 7);
+		assertFalse(detector.isDuplicateOrRecord(SPAM));
+		detector.forget(SPAM);
+		assertFalse(detector.isDuplicateOrRecord(other));
+		// overwrites the forgotten slot
+		assertFalse(detector.isDuplicateOrRecord(third));
+		assertTrue(detector.isDuplicateOrRecord(other));
+		assertTrue(detector.isDuplicateOrRecord(third));
+	}
+}
@@ -0,0 +1,54 @@
+package com.fssa.freshstocks.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshstocks.services.exception.ServiceException;
+import com.fssa.freshstocks.utils.PasswordUtil;
+
+class PasswordServiceTest {
+
+	@Test
+	void testHashPassword() throws ServiceException {
+		String hash = PasswordService.await(PasswordService.hashPassword("Password@123"));
+		assertTrue(PasswordUtil.checkPassword("Password@123", hash));
+	}
+
+	@Test
+	void testNewHashesWaitForCalibration() throws ServiceException {
+		String hash = PasswordService.await(PasswordService.hashPassword("Password@123"));
+		assertTrue(PasswordService.isCalibrated());
+		assertFalse(PasswordUtil.needsRehash(hash));
+	}
+
+	@Test
+	void testVerifyPassword() throws ServiceException {
+		String hash = PasswordUtil.hashPassword("Password@123");
+		assertTrue(PasswordService.await(PasswordService.verifyPassword("Password@123", hash)));
+		assertFalse(PasswordService.await(PasswordService.verifyPassword("Password@124", hash)));
+	}
+
+	@Test
+	void testLatencyMetrics() throws ServiceException {
+		long completed = PasswordService.getCompletedCount();
+		PasswordService.await(PasswordService.hashPassword("Password@123"));
+		assertTrue(PasswordService.getCompletedCount() > completed);
+		assertTrue(PasswordService.getAverageLatencyMillis() > 0);
+		assertTrue(PasswordService.getMaxLatencyMillis() >= PasswordService.getAverageLatencyMillis());
+		assertTrue(PasswordService.getQueueDepth() >= 0);
+	}
+
+	@Test
+	void testAwaitUnwrapsServiceException() {
+		ServiceException busy = new ServiceException("busy");
+		CompletableFuture<String> failed = CompletableFuture.failedFuture(busy);
+		ServiceException thrown = assertThrows(ServiceException.class, () -> PasswordService.await(failed));
+		assertEquals(busy, thrown);
+	}
+}
@@ -0,0 +1,46 @@
+package com.fssa.freshstocks.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshstocks.model.User;
+import com.fssa.freshstocks.services.exception.ServiceException;
+
+class SessionServiceTest {
+
+	private static final User USER = new User(42, null, "freekyajmal@gmail.com", null);
+
+	@Test
+	void testIssueAndAuthenticate() throws ServiceException {
+		User session = SessionService.authenticate(SessionService.issueToken(USER));
+		assertEquals(42, session.getUserId());
+		assertEquals("freekyajmal@gmail.com", session.getEmail());
+	}
+
+	@Test
+	void testTamperedTokenRejected() {
+		String token = SessionService.issueToken(USER);
+		String other = SessionService.issueToken(new User(43, null, "someone@gmail.com", null));
+		// payload of one token with the signature of another
+		String forged = other.substring(0, other.indexOf('.')) + token.substring(token.indexOf('.'));
+		assertThrows(ServiceException.class, () -> SessionService.authenticate(forged));
+	}
+
+	@Test
+	void testMalformedTokenRejected() {
+		assertThrows(ServiceException.class, () -> SessionService.authenticate(null));
+		assertThrows(ServiceException.class, () -> SessionService.authenticate("no-dot"));
+		assertThrows(ServiceException.class, () -> SessionService.authenticate("!!!.???"));
+	}
+
+	@Test
+	void testRevokedTokenRejected() throws ServiceException {
+		String token = SessionService.issueToken(USER);
+		SessionService.revoke(token);
+		assertThrows(ServiceException.class, () -> SessionService.authenticate(token));
+		// other sessions of the same user stay valid
+		assertEquals(42, SessionService.authenticate(SessionService.issueToken(USER)).getUserId());
+	}
+}
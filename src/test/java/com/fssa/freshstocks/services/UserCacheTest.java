@@ -0,0 +1,45 @@
+package com.fssa.freshstocks.services;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshstocks.model.User;
+
+class UserCacheTest {
+
+	@AfterEach
+	void tearDown() {
+		UserCache.invalidateAll();
+	}
+
+	@Test
+	void testInvalidateByEmailAfterEmailIndexWasEvicted() throws Exception {
+		User hot = new User(1, "hot", "Hot.User@example.com", null);
+		UserCache.store(hot, UserCache.generation());
+		// fill both indexes; reading the hot profile by ID keeps only its ID entry recent
+		for (int i = 2; i <= 10_000; i++) {
+			UserCache.store(new User(i, "user" + i, "user" + i + "@example.com", null), UserCache.generation());
+			UserCache.getById(1);
+		}
+		UserCache.store(new User(10_001, "last", "last@example.com", null), UserCache.generation());
+		assertTrue(UserCache.isCached(1));
+
+		UserCache.invalidate("hot.user@example.com");
+
+		assertFalse(UserCache.isCached(1));
+	}
+
+	@Test
+	void testInvalidateByEmailUsesTheIndex() {
+		UserCache.store(new User(7, "seven", "seven@example.com", null), UserCache.generation());
+		UserCache.store(new User(8, "eight", "eight@example.com", null), UserCache.generation());
+
+		UserCache.invalidate("SEVEN@example.com");
+
+		assertFalse(UserCache.isCached(7));
+		assertTrue(UserCache.isCached(8));
+	}
+}
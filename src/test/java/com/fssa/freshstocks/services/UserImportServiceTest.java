@@ -0,0 +1,42 @@
+package com.fssa.freshstocks.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshstocks.model.UserImportError;
+import com.fssa.freshstocks.model.UserImportReport;
+import com.fssa.freshstocks.services.exception.ServiceException;
+
+class UserImportServiceTest {
+
+	private final UserImportService importService = new UserImportService();
+
+	@Test
+	void testWrongHeaderRejected() {
+		assertThrows(ServiceException.class,
+				() -> importService.importUsers(new StringReader("name,email\najmal,ajmal@gmail.com\n")));
+	}
+
+	@Test
+	void testInvalidRowsReportedByLine() throws ServiceException {
+		String csv = "username,gender,mobile_number,date_of_birth,email,password,is_seller\n"
+				+ "ajmal,Male,9500320194,2004-12-26,ajmal@gmail.com,weak,0\n"
+				+ "\n"
+				+ "too,few,columns\n"
+				+ "ajmal,Male,9500320194,2004-12-26,ajmal@gmail.com,Ajmal@123,2\n";
+		UserImportReport report = importService.importUsers(new StringReader(csv));
+
+		assertEquals(0, report.getImportedCount());
+		List<UserImportError> errors = report.getErrors();
+		assertEquals(3, errors.size());
+		assertEquals(2, errors.get(0).getLineNumber());
+		assertEquals(4, errors.get(1).getLineNumber());
+		assertEquals(5, errors.get(2).getLineNumber());
+		assertEquals("ajmal@gmail.com", errors.get(2).getEmail());
+	}
+}
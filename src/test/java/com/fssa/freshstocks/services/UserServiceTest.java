@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -119,4 +120,10 @@ import com.fssa.freshstocks.services.exception.ServiceException;
         User user = new User(username, gender, mobileNumber, dateOfBirth, email, isSeller, createdAt, modifiedAt);
         assertNotNull(user);
     }
+    
+    @Test
+    void testListUsersRejectsInvalidPageSize() {
+        assertThrows(ServiceException.class, () -> userService.listUsers(null, 0, 0));
+        assertThrows(ServiceException.class, () -> userService.listUsers(null, 0, 101));
+    }
 }
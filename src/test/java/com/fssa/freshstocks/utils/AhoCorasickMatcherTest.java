@@ -0,0 +1,49 @@
+package com.fssa.freshstocks.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+class AhoCorasickMatcherTest {
+
+	private final AhoCorasickMatcher matcher = new AhoCorasickMatcher(
+			Arrays.asList("scam", "pump and dump", "he", "she", "hers"));
+
+	@Test
+	void testFindsTermCaseInsensitive() {
+		assertEquals("scam", matcher.findFirst("This course is a SCAM!"));
+	}
+
+	@Test
+	void testFindsMultiWordTerm() {
+		assertEquals("pump and dump", matcher.findFirst("classic pump and dump scheme"));
+	}
+
+	@Test
+	void testIgnoresTermInsideWord() {
+		assertNull(matcher.findFirst("the scampi was great"));
+	}
+
+	@Test
+	void testFindsTermThroughFailLinks() {
+		assertEquals("hers", matcher.findFirst("ushers hers"));
+		assertEquals("she", matcher.findFirst("yes she did"));
+	}
+
+	@Test
+	void testCleanText() {
+		assertNull(matcher.findFirst("nice course, learned a lot"));
+	}
+
+	@Test
+	void testEmptyMatcher() {
+		AhoCorasickMatcher empty = new AhoCorasickMatcher(Collections.singletonList("  "));
+		assertTrue(empty.isEmpty());
+		assertNull(empty.findFirst("anything"));
+	}
+}
@@ -0,0 +1,76 @@
+package com.fssa.freshstocks.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fssa.freshstocks.model.Avatar;
+
+class AvatarStoreTest {
+
+	private static final byte[] PNG = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 1, 2, 3 };
+
+	@TempDir
+	Path root;
+
+	@Test
+	void testPutAndGet() throws IOException {
+		AvatarStore store = new AvatarStore(root);
+		String hash = store.put(PNG);
+		assertTrue(AvatarStore.isHash(hash));
+		assertTrue(store.contains(hash));
+		assertArrayEquals(PNG, store.get(hash));
+	}
+
+	@Test
+	void testSameContentStoredOnce() throws IOException {
+		AvatarStore store = new AvatarStore(root);
+		assertEquals(store.put(PNG), store.put(PNG.clone()));
+		assertFalse(store.put(PNG).equals(store.put(new byte[] { 1, 2, 3 })));
+	}
+
+	@Test
+	void testInvalidHashNotRead() throws IOException {
+		AvatarStore store = new AvatarStore(root);
+		assertNull(store.get("../../etc/passwd"));
+		assertNull(store.get("0000000000000000000000000000000000000000000000000000000000000000"));
+		assertFalse(store.contains(null));
+	}
+
+	@Test
+	void testDecodeDataUri() {
+		String dataUri = "data:image/png;base64," + Base64.getEncoder().encodeToString(PNG);
+		assertArrayEquals(PNG, AvatarStore.decodeDataUri(dataUri));
+		assertArrayEquals("<svg/>".getBytes(StandardCharsets.UTF_8),
+				AvatarStore.decodeDataUri("data:image/svg+xml,%3Csvg%2F%3E"));
+		assertNull(AvatarStore.decodeDataUri("https://ui-avatars.com/api/?name=ajmal"));
+	}
+
+	@Test
+	void testContentTypeOf() {
+		assertEquals("image/png", AvatarStore.contentTypeOf(PNG));
+		assertEquals("image/jpeg", AvatarStore.contentTypeOf(new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0 }));
+		assertEquals("application/octet-stream", AvatarStore.contentTypeOf(new byte[] { 1, 2, 3 }));
+	}
+
+	@Test
+	void testSvgIsRefusedAndNotRendered() {
+		byte[] svg = AvatarStore.decodeDataUri(
+				"data:image/svg+xml,%3Csvg xmlns='http://www.w3.org/2000/svg'%3E%3Cscript%3Ealert(1)%3C/script%3E%3C/svg%3E");
+		assertFalse(AvatarStore.isAllowedImage(svg));
+		assertEquals("application/octet-stream", AvatarStore.contentTypeOf(svg));
+		assertEquals("attachment", new Avatar("hash", AvatarStore.contentTypeOf(svg), svg).getContentDisposition());
+		assertTrue(AvatarStore.isAllowedImage(PNG));
+		assertEquals("inline", new Avatar("hash", AvatarStore.contentTypeOf(PNG), PNG).getContentDisposition());
+	}
+}
@@ -0,0 +1,83 @@
+package com.fssa.freshstocks.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class Bm25IndexTest {
+
+	private static Bm25Index newIndex() {
+		// name, description
+		return new Bm25Index(3.0f, 1.0f);
+	}
+
+	@Test
+	void testNameMatchOutranksDescriptionMatch() {
+		Bm25Index index = newIndex();
+		index.put(1, "Options Trading Basics", "Learn how the stock market works.");
+		index.put(2, "Stock Market Fundamentals", "An introduction to options and futures.");
+
+		List<Bm25Index.Hit> hits = index.search("options", 10);
+
+		assertEquals(2, hits.size());
+		assertEquals(1, hits.get(0).getDocumentId());
+		assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+	}
+
+	@Test
+	void testMatchesAcrossInflections() {
+		Bm25Index index = newIndex();
+		index.put(1, "Trading Course", null);
+
+		assertEquals(1, index.search("courses", 10).size());
+		assertEquals(1, index.search("trade", 10).size());
+	}
+
+	@Test
+	void testRemovedDocumentIsNotFound() {
+		Bm25Index index = newIndex();
+		index.put(1, "Technical Analysis", null);
+		index.put(2, "Fundamental Analysis", null);
+		index.remove(1);
+
+		List<Bm25Index.Hit> hits = index.search("analysis", 10);
+		assertEquals(1, hits.size());
+		assertEquals(2, hits.get(0).getDocumentId());
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	void testPutReplacesDocument() {
+		Bm25Index index = newIndex();
+		index.put(1, "Crypto Basics", null);
+		index.put(1, "Bond Basics", null);
+
+		assertTrue(index.search("crypto", 10).isEmpty());
+		assertEquals(1, index.search("bond", 10).size());
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	void testLimitKeepsBestHits() {
+		Bm25Index index = newIndex();
+		index.put(1, "Stocks", "stocks stocks");
+		index.put(2, "Bonds", "stocks");
+		index.put(3, "Stocks and Bonds", null);
+
+		List<Bm25Index.Hit> hits = index.search("stocks", 2);
+		assertEquals(2, hits.size());
+		assertEquals(1, hits.get(0).getDocumentId());
+	}
+
+	@Test
+	void testStopWordsAndBlankQueryMatchNothing() {
+		Bm25Index index = newIndex();
+		index.put(1, "The Art of Investing", null);
+
+		assertTrue(index.search("the of", 10).isEmpty());
+		assertTrue(index.search("  ", 10).isEmpty());
+	}
+}
@@ -0,0 +1,79 @@
+package com.fssa.freshstocks.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fssa.freshstocks.model.Course;
+
+class CompactCourseStoreTest {
+
+	private static Course course(int courseID, String language, String description) {
+		return new Course("course " + courseID, "cover" + courseID + ".jpg", "2h", language, 999, 499, description,
+				"Instructor", "Company", "Finance", "Skills", 7, courseID);
+	}
+
+	@Test
+	void testRoundTripsEveryField() {
+		Course original = course(42, "Tamil", "Learn technical analysis of stock charts. \u00dcn\u00efc\u00f6d\u00e9 too.");
+		Course copy = CompactCourseStore.of(Collections.singletonList(original)).get(0);
+
+		assertEquals(original.getCourseID(), copy.getCourseID());
+		assertEquals(original.getUserID(), copy.getUserID());
+		assertEquals(original.getName(), copy.getName());
+		assertEquals(original.getCoverImage(), copy.getCoverImage());
+		assertEquals(original.getTiming(), copy.getTiming());
+		assertEquals(original.getLanguage(), copy.getLanguage());
+		assertEquals(original.getMarkedPrice(), copy.getMarkedPrice());
+		assertEquals(original.getSellingPrice(), copy.getSellingPrice());
+		assertEquals(original.getDescription(), copy.getDescription());
+		assertEquals(original.getInstructorName(), copy.getInstructorName());
+		assertEquals(original.getCompanyName(), copy.getCompanyName());
+		assertEquals(original.getCompanyCategory(), copy.getCompanyCategory());
+		assertEquals(original.getTopSkills(), copy.getTopSkills());
+	}
+
+	@Test
+	void testKeepsNulls() {
+		CompactCourseStore store = CompactCourseStore.of(Arrays.asList(course(1, null, null), course(2, "English", "")));
+
+		assertNull(store.getLanguage(0));
+		assertNull(store.getDescription(0));
+		assertEquals("English", store.getLanguage(1));
+		assertEquals("", store.getDescription(1));
+	}
+
+	@Test
+	void testFindsRowsByCourseId() {
+		CompactCourseStore store = CompactCourseStore
+				.of(Arrays.asList(course(30, "English", "a"), course(10, "Hindi", "b"), course(20, "Tamil", "c")));
+
+		assertEquals(0, store.rowOf(30));
+		assertEquals(1, store.rowOf(10));
+		assertEquals(2, store.rowOf(20));
+		assertEquals(-1, store.rowOf(15));
+	}
+
+	@Test
+	void testCompressesRepetitiveDescriptions() {
+		List<Course> courses = new ArrayList<>();
+		long plain = 0;
+		for (int i = 1; i <= 200; i++) {
+			String description = "Course " + i + " covers candlestick patterns, moving averages, risk management "
+					+ "and position sizing for swing traders in the stock market.";
+			plain += description.length();
+			courses.add(course(i, "English", description));
+		}
+		CompactCourseStore store = CompactCourseStore.of(courses);
+
+		assertTrue(store.getCompressedDescriptionBytes() < plain / 3);
+		assertEquals(courses.get(123).getDescription(), store.getDescription(123));
+	}
+}
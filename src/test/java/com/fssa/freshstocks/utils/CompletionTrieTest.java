@@ -0,0 +1,88 @@
+package com.fssa.freshstocks.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class CompletionTrieTest {
+
+	@Test
+	void testCompletesByWeight() {
+		CompletionTrie trie = new CompletionTrie(5);
+		trie.put(1, "Stock Basics", 3);
+		trie.put(2, "Stock Options", 10);
+		trie.put(3, "Bond Basics", 50);
+
+		assertArrayEquals(new int[] { 2, 1 }, trie.complete("sto", 5));
+		assertArrayEquals(new int[] { 3, 2, 1 }, trie.complete("", 5));
+	}
+
+	@Test
+	void testIgnoresCaseAndPunctuation() {
+		CompletionTrie trie = new CompletionTrie(5);
+		trie.put(1, "Forex: Trading 101", 0);
+
+		assertArrayEquals(new int[] { 1 }, trie.complete("FOREX TR", 5));
+		assertArrayEquals(new int[] { 1 }, trie.complete("forex - trading", 5));
+	}
+
+	@Test
+	void testTrailingSpaceMatchesWholeWord() {
+		CompletionTrie trie = new CompletionTrie(5);
+		trie.put(1, "Stock Market", 0);
+		trie.put(2, "Stocks", 0);
+
+		assertArrayEquals(new int[] { 1 }, trie.complete("stock ", 5));
+	}
+
+	@Test
+	void testKeepsOnlyTopCompletions() {
+		CompletionTrie trie = new CompletionTrie(2);
+		trie.put(1, "aa", 1);
+		trie.put(2, "ab", 2);
+		trie.put(3, "ac", 3);
+
+		assertArrayEquals(new int[] { 3, 2 }, trie.complete("a", 10));
+		assertArrayEquals(new int[] { 3 }, trie.complete("a", 1));
+	}
+
+	@Test
+	void testAddWeightReorders() {
+		CompletionTrie trie = new CompletionTrie(5);
+		trie.put(1, "crypto basics", 1);
+		trie.put(2, "crypto trading", 2);
+		trie.addWeight(1, 5);
+
+		assertArrayEquals(new int[] { 1, 2 }, trie.complete("crypto", 5));
+	}
+
+	@Test
+	void testRenameAndRemove() {
+		CompletionTrie trie = new CompletionTrie(5);
+		trie.put(1, "Options", 1);
+		trie.put(2, "Options Advanced", 1);
+		trie.put(1, "Futures", 1);
+
+		assertArrayEquals(new int[] { 2 }, trie.complete("opt", 5));
+		assertArrayEquals(new int[] { 1 }, trie.complete("fut", 5));
+
+		trie.remove(2);
+		assertArrayEquals(new int[0], trie.complete("opt", 5));
+		assertEquals(1, trie.size());
+	}
+
+	@Test
+	void testNoMatch() {
+		CompletionTrie trie = new CompletionTrie(5);
+		trie.put(1, "Options", 1);
+
+		assertArrayEquals(new int[0], trie.complete("bonds", 5));
+	}
+
+	@Test
+	void testRejectsZeroCompletions() {
+		assertThrows(IllegalArgumentException.class, () -> new CompletionTrie(0));
+	}
+}
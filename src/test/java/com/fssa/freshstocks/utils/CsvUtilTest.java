@@ -0,0 +1,28 @@
+package com.fssa.freshstocks.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class CsvUtilTest {
+
+	@Test
+	void testPlainFields() {
+		assertEquals(Arrays.asList("ajmal", "Male", "9500320194", "", "1"),
+				CsvUtil.parseLine("ajmal, Male ,9500320194,,1"));
+	}
+
+	@Test
+	void testQuotedFields() {
+		assertEquals(Arrays.asList("a,b", "say \"hi\"", " padded "),
+				CsvUtil.parseLine("\"a,b\",\"say \"\"hi\"\"\",\" padded \""));
+	}
+
+	@Test
+	void testUnterminatedQuoteRejected() {
+		assertThrows(IllegalArgumentException.class, () -> CsvUtil.parseLine("\"open,field"));
+	}
+}
@@ -0,0 +1,99 @@
+package com.fssa.freshstocks.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FacetIndexTest {
+
+	private FacetIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new FacetIndex("language", "category");
+		index.put(1, "English", "Finance");
+		index.put(2, "English", "Technology");
+		index.put(3, "Tamil", "Finance");
+		index.put(4, "Hindi", "Finance");
+	}
+
+	@Test
+	void testNoFilterMatchesAllNewestFirst() {
+		FacetIndex.Result result = index.query(Collections.emptyMap(), 0, 10);
+
+		assertEquals(4, result.getTotalCount());
+		assertArrayEquals(new int[] { 4, 3, 2, 1 }, result.getIds());
+		assertEquals(2, result.getFacetCounts().get("language").get("English"));
+		assertEquals(3, result.getFacetCounts().get("category").get("Finance"));
+	}
+
+	@Test
+	void testValuesOfOneFacetAreUnited() {
+		Map<String, List<String>> filters = new HashMap<>();
+		filters.put("language", List.of("Tamil", "Hindi"));
+
+		assertArrayEquals(new int[] { 4, 3 }, index.query(filters, 0, 10).getIds());
+	}
+
+	@Test
+	void testFacetsAreIntersectedAndCountedWithoutTheirOwnFilter() {
+		Map<String, List<String>> filters = new HashMap<>();
+		filters.put("language", List.of("English"));
+		filters.put("category", List.of("Finance"));
+
+		FacetIndex.Result result = index.query(filters, 0, 10);
+		assertArrayEquals(new int[] { 1 }, result.getIds());
+		// language counts ignore the language filter but apply the category one
+		assertEquals(1, result.getFacetCounts().get("language").get("English"));
+		assertEquals(1, result.getFacetCounts().get("language").get("Tamil"));
+		// category counts apply the language filter
+		assertEquals(1, result.getFacetCounts().get("category").get("Technology"));
+		assertEquals(1, result.getFacetCounts().get("category").get("Finance"));
+	}
+
+	@Test
+	void testPaging() {
+		FacetIndex.Result result = index.query(Collections.emptyMap(), 1, 2);
+
+		assertEquals(4, result.getTotalCount());
+		assertArrayEquals(new int[] { 3, 2 }, result.getIds());
+		assertArrayEquals(new int[0], index.query(Collections.emptyMap(), 4, 2).getIds());
+	}
+
+	@Test
+	void testReplaceAndRemove() {
+		index.put(2, "Tamil", "Technology");
+		index.remove(4);
+
+		FacetIndex.Result result = index.query(Collections.emptyMap(), 0, 10);
+		assertEquals(3, result.getTotalCount());
+		assertEquals(1, result.getFacetCounts().get("language").get("English"));
+		assertEquals(2, result.getFacetCounts().get("language").get("Tamil"));
+		assertNull(result.getFacetCounts().get("language").get("Hindi"));
+	}
+
+	@Test
+	void testUnknownValueMatchesNothing() {
+		Map<String, List<String>> filters = new HashMap<>();
+		filters.put("language", List.of("French"));
+
+		assertEquals(0, index.query(filters, 0, 10).getTotalCount());
+	}
+
+	@Test
+	void testUnknownFacetIsRejected() {
+		Map<String, List<String>> filters = new HashMap<>();
+		filters.put("price", List.of("0-499"));
+
+		assertThrows(IllegalArgumentException.class, () -> index.query(filters, 0, 10));
+	}
+}
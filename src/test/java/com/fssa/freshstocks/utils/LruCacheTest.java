@@ -0,0 +1,62 @@
+package com.fssa.freshstocks.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class LruCacheTest {
+
+	@Test
+	void testGetReturnsStoredValue() {
+		LruCache<Integer, String> cache = new LruCache<>(2, 0);
+		cache.put(1, "one");
+		assertEquals("one", cache.get(1));
+	}
+
+	@Test
+	void testEvictsLeastRecentlyUsed() {
+		LruCache<Integer, String> cache = new LruCache<>(2, 0);
+		cache.put(1, "one");
+		cache.put(2, "two");
+		cache.get(1);
+		cache.put(3, "three");
+
+		assertNull(cache.get(2));
+		assertEquals("one", cache.get(1));
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	void testExpiredEntryIsMissing() throws InterruptedException {
+		LruCache<Integer, String> cache = new LruCache<>(2, 1);
+		cache.put(1, "one");
+		Thread.sleep(5);
+		assertNull(cache.get(1));
+	}
+
+	@Test
+	void testRemove() {
+		LruCache<Integer, String> cache = new LruCache<>(2, 0);
+		cache.put(1, "one");
+		cache.remove(1);
+		assertNull(cache.get(1));
+	}
+
+	@Test
+	void testRemoveIfMatchesValues() {
+		LruCache<Integer, String> cache = new LruCache<>(4, 0);
+		cache.put(1, "one");
+		cache.put(2, "two");
+		cache.put(3, "three");
+		assertEquals(2, cache.removeIf(value -> value.startsWith("t")));
+		assertEquals("one", cache.get(1));
+		assertNull(cache.get(2));
+	}
+
+	@Test
+	void testInvalidSize() {
+		assertThrows(IllegalArgumentException.class, () -> new LruCache<Integer, String>(0, 0));
+	}
+}
@@ -0,0 +1,38 @@
+package com.fssa.freshstocks.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.mindrot.jbcrypt.BCrypt;
+
+class PasswordUtilTest {
+
+	@Test
+	void testNeedsRehashForOtherCost() {
+		// cost 4 is below the range calibration can choose
+		assertTrue(PasswordUtil.needsRehash(BCrypt.hashpw("Password@123", BCrypt.gensalt(4))));
+	}
+
+	@Test
+	void testNeedsRehashIgnoresMalformedHash() {
+		assertFalse(PasswordUtil.needsRehash(null));
+		assertFalse(PasswordUtil.needsRehash("plain-text"));
+		assertFalse(PasswordUtil.needsRehash("$2a$x1$abcdefghijklmnopqrstuv"));
+	}
+
+	@Test
+	void testCalibrateStaysWithinBounds() {
+		int rounds = PasswordUtil.calibrate(0);
+		assertEquals(PasswordUtil.MIN_LOG_ROUNDS, rounds);
+		assertTrue(PasswordUtil.checkPassword("Password@123", PasswordUtil.hashPassword("Password@123")));
+	}
+
+	@Test
+	void testSetLogRoundsRejectsOutOfRange() {
+		assertThrows(IllegalArgumentException.class, () -> PasswordUtil.setLogRounds(4));
+		assertThrows(IllegalArgumentException.class, () -> PasswordUtil.setLogRounds(31));
+	}
+}
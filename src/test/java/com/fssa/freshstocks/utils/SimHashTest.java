@@ -0,0 +1,38 @@
+package com.fssa.freshstocks.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class SimHashTest {
+
+	@Test
+	void testTokenize() {
+		assertEquals(Arrays.asList("buy", "now", "100x", "returns"), SimHash.tokenize("Buy NOW!! 100x returns"));
+	}
+
+	@Test
+	void testSameTextSameFingerprint() {
+		assertEquals(SimHash.fingerprint("earn money fast with this one trick"),
+				SimHash.fingerprint("Earn money, fast, with this one trick!"));
+	}
+
+	@Test
+	void testSmallEditIsClose() {
+		String original = "join my telegram channel for guaranteed daily stock tips and signals with ninety percent accuracy, "
+				+ "limited seats available so message me today";
+		String edited = "join my telegram channel for guaranteed daily stock tips and signals with ninety five percent accuracy, "
+				+ "limited seats available so message me today";
+		assertTrue(SimHash.hammingDistance(SimHash.fingerprint(original), SimHash.fingerprint(edited)) <= 7);
+	}
+
+	@Test
+	void testDifferentTextIsFar() {
+		long a = SimHash.fingerprint("the lessons on candlestick patterns were explained really clearly");
+		long b = SimHash.fingerprint("join my telegram channel for guaranteed daily stock tips and signals");
+		assertTrue(SimHash.hammingDistance(a, b) > 3);
+	}
+}
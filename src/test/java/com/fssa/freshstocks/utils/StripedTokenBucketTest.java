@@ -0,0 +1,42 @@
+package com.fssa.freshstocks.utils;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class StripedTokenBucketTest {
+
+	@Test
+	void testBurstThenRefused() {
+		StripedTokenBucket limiter = new StripedTokenBucket(1024, 3, 60_000);
+		assertTrue(limiter.tryAcquire("hacker@gmail.com"));
+		assertTrue(limiter.tryAcquire("hacker@gmail.com"));
+		assertTrue(limiter.tryAcquire("hacker@gmail.com"));
+		assertFalse(limiter.tryAcquire("hacker@gmail.com"));
+	}
+
+	@Test
+	void testKeysAreIndependent() {
+		StripedTokenBucket limiter = new StripedTokenBucket(1024, 1, 60_000);
+		assertTrue(limiter.tryAcquire("hacker@gmail.com"));
+		assertFalse(limiter.tryAcquire("hacker@gmail.com"));
+		assertTrue(limiter.tryAcquire("freekyajmal@gmail.com"));
+	}
+
+	@Test
+	void testTokensRefill() throws InterruptedException {
+		StripedTokenBucket limiter = new StripedTokenBucket(1024, 1, 50);
+		assertTrue(limiter.tryAcquire("10.0.0.1"));
+		assertFalse(limiter.tryAcquire("10.0.0.1"));
+		Thread.sleep(120);
+		assertTrue(limiter.tryAcquire("10.0.0.1"));
+	}
+
+	@Test
+	void testInvalidConfigurationRejected() {
+		assertThrows(IllegalArgumentException.class, () -> new StripedTokenBucket(1000, 3, 1000));
+		assertThrows(IllegalArgumentException.class, () -> new StripedTokenBucket(1024, 1000, 60_000));
+	}
+}
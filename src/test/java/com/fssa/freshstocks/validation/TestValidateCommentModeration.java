@@ -0,0 +1,47 @@
+package com.fssa.freshstocks.validation;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fssa.freshstocks.validation.exception.InvalidCommentException;
+
+class TestValidateCommentModeration {
+
+	@AfterEach
+	void reset() {
+		CommentModerator.setBannedTerms(Collections.emptyList());
+	}
+
+	@Test
+	void testBannedTermIsRejected() {
+		CommentModerator.setBannedTerms(Arrays.asList("scam", "fraud"));
+		assertThrows(InvalidCommentException.class, () -> CommentValidator.validateComment("total scam course"));
+	}
+
+	@Test
+	void testCleanCommentIsAccepted() {
+		CommentModerator.setBannedTerms(Arrays.asList("scam", "fraud"));
+		assertDoesNotThrow(() -> CommentValidator.validateComment("this is test comment"));
+	}
+
+	@Test
+	void testTermsAreLoadedFromFile(@TempDir Path dir) throws IOException {
+		Path file = dir.resolve("banned-terms.txt");
+		Files.write(file, Arrays.asList("# banned terms", "guaranteed profit"));
+
+		CommentModerator.loadTermsFile(file);
+
+		assertEquals("guaranteed profit", CommentModerator.findBannedTerm("Guaranteed profit every day"));
+	}
+}